@@ -0,0 +1,49 @@
+package com.app.pki_backend.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+
+/**
+ * Hash chain of audit_events: hash = SHA-256(prevHash, occurredAt, actor, action, certificateId,
+ * issuerId, outcome, details). Changing, inserting or deleting a row breaks every later link.
+ */
+public final class AuditHash {
+
+    public static final String GENESIS = "0".repeat(64);
+
+    // Fixed width, so the value reads back identically from the database
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    private static final char SEPARATOR = '\u001f';
+
+    private AuditHash() {
+    }
+
+    public static String chain(String prevHash, LocalDateTime occurredAt, String actor, String action,
+                               Long certificateId, Long issuerId, AuditOutcome outcome, String details) {
+        StringBuilder canonical = new StringBuilder(256)
+                .append(prevHash).append(SEPARATOR)
+                .append(TIMESTAMP.format(occurredAt)).append(SEPARATOR)
+                .append(nullToEmpty(actor)).append(SEPARATOR)
+                .append(nullToEmpty(action)).append(SEPARATOR)
+                .append(certificateId == null ? "" : certificateId).append(SEPARATOR)
+                .append(issuerId == null ? "" : issuerId).append(SEPARATOR)
+                .append(outcome).append(SEPARATOR)
+                .append(nullToEmpty(details));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
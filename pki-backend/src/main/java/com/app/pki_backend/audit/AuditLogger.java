@@ -1,17 +1,277 @@
 package com.app.pki_backend.audit;
 
+import com.app.pki_backend.entity.AuditEvent;
+import com.app.pki_backend.repository.AuditEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Audit trail in audit_events. Callers only put the event into a lock-free ring buffer; a single
+ * "audit-writer" thread drains it in batches, extends the hash chain and inserts the batch in one
+ * transaction, so the request path never waits for an audit insert.
+ * <p>
+ * Inside a transaction the event is only enqueued once the transaction completed: as recorded after
+ * a commit, as FAILURE after a rollback, so the trail never claims work that did not happen.
+ * A full buffer is waited on for at most pki.audit.offer-timeout-ms (never while a transaction holds
+ * the SQLite write lock the writer needs); after that the event is spilled to a durable overflow file
+ * that the writer replays. Failed batches are retried in order, the chain head only moves once a batch
+ * is committed.
+ */
 @Component
 public class AuditLogger {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditLogger.class);
 
+    private static final String SYSTEM_ACTOR = "system";
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Power of two
+    @Value("${pki.audit.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${pki.audit.batch-size:256}")
+    private int batchSize;
+
+    @Value("${pki.audit.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${pki.audit.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${pki.audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${pki.audit.overflow-file:audit-overflow.jsonl}")
+    private String overflowPath;
+
+    private AuditRingBuffer<AuditRecord> buffer;
+    private AuditOverflowFile overflow;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        buffer = new AuditRingBuffer<>(bufferSize);
+        overflow = new AuditOverflowFile(Path.of(overflowPath), objectMapper);
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Lets the writer persist what is still buffered, then stops it.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (!buffer.isEmpty()) {
+            logger.error("Audit writer stopped with {} event(s) not persisted", buffer.size());
+        }
+    }
+
+    /**
+     * Free-form event without certificate references; actor as given.
+     */
     public void log(String action, String userEmail) {
-        logger.info("[AUDIT] {} by user={} at={}", action, userEmail, LocalDateTime.now());
+        record(userEmail, action, null, null, AuditOutcome.SUCCESS, null);
+    }
+
+    public void success(String action, Long certificateId, Long issuerId, String details) {
+        record(currentActor(), action, certificateId, issuerId, AuditOutcome.SUCCESS, details);
+    }
+
+    public void failure(String action, Long certificateId, Long issuerId, String details) {
+        record(currentActor(), action, certificateId, issuerId, AuditOutcome.FAILURE, details);
+    }
+
+    public void record(String actor, String action, Long certificateId, Long issuerId,
+                       AuditOutcome outcome, String details) {
+        AuditRecord event = new AuditRecord(
+                // Millisecond precision is what the chain hashes and what the database returns
+                LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS),
+                actor != null ? actor : SYSTEM_ACTOR,
+                action, certificateId, issuerId, outcome, truncate(details));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        // Not before the outcome is known, and not while the transaction still holds the write lock
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                enqueue(status == STATUS_COMMITTED ? event : rolledBack(event));
+            }
+        });
+    }
+
+    /**
+     * Actor of the current request, "system" for scheduled jobs and startup.
+     */
+    public String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : SYSTEM_ACTOR;
+    }
+
+    private void enqueue(AuditRecord event) {
+        logger.atInfo()
+                .addKeyValue("actor", event.actor())
+                .addKeyValue("certificateId", event.certificateId())
+                .addKeyValue("issuerId", event.issuerId())
+                .addKeyValue("outcome", event.outcome())
+                .log("[AUDIT] {}", event.action());
+
+        if (!buffer.offer(event)) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+            while (!buffer.offer(event)) {
+                if (!running || System.nanoTime() - deadline >= 0) {
+                    spill(event);
+                    return;
+                }
+                // Full: wake the writer and give it a moment to make room
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            }
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void spill(AuditRecord event) {
+        try {
+            overflow.append(event);
+            logger.warn("Audit buffer full, event spilled to {}", overflowPath);
+            LockSupport.unpark(writer);
+        } catch (IOException e) {
+            // Last resort: the event is at least in the application log
+            logger.error("Audit event could not be buffered nor spilled, not persisted: {}", event, e);
+        }
+    }
+
+    private static AuditRecord rolledBack(AuditRecord event) {
+        String reason = "transaction rolled back";
+        return new AuditRecord(event.occurredAt(), event.actor(), event.action(), event.certificateId(),
+                event.issuerId(), AuditOutcome.FAILURE,
+                truncate(event.details() == null ? reason : event.details() + "; " + reason));
+    }
+
+    private static String truncate(String details) {
+        return details != null && details.length() > 1024 ? details.substring(0, 1024) : details;
+    }
+
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            if (overflow.hasPending()) {
+                replayOverflow();
+            }
+            batch.clear();
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                continue;
+            }
+            persistWithRetry(batch);
+        }
+    }
+
+    /**
+     * Spilled events go into the chain like any other batch; the file is only removed once all are committed.
+     */
+    private void replayOverflow() {
+        try {
+            List<AuditRecord> spilled = overflow.take();
+            for (int from = 0; from < spilled.size(); from += batchSize) {
+                if (!persistWithRetry(spilled.subList(from, Math.min(from + batchSize, spilled.size())))) {
+                    return;
+                }
+            }
+            overflow.committed();
+            if (!spilled.isEmpty()) {
+                logger.info("Replayed {} spilled audit event(s)", spilled.size());
+            }
+        } catch (IOException e) {
+            logger.error("Audit overflow file {} could not be replayed, keeping it", overflowPath, e);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryBackoffMs));
+        }
+    }
+
+    /**
+     * @return false if the batch was given up because the writer is shutting down
+     */
+    private boolean persistWithRetry(List<AuditRecord> batch) {
+        while (true) {
+            try {
+                persist(batch);
+                return true;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    logger.error("Dropping {} audit event(s) after failed flush during shutdown: {}", batch.size(), batch, e);
+                    return false;
+                }
+                logger.warn("Audit flush of {} event(s) failed, retrying", batch.size(), e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryBackoffMs));
+            }
+        }
+    }
+
+    /**
+     * The chain head is read in the same transaction that extends it, so rows written by anything
+     * else on the database file (another application context in tests) do not fork the chain.
+     */
+    private void persist(List<AuditRecord> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            String prevHash = auditEventRepository.findTopByOrderByIdDesc()
+                    .map(AuditEvent::getHash)
+                    .orElse(AuditHash.GENESIS);
+            List<AuditEvent> rows = new ArrayList<>(batch.size());
+            for (AuditRecord record : batch) {
+                AuditEvent row = new AuditEvent();
+                row.setOccurredAt(record.occurredAt());
+                row.setActor(record.actor());
+                row.setAction(record.action());
+                row.setCertificateId(record.certificateId());
+                row.setIssuerId(record.issuerId());
+                row.setOutcome(record.outcome());
+                row.setDetails(record.details());
+                row.setPrevHash(prevHash);
+                row.setHash(AuditHash.chain(prevHash, record.occurredAt(), record.actor(), record.action(),
+                        record.certificateId(), record.issuerId(), record.outcome(), record.details()));
+                prevHash = row.getHash();
+                rows.add(row);
+            }
+            auditEventRepository.saveAll(rows);
+        });
     }
 }
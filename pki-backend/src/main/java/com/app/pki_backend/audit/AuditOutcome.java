@@ -0,0 +1,6 @@
+package com.app.pki_backend.audit;
+
+public enum AuditOutcome {
+    SUCCESS,
+    FAILURE
+}
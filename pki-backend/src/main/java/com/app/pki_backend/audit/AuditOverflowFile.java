@@ -0,0 +1,108 @@
+package com.app.pki_backend.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable spill area for audit events that did not fit into the ring buffer in time.
+ * Producers append one JSON line per event and fsync it; the audit writer later renames the file
+ * to "*.draining", persists its events into the chain and deletes it. A draining file left behind
+ * by a crash is replayed on the next start, so delivery is at-least-once: events of a batch that
+ * was committed just before the crash can appear twice.
+ */
+public final class AuditOverflowFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditOverflowFile.class);
+
+    private final Path file;
+    private final Path draining;
+    private final ObjectMapper objectMapper;
+
+    // Avoids a filesystem check per writer iteration while nothing was spilled
+    private volatile boolean pending;
+
+    public AuditOverflowFile(Path file, ObjectMapper objectMapper) {
+        this.file = file.toAbsolutePath();
+        this.draining = this.file.resolveSibling(this.file.getFileName() + ".draining");
+        this.objectMapper = objectMapper;
+        this.pending = Files.exists(this.file) || Files.exists(draining);
+    }
+
+    public synchronized void append(AuditRecord record) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        pending = true;
+    }
+
+    public boolean hasPending() {
+        return pending;
+    }
+
+    /**
+     * Events to replay, oldest first. They stay on disk until {@link #committed()}.
+     * Writer thread only.
+     */
+    public List<AuditRecord> take() throws IOException {
+        if (!Files.exists(draining)) {
+            synchronized (this) {
+                if (!Files.exists(file)) {
+                    pending = false;
+                    return List.of();
+                }
+                // New spills go to a fresh file while this one is replayed
+                Files.move(file, draining, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        List<AuditRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(draining, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(objectMapper.readValue(line, AuditRecord.class));
+                } catch (JsonProcessingException e) {
+                    // torn line from a crash during append; that event was never acknowledged to anyone
+                    logger.error("Skipping unreadable audit overflow line in {}: {}", draining, line);
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * The events returned by the last {@link #take()} are in the database.
+     */
+    public void committed() throws IOException {
+        Files.deleteIfExists(draining);
+        synchronized (this) {
+            pending = Files.exists(file);
+        }
+    }
+}
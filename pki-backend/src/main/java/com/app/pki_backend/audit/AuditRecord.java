@@ -0,0 +1,18 @@
+package com.app.pki_backend.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit event as handed to {@link AuditLogger}; becomes an audit_events row once the writer flushes it.
+ * certificateId, issuerId and details are optional.
+ */
+public record AuditRecord(
+        LocalDateTime occurredAt,
+        String actor,
+        String action,
+        Long certificateId,
+        Long issuerId,
+        AuditOutcome outcome,
+        String details
+) {
+}
@@ -0,0 +1,85 @@
+package com.app.pki_backend.audit;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * Producers claim a sequence with a CAS on tail and publish the element into its slot;
+ * the consumer takes slots in sequence order and stops at the first one not published yet,
+ * so elements come out in claim order.
+ */
+public final class AuditRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+
+    // next sequence to claim (producers)
+    private final AtomicLong tail = new AtomicLong();
+    // next sequence to take (consumer only writes it)
+    private final AtomicLong head = new AtomicLong();
+
+    public AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.setRelease((int) (sequence & mask), element);
+        return true;
+    }
+
+    /**
+     * Moves up to max published elements into the sink. Must only be called from the consumer thread.
+     */
+    public int drainTo(Collection<? super E> sink, int max) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (sequence & mask);
+            E element = slots.getAcquire(index);
+            if (element == null) {
+                break;
+            }
+            slots.setRelease(index, null);
+            sink.add(element);
+            sequence++;
+            drained++;
+        }
+        if (drained > 0) {
+            // Frees the slots for producers only after they were cleared
+            head.setRelease(sequence);
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
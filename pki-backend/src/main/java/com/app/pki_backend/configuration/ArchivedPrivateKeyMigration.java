@@ -0,0 +1,55 @@
+package com.app.pki_backend.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Removes the private key columns that earlier builds of the archive wrote into archived_certificates.
+ * Archived certificates need no key, and a copy outside private_keys is never re-encrypted on master
+ * key rotation. ddl-auto=update never drops columns, so without this the ciphertext would stay in the file.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ArchivedPrivateKeyMigration implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivedPrivateKeyMigration.class);
+
+    private static final String TABLE = "archived_certificates";
+
+    private static final List<String> LEGACY_COLUMNS = List.of("encrypted_private_key", "private_key_algorithm", "master_key_id");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        for (String column : LEGACY_COLUMNS) {
+            if (!columnExists(column)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP COLUMN " + column);
+            } catch (DataAccessException e) {
+                // Older SQLite without DROP COLUMN: at least do not keep the values
+                log.warn("Could not drop {}.{}, clearing it instead: {}", TABLE, column, e.getMessage());
+                jdbcTemplate.update("UPDATE " + TABLE + " SET " + column + " = NULL");
+            }
+            log.info("Removed archived private key column {}.{}", TABLE, column);
+        }
+    }
+
+    private boolean columnExists(String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pragma_table_info(?) WHERE name = ?", Integer.class, TABLE, column);
+        return count != null && count > 0;
+    }
+}
@@ -1,6 +1,8 @@
 package com.app.pki_backend.configuration;
 
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Configuration;
 
 import jakarta.annotation.PostConstruct;
@@ -13,14 +15,16 @@ import java.security.Security;
 @Configuration
 public class BouncyCastleConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(BouncyCastleConfiguration.class);
+
     @PostConstruct
     public void init() {
         // Register BouncyCastle as a security provider
         if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
             Security.addProvider(new BouncyCastleProvider());
-            System.out.println("✅ BouncyCastle security provider registered");
+            log.info("BouncyCastle security provider registered");
         } else {
-            System.out.println("ℹ️ BouncyCastle security provider already registered");
+            log.debug("BouncyCastle security provider already registered");
         }
     }
 }
\ No newline at end of file
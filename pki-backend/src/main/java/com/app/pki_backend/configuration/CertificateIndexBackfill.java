@@ -0,0 +1,46 @@
+package com.app.pki_backend.configuration;
+
+import com.app.pki_backend.service.interfaces.CertificateIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the certificate search index for certificates issued before it existed.
+ * Runs in small batches, each in its own transaction, and is a no-op once everything is indexed.
+ */
+@Component
+@Order(10)
+public class CertificateIndexBackfill implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateIndexBackfill.class);
+
+    @Autowired
+    private CertificateIndexService certificateIndexService;
+
+    @Value("${pki.search-index.backfill-enabled:true}")
+    private boolean enabled;
+
+    @Value("${pki.search-index.backfill-batch-size:200}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        int batches = 0;
+        Long lastId = 0L;
+        while ((lastId = certificateIndexService.backfillBatch(lastId, batchSize)) != null) {
+            batches++;
+        }
+
+        if (batches > 0) {
+            log.info("Search index backfill finished in {} batch(es) of up to {}", batches, batchSize);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.app.pki_backend.configuration;
+
+import com.app.pki_backend.ratelimit.ConcurrencyLimitInterceptor;
+import com.app.pki_backend.ratelimit.ConcurrencyLimiters;
+import com.app.pki_backend.ratelimit.EndpointClass;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adaptive concurrency limits for the CPU-bound paths (issuance and keystore/bundle export).
+ * Registered after the rate limiter so requests over quota never occupy a slot.
+ */
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    @Value("${pki.concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pki.concurrency-limit.initial-limit:8}")
+    private int initialLimit;
+
+    @Value("${pki.concurrency-limit.min-limit:2}")
+    private int minLimit;
+
+    @Value("${pki.concurrency-limit.max-limit:64}")
+    private int maxLimit;
+
+    @Bean
+    public ConcurrencyLimiters concurrencyLimiters() {
+        return new ConcurrencyLimiters(initialLimit, minLimit, maxLimit, EndpointClass.ISSUANCE, EndpointClass.DOWNLOAD);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (enabled) {
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiters()))
+                    .addPathPatterns("/api/certificates/**", "/api/revocations/**")
+                    .order(1);
+        }
+    }
+}
@@ -11,6 +11,8 @@ import com.app.pki_backend.service.interfaces.CertificateService;
 import com.app.pki_backend.service.interfaces.MasterKeyService;
 import com.app.pki_backend.service.interfaces.PrivateKeyService;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
@@ -33,6 +35,8 @@ import java.util.List;
 @Order(0)
 public class DataInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     @Autowired
@@ -50,25 +54,20 @@ public class DataInitializer {
     @Bean
     CommandLineRunner init(UserRepository userRepository) {
         return args -> {
-            System.out.println("===========================================");
-            System.out.println("PKI System Initialization");
-            System.out.println("===========================================");
+            log.info("PKI system initialization started");
 
             // Проверим что мастер-ключ доступен
             if (!masterKeyService.isMasterKeyAvailable()) {
                 throw new IllegalStateException("Master key is not available!");
             }
 
-            System.out.println("✅ Master key is ready");
+            log.info("Master key is ready");
 
             initializeUsers(userRepository);
 
             initializeRootCertificates();
 
-            System.out.println("===========================================");
-            System.out.println("✅ PKI System Initialization completed!");
-            System.out.println("🌐 HTTP available on: http://localhost:8080");
-            System.out.println("===========================================");
+            log.info("PKI system initialization completed");
         };
     }
 
@@ -84,7 +83,7 @@ public class DataInitializer {
             admin.setActive(true);
             userRepository.saveAndFlush(admin);
 
-            System.out.println("✅ Admin created: admin@pki.local / admin123");
+            log.info("Admin created: admin@pki.local / admin123");
         }
 
         // === CAUser ===
@@ -98,7 +97,7 @@ public class DataInitializer {
             caUser.setActive(true);
             userRepository.saveAndFlush(caUser);
 
-            System.out.println("✅ CAUser created: causer@pki.local / causer123");
+            log.info("CAUser created: causer@pki.local / causer123");
         }
 
         // === Regular User ===
@@ -112,13 +111,13 @@ public class DataInitializer {
             user.setActive(true);
             userRepository.saveAndFlush(user);
 
-            System.out.println("✅ Regular User created: user@pki.local / user123");
+            log.info("Regular User created: user@pki.local / user123");
         }
 
-        System.out.println("📋 Users in DB:");
-        userRepository.findAll().forEach(u ->
-                System.out.println(" - " + u.getId() + " | " + u.getEmail() + " | role=" + u.getRole())
-        );
+        if (log.isDebugEnabled()) {
+            userRepository.findAll().forEach(u ->
+                    log.debug("User in DB: {} | {} | role={}", u.getId(), u.getEmail(), u.getRole()));
+        }
     }
 
     private void initializeRootCertificates() {
@@ -126,33 +125,30 @@ public class DataInitializer {
             List<Certificate> existingRootCerts = certificateRepository.findByType(CertificateType.ROOT_CA);
 
             if (!existingRootCerts.isEmpty()) {
-                System.out.println("ℹ️ Found existing Root CA certificates, checking if usable...");
+                log.info("Found {} existing Root CA certificate(s), checking if usable", existingRootCerts.size());
 
                 Certificate usableRootCA = findUsableRootCA(existingRootCerts);
 
                 if (usableRootCA != null) {
-                    System.out.println("✅ Found usable Root CA: " + usableRootCA.getSubject());
-                    System.out.println("   Serial: " + usableRootCA.getSerialNumber().toString(16));
+                    log.info("Found usable Root CA: {} (serial {})",
+                            usableRootCA.getSubject(), usableRootCA.getSerialNumber().toString(16));
                     return;
                 }
 
-                System.out.println("⚠️ No usable Root CA found, cleaning up old certificates...");
+                log.warn("No usable Root CA found, cleaning up old certificates");
                 cleanupUnusableRootCertificates(existingRootCerts);
             }
 
-            System.out.println("🔐 Generating new root certificate...");
+            log.info("Generating new root certificate");
             Certificate rootCertificate = certificateService.issueRootCertificate();
 
-            System.out.println("✅ Root certificate generated successfully!");
-            System.out.println("   ID: " + rootCertificate.getId());
-            System.out.println("   Subject: " + rootCertificate.getSubject());
-            System.out.println("   Serial: " + rootCertificate.getSerialNumber().toString(16));
-            System.out.println("   Valid from: " + rootCertificate.getValidFrom());
-            System.out.println("   Valid to: " + rootCertificate.getValidTo());
+            log.info("Root certificate generated: id={} subject={} serial={} validFrom={} validTo={}",
+                    rootCertificate.getId(), rootCertificate.getSubject(),
+                    rootCertificate.getSerialNumber().toString(16),
+                    rootCertificate.getValidFrom(), rootCertificate.getValidTo());
 
         } catch (Exception e) {
-            System.err.println("❌ CRITICAL: Failed to initialize root certificate: " + e.getMessage());
-            e.printStackTrace();
+            log.error("CRITICAL: Failed to initialize root certificate", e);
             throw new RuntimeException("Cannot initialize PKI system without Root CA", e);
         }
 //        // === HTTPS initialization ===
@@ -185,16 +181,16 @@ public class DataInitializer {
                 }
 
                 SecretKey masterKey = masterKeyService.getCurrentMasterKey();
-                System.out.println("🔍 Testing Root CA " + rootCA.getId() + "...");
+                log.debug("Testing Root CA {}", rootCA.getId());
 
                 // Actually try to decrypt the private key to test if it's usable
                 privateKeyService.retrievePrivateKey(rootCA, masterKey);
 
-                System.out.println("✅ Root CA " + rootCA.getId() + " is usable!");
+                log.debug("Root CA {} is usable", rootCA.getId());
                 return rootCA; // This one works!
 
             } catch (Exception e) {
-                System.out.println("⚠️ Cannot decrypt Root CA " + rootCA.getId() + ": " + e.getMessage());
+                log.warn("Cannot decrypt Root CA {}: {}", rootCA.getId(), e.getMessage());
                 // Continue to next Root CA
             }
         }
@@ -203,7 +199,7 @@ public class DataInitializer {
     }
 
     private void cleanupUnusableRootCertificates(List<Certificate> unusableRootCerts) {
-        System.out.println("🧹 Cleaning up " + unusableRootCerts.size() + " unusable Root CA certificates...");
+        log.info("Cleaning up {} unusable Root CA certificate(s)", unusableRootCerts.size());
 
         for (Certificate cert : unusableRootCerts) {
             try {
@@ -211,13 +207,11 @@ public class DataInitializer {
                 cert.setStatus(com.app.pki_backend.entity.certificates.CertificateStatus.REVOKED);
                 certificateRepository.save(cert);
 
-                System.out.println("   ♻️ Marked Root CA " + cert.getId() + " as REVOKED");
+                log.info("Marked Root CA {} as REVOKED", cert.getId());
 
             } catch (Exception e) {
-                System.err.println("   ❌ Failed to cleanup Root CA " + cert.getId() + ": " + e.getMessage());
+                log.error("Failed to cleanup Root CA {}", cert.getId(), e);
             }
         }
-
-        System.out.println("✅ Cleanup completed");
     }
 }
\ No newline at end of file
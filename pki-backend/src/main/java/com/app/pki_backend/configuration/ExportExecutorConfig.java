@@ -0,0 +1,60 @@
+package com.app.pki_backend.configuration;
+
+import com.app.pki_backend.ratelimit.SigningLatency;
+import com.app.pki_backend.tracing.PkiTracing;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Bounded executor for streamed downloads (StreamingResponseBody). A keystore download waits for PBE
+ * key derivation on the signing executor and then copies the finished PKCS#12 (a few KB) to the
+ * response; only the ZIP export is produced while it is written. Only a few run at once; when the
+ * queue is full new downloads are rejected (503) instead of piling up request threads and heap.
+ */
+@Configuration
+public class ExportExecutorConfig implements WebMvcConfigurer {
+
+    // optional: web slice tests load this configuration without the tracing component
+    @Autowired
+    private ObjectProvider<PkiTracing> pkiTracing;
+
+    @Value("${pki.export.core-pool-size:2}")
+    private int corePoolSize;
+
+    @Value("${pki.export.max-pool-size:4}")
+    private int maxPoolSize;
+
+    @Value("${pki.export.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${pki.export.timeout-ms:120000}")
+    private long timeoutMs;
+
+    @Bean
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        // the download keeps the request's trace and reports its signing time to the concurrency limit
+        PkiTracing tracing = pkiTracing.getIfAvailable(PkiTracing::noop);
+        executor.setTaskDecorator(task -> tracing.propagate(SigningLatency.propagate(task)));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor());
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+}
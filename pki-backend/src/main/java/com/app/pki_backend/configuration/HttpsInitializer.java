@@ -5,6 +5,8 @@ import com.app.pki_backend.service.interfaces.CertificateService;
 import com.app.pki_backend.service.interfaces.MasterKeyService;
 import com.app.pki_backend.service.interfaces.PrivateKeyService;
 import com.app.pki_backend.util.PEMConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
@@ -27,6 +29,8 @@ import java.security.cert.X509Certificate;
 @Order(1) // Выполняется перед DataInitializer
 public class HttpsInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(HttpsInitializer.class);
+
     @Autowired
     private CertificateService certificateService;
 
@@ -51,11 +55,11 @@ public class HttpsInitializer implements CommandLineRunner {
         String actualPath = keystorePath.replace("classpath:", "src/main/resources/");
 
         if (Files.exists(Paths.get(actualPath))) {
-            System.out.println("ℹ️ HTTPS keystore already exists: " + actualPath);
+            log.info("HTTPS keystore already exists: {}", actualPath);
             return;
         }
 
-        System.out.println("🔐 Generating HTTPS server certificate...");
+        log.info("Generating HTTPS server certificate");
 
         try {
             // Найти Root CA для подписи
@@ -90,13 +94,10 @@ public class HttpsInitializer implements CommandLineRunner {
                 keyStore.store(fos, keystorePassword.toCharArray());
             }
 
-            System.out.println("✅ HTTPS keystore created: " + actualPath);
-            System.out.println("🔒 Server will be available on: https://localhost:8443");
+            log.info("HTTPS keystore created: {}", actualPath);
 
         } catch (Exception e) {
-            System.err.println("❌ Failed to create HTTPS keystore: " + e.getMessage());
-            System.err.println("⚠️  Server will start without HTTPS");
-            e.printStackTrace();
+            log.error("Failed to create HTTPS keystore, server will start without HTTPS", e);
         }
     }
 }
@@ -0,0 +1,106 @@
+package com.app.pki_backend.configuration;
+
+import com.app.pki_backend.entity.certificates.StoredPrivateKey;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.repository.PrivateKeyRepository;
+import com.app.pki_backend.service.interfaces.MasterKeyService;
+import com.app.pki_backend.util.PEMConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves encrypted private keys written by older versions (certificates.encrypted_private_key)
+ * into the private_keys table, then drops the legacy column. Runs before every other runner
+ * because DataInitializer and HttpsInitializer already need the keys.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PrivateKeyMigration implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PrivateKeyMigration.class);
+
+    private static final String LEGACY_COLUMN = "encrypted_private_key";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private PrivateKeyRepository privateKeyRepository;
+
+    @Autowired
+    private MasterKeyService masterKeyService;
+
+    @Autowired
+    private PEMConverter pemConverter;
+
+    @Value("${pki.private-keys.legacy-migration-enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled || !legacyColumnExists()) {
+            return;
+        }
+
+        Integer migrated = transactionTemplate.execute(status -> {
+            List<StoredPrivateKey> keys = jdbcTemplate.query(
+                    "SELECT c.id, c." + LEGACY_COLUMN + ", c.certificate_data FROM certificates c " +
+                            "WHERE c." + LEGACY_COLUMN + " IS NOT NULL AND NOT EXISTS " +
+                            "(SELECT 1 FROM private_keys k WHERE k.certificate_id = c.id)",
+                    (rs, rowNum) -> new StoredPrivateKey(
+                            certificateRepository.getReferenceById(rs.getLong(1)),
+                            rs.getString(2),
+                            algorithmOf(rs.getString(3)),
+                            // legacy keys were always encrypted with the configured master key
+                            masterKeyService.getCurrentMasterKeyId()));
+            privateKeyRepository.persistInBatches(keys);
+            return keys.size();
+        });
+        log.info("Moved {} private key(s) from certificates to private_keys", migrated);
+
+        try {
+            jdbcTemplate.execute("ALTER TABLE certificates DROP COLUMN " + LEGACY_COLUMN);
+        } catch (DataAccessException e) {
+            // Older SQLite without DROP COLUMN: at least do not keep the ciphertext twice
+            log.warn("Could not drop certificates.{}, clearing it instead: {}", LEGACY_COLUMN, e.getMessage());
+            jdbcTemplate.update("UPDATE certificates SET " + LEGACY_COLUMN + " = NULL");
+        }
+    }
+
+    private boolean legacyColumnExists() {
+        try {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pragma_table_info('certificates') WHERE name = ?",
+                    Integer.class, LEGACY_COLUMN);
+            return count != null && count > 0;
+        } catch (DataAccessException e) {
+            log.debug("Skipping private key migration: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private String algorithmOf(String certificatePem) {
+        try {
+            return pemConverter.parseCertificate(certificatePem).getPublicKey().getAlgorithm();
+        } catch (Exception e) {
+            return "UNKNOWN";
+        }
+    }
+}
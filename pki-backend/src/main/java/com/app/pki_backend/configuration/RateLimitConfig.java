@@ -0,0 +1,38 @@
+package com.app.pki_backend.configuration;
+
+import com.app.pki_backend.ratelimit.RateLimitInterceptor;
+import com.app.pki_backend.ratelimit.RateLimitProperties;
+import com.app.pki_backend.ratelimit.RateLimiter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Token-bucket quotas in front of issuance, download and revocation (see pki.rate-limit.*).
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimitProperties properties;
+
+    public RateLimitConfig(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        return new RateLimiter(properties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.enabled()) {
+            registry.addInterceptor(new RateLimitInterceptor(rateLimiter()))
+                    .addPathPatterns("/api/certificates/**", "/api/revocations/**")
+                    .order(0);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.app.pki_backend.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the refresh_token table of older versions. It held raw refresh JWTs (still valid until they
+ * expire) and is no longer read since tokens are stored as hashes in refresh_tokens. ddl-auto=update
+ * never removes tables, so without this the plaintext tokens would stay in the database file.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RefreshTokenMigration implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenMigration.class);
+
+    private static final String LEGACY_TABLE = "refresh_token";
+
+    // table-emulated sequence that belonged to the legacy table
+    private static final String LEGACY_SEQUENCE = "refresh_token_seq";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        if (!tableExists(LEGACY_TABLE)) {
+            return;
+        }
+        // Fails startup on error: silently keeping plaintext tokens around is worse than not starting
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + LEGACY_SEQUENCE);
+        log.info("Dropped legacy table {} with plaintext refresh tokens; affected users have to log in again",
+                LEGACY_TABLE);
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+}
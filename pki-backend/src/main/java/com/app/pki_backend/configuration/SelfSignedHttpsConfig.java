@@ -9,6 +9,8 @@ import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
 import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
 import org.bouncycastle.operator.ContentSigner;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,11 +28,13 @@ import java.util.Date;
 @Configuration
 public class SelfSignedHttpsConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SelfSignedHttpsConfig.class);
+
     @Bean
     CommandLineRunner selfSignedHttpsInitializer() {
         return args -> {
             try {
-                System.out.println("🔐 Generating BouncyCastle self-signed HTTPS certificate...");
+                log.info("Generating BouncyCastle self-signed HTTPS certificate");
 
                 // === 1️⃣ Генерация ключей RSA ===
                 KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
@@ -84,11 +88,10 @@ public class SelfSignedHttpsConfig {
                 System.setProperty("server.ssl.key-alias", "selfsigned");
                 System.setProperty("server.port", "8443");
 
-                System.out.println("✅ HTTPS ready at https://localhost:8443");
+                log.info("HTTPS ready at https://localhost:8443");
 
             } catch (Exception e) {
-                System.err.println("❌ Failed to generate HTTPS certificate: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Failed to generate HTTPS certificate", e);
             }
         };
     }
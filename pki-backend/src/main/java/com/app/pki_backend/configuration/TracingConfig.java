@@ -0,0 +1,88 @@
+package com.app.pki_backend.configuration;
+
+import com.app.pki_backend.tracing.PkiTracing;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * OpenTelemetry wiring (micrometer-tracing OTel bridge). Spring Boot creates the tracer, the sampler
+ * (management.tracing.sampling.probability) and the batch span processor; this class picks an exporter
+ * that works offline and adds a span per Spring Data repository call.
+ * <ul>
+ *   <li>pki.tracing.exporter=logging: one readable line per span in the application log</li>
+ *   <li>pki.tracing.exporter=otlp-json: OTLP JSON lines, written to pki.tracing.otlp-file by logback-spring.xml;
+ *       the file can be replayed into any OTLP collector</li>
+ *   <li>pki.tracing.exporter=none: spans are sampled but not exported</li>
+ * </ul>
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "pki.tracing.exporter", havingValue = "logging")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pki.tracing.exporter", havingValue = "otlp-json")
+    public SpanExporter otlpJsonSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    /**
+     * Span "Repository.method" around every repository call made inside a trace, so SQLite lock waits
+     * show up under the stage that issued the query. Static, and the tracer is looked up lazily, because
+     * a post-processor must not pull other beans into early initialization.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "pki.tracing.repositories", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<PkiTracing> pkiTracing) {
+        SingletonSupplier<PkiTracing> tracing = SingletonSupplier.of(pkiTracing::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, metadata) -> {
+                                String repository = metadata.getRepositoryInterface().getSimpleName();
+                                // first advice, so the span also covers the repository's transaction commit
+                                proxyFactory.addAdvice(0, (MethodInterceptor) invocation -> {
+                                    PkiTracing current = tracing.obtain();
+                                    if (!current.hasCurrentSpan()) {
+                                        // background pollers would otherwise start a trace per query
+                                        return invocation.proceed();
+                                    }
+                                    // no pki.ca / pki.profile: a repository call does not know them
+                                    return current.inSpan(repository + "." + invocation.getMethod().getName(),
+                                            () -> proceed(invocation));
+                                });
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Object proceed(MethodInvocation invocation) throws Exception {
+        try {
+            return invocation.proceed();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+}
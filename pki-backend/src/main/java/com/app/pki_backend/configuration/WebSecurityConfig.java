@@ -1,5 +1,7 @@
 package com.app.pki_backend.configuration;
 
+import com.app.pki_backend.metrics.PkiMetrics;
+import com.app.pki_backend.security.auth.PrincipalCache;
 import com.app.pki_backend.security.auth.RestAuthenticationEntryPoint;
 import com.app.pki_backend.security.auth.TokenAuthenticationFilter;
 import com.app.pki_backend.service.external.CustomUserDetailsService;
@@ -7,6 +9,7 @@ import com.app.pki_backend.util.TokenUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -29,7 +32,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 
 @Configuration
-@EnableWebSecurity(debug = true)
+@EnableWebSecurity
 @EnableMethodSecurity
 public class WebSecurityConfig{
 
@@ -38,6 +41,12 @@ public class WebSecurityConfig{
 
     @Autowired
     private TokenUtils tokenUtils;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private PkiMetrics pkiMetrics;
     @Bean
     public UserDetailsService userDetailsService() {
         return new CustomUserDetailsService();
@@ -58,7 +67,26 @@ public class WebSecurityConfig{
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
         return authConfig.getAuthenticationManager();
     }
+    /**
+     * Public AIA/CDP repository (/pki/**). Matched before the API chain, so these requests never reach
+     * the JWT filter, the session/security-context machinery or the default no-cache headers.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain repositoryFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher("/pki/**");
+        http.csrf((csrf) -> csrf.disable());
+        http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        http.requestCache(cache -> cache.disable());
+        http.securityContext(context -> context.disable());
+        http.headers(headers -> headers.cacheControl(cache -> cache.disable()));
+        http.authorizeHttpRequests(request -> request.requestMatchers(HttpMethod.GET, "/pki/**").permitAll()
+                .anyRequest().denyAll());
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors(Customizer.withDefaults());
         http.csrf((csrf) -> csrf.disable());
@@ -70,6 +98,13 @@ public class WebSecurityConfig{
                     .requestMatchers("/api/users/activate").permitAll()
                     .requestMatchers("/api/users/logout").authenticated()
 
+                    // Public CA bundle distribution
+                    .requestMatchers(HttpMethod.GET, "/api/ca-bundles", "/api/ca-bundles/*").permitAll()
+
+                    // Archive lookup and bulk export (must precede the /api/certificates/* rule)
+                    .requestMatchers(HttpMethod.GET, "/api/certificates/archive", "/api/certificates/archive/**").hasAnyRole("ADMIN","CAUSER")
+                    .requestMatchers(HttpMethod.GET, "/api/certificates/export").hasAnyRole("ADMIN","CAUSER")
+
                     // Certificates
                     .requestMatchers(HttpMethod.GET, "/api/certificates").authenticated()
                     .requestMatchers(HttpMethod.GET, "/api/certificates/*").authenticated()
@@ -100,6 +135,14 @@ public class WebSecurityConfig{
                     .requestMatchers(HttpMethod.GET, "/api/revocations").hasAnyRole("ADMIN","CAUSER")
                     .requestMatchers(HttpMethod.GET, "/api/revocations/crl").hasAnyRole("ADMIN","CAUSER")
 
+                    // Admin (cache statistics etc.)
+                    .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
+                    // Actuator: only health is open. Metrics reveal CA ids, request volume and limiter state,
+                    // so the Prometheus scrape authenticates as an admin like the other endpoints
+                    .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                     // Error
                     .requestMatchers("/error").permitAll()
 
@@ -107,7 +150,7 @@ public class WebSecurityConfig{
                     .anyRequest().authenticated();
         });
         http.logout(logout -> logout.disable());
-        http.addFilterBefore(new TokenAuthenticationFilter(tokenUtils, userDetailsService()), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(new TokenAuthenticationFilter(tokenUtils, principalCache, pkiMetrics), UsernamePasswordAuthenticationFilter.class);
         http.authenticationProvider(authenticationProvider());
         return http.build();
     }
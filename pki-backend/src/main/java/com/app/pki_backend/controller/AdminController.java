@@ -0,0 +1,98 @@
+package com.app.pki_backend.controller;
+
+import com.app.pki_backend.dto.admin.AuditPageResponse;
+import com.app.pki_backend.dto.admin.AuditVerificationResponse;
+import com.app.pki_backend.dto.admin.CacheStatsResponse;
+import com.app.pki_backend.dto.admin.ConcurrencyLimitStats;
+import com.app.pki_backend.dto.admin.RateLimitStatsResponse;
+import com.app.pki_backend.dto.admin.SigningStatsResponse;
+import com.app.pki_backend.ratelimit.ConcurrencyLimiters;
+import com.app.pki_backend.ratelimit.RateLimiter;
+import com.app.pki_backend.signing.SigningExecutor;
+import com.app.pki_backend.service.interfaces.AuditService;
+import com.app.pki_backend.service.interfaces.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Operational endpoints for administrators.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ConcurrencyLimiters concurrencyLimiters;
+
+    @Autowired
+    private SigningExecutor signingExecutor;
+
+    @Autowired
+    private AuditService auditService;
+
+    // === GET second-level cache statistics ===
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
+
+    // === POST reset statistics counters ===
+    @PostMapping("/cache/stats/reset")
+    public ResponseEntity<Void> resetCacheStats() {
+        cacheStatisticsService.resetStatistics();
+        return ResponseEntity.noContent().build();
+    }
+
+    // === POST evict all cache regions ===
+    @PostMapping("/cache/evict")
+    public ResponseEntity<Void> evictCache() {
+        cacheStatisticsService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    // === GET rate limiter decisions per endpoint class ===
+    @GetMapping("/rate-limits")
+    public ResponseEntity<RateLimitStatsResponse> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.getStatistics());
+    }
+
+    // === GET adaptive concurrency limits of issuance/export ===
+    @GetMapping("/concurrency-limits")
+    public ResponseEntity<List<ConcurrencyLimitStats>> getConcurrencyLimits() {
+        return ResponseEntity.ok(concurrencyLimiters.getStatistics());
+    }
+
+    // === GET signing executor queue depth and wait per lane ===
+    @GetMapping("/signing")
+    public ResponseEntity<SigningStatsResponse> getSigningStats() {
+        return ResponseEntity.ok(signingExecutor.getStatistics());
+    }
+
+    // === GET audit events by time range [from, to) and actor, newest first ===
+    @GetMapping("/audit")
+    public ResponseEntity<AuditPageResponse> searchAudit(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(auditService.search(from, to, actor, cursor, size));
+    }
+
+    // === GET re-computed audit hash chain ===
+    @GetMapping("/audit/verify")
+    public ResponseEntity<AuditVerificationResponse> verifyAudit() {
+        return ResponseEntity.ok(auditService.verifyChain());
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.pki_backend.controller;
+
+import com.app.pki_backend.dto.certificate.CaBundleArtifact;
+import com.app.pki_backend.dto.certificate.CaBundleFormat;
+import com.app.pki_backend.service.interfaces.CaBundleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * Public distribution of CA certificates. Bundles are pre-rendered by {@link CaBundleService},
+ * so a request is a map lookup plus, for revalidations, a 304 without a body.
+ */
+@RestController
+@RequestMapping("/api/ca-bundles")
+public class CaBundleController {
+
+    @Autowired
+    private CaBundleService caBundleService;
+
+    @Value("${pki.ca-bundle.max-age-seconds:86400}")
+    private long maxAgeSeconds;
+
+    // === GET bundle of every active CA in the PKI ===
+    @GetMapping
+    public ResponseEntity<byte[]> getBundle(@RequestParam(defaultValue = "PEM") CaBundleFormat format,
+                                            WebRequest request) {
+        return serve(null, format, "pki-ca-bundle", request);
+    }
+
+    // === GET bundle of one CA subtree (issuers, the CA and its sub-CAs) ===
+    @GetMapping("/{caId}")
+    public ResponseEntity<byte[]> getSubtreeBundle(@PathVariable Long caId,
+                                                   @RequestParam(defaultValue = "PEM") CaBundleFormat format,
+                                                   WebRequest request) {
+        return serve(caId, format, "ca-" + caId + "-bundle", request);
+    }
+
+    private ResponseEntity<byte[]> serve(Long caId, CaBundleFormat format, String baseName, WebRequest request) {
+        CaBundleArtifact artifact = caBundleService.getArtifact(caId, format).orElse(null);
+        if (artifact == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        if (request.checkNotModified(artifact.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(artifact.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(artifact.etag())
+                .cacheControl(cacheControl)
+                .lastModified(artifact.generatedAt())
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + baseName + format.getExtension())
+                .body(artifact.content());
+    }
+}
@@ -0,0 +1,46 @@
+package com.app.pki_backend.controller;
+
+import com.app.pki_backend.entity.certificates.ArchivedCertificate;
+import com.app.pki_backend.service.interfaces.CertificateArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigInteger;
+
+/**
+ * Lookup of certificates moved out of the hot table by the archival job.
+ * Separate from /api/certificates so listings and search only ever scan live certificates.
+ */
+@RestController
+@RequestMapping("/api/certificates/archive")
+public class CertificateArchiveController {
+
+    @Autowired
+    private CertificateArchiveService certificateArchiveService;
+
+    // === GET archived certificate by original id ===
+    @GetMapping("/{id}")
+    public ResponseEntity<ArchivedCertificate> getArchivedById(@PathVariable Long id) {
+        return certificateArchiveService.findArchivedById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    // === GET archived certificate by serial number (decimal or 0x-prefixed hex) ===
+    @GetMapping
+    public ResponseEntity<ArchivedCertificate> getArchivedBySerial(@RequestParam String serial) {
+        BigInteger serialNumber;
+        try {
+            serialNumber = serial.startsWith("0x") || serial.startsWith("0X")
+                    ? new BigInteger(serial.substring(2), 16)
+                    : new BigInteger(serial);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid serial number: " + serial);
+        }
+        return certificateArchiveService.findArchivedBySerial(serialNumber)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+}
@@ -2,33 +2,34 @@ package com.app.pki_backend.controller;
 
 import com.app.pki_backend.dto.certificate.CSRRequestDTO;
 import com.app.pki_backend.dto.certificate.CertificateDTO;
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+import com.app.pki_backend.dto.certificate.CertificateSearchPage;
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
 import com.app.pki_backend.entity.certificates.CertificateSigningRequest;
 import com.app.pki_backend.entity.certificates.Certificate;
 import com.app.pki_backend.entity.certificates.CertificateStatus;
 import com.app.pki_backend.entity.certificates.CertificateTemplate;
 import com.app.pki_backend.entity.certificates.CertificateType;
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.security.auth.UserPrincipal;
 import com.app.pki_backend.service.implementations.CertificateServiceImpl;
 import com.app.pki_backend.service.implementations.CertificateTemplateServiceImpl;
 import com.app.pki_backend.service.implementations.RevocationServiceImpl;
 import com.app.pki_backend.service.interfaces.UserService;
-import com.app.pki_backend.util.TokenUtils;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.access.prepost.PreAuthorize;
 
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import java.util.List;
 
 @RestController
@@ -39,8 +40,6 @@ public class CertificateController {
     private final RevocationServiceImpl revocationService;
     private final CertificateTemplateServiceImpl templateService;
     @Autowired
-    private TokenUtils tokenUtils;
-    @Autowired
     private UserService userService;
 
     @Autowired
@@ -53,29 +52,22 @@ public class CertificateController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Certificate>> getAllCertificates(HttpServletRequest request) {
-        String token = tokenUtils.getToken(request);
-        if (token == null) {
+    public ResponseEntity<List<CertificateSummary>> getAllCertificates(@AuthenticationPrincipal UserPrincipal principal) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        String email = tokenUtils.getUsernameFromToken(token);
-        User currentUser = userService.findByEmail(email);
-        if (currentUser == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
-
-        List<Certificate> certificates;
-        switch (currentUser.getRole().toUpperCase()) {
+        List<CertificateSummary> certificates;
+        switch (principal.role()) {
             case "ADMIN":
-                certificates = certificateService.findAll();
+                certificates = certificateService.findAllSummaries();
                 break;
             case "CAUSER":
-                certificates = certificateService.findAllByOrganization(currentUser.getOrganizationName());
+                certificates = certificateService.findAllByOrganization(principal.organizationName());
                 break;
             case "USER":
             default:
-                certificates = certificateService.findAllByOwnerId(currentUser.getId());
+                certificates = certificateService.findAllByOwnerId(principal.id());
                 break;
         }
 
@@ -92,7 +84,7 @@ public class CertificateController {
     // === GET certificate by id ===
     @GetMapping("/{id}")
     public ResponseEntity<Certificate> getCertificateById(@PathVariable Long id) {
-        return certificateService.findById(id)
+        return certificateService.findDetailedById(id)
                 .map(cert -> ResponseEntity.ok(cert))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
@@ -117,18 +109,12 @@ public class CertificateController {
     public ResponseEntity<Certificate> issueIntermediate(
             @PathVariable Long issuerId,
             @Valid @RequestBody CSRRequestDTO csrRequest,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        String token = tokenUtils.getToken(request);
-        if (token == null) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-
-        String email = tokenUtils.getUsernameFromToken(token);
-        User currentUser = userService.findByEmail(email);
-        if (currentUser == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        User currentUser = userService.getReference(principal.id());
 
         Certificate issuer = certificateService.findById(issuerId)
                 .orElseThrow(() -> new IllegalArgumentException("Issuer not found"));
@@ -152,18 +138,12 @@ public class CertificateController {
     public ResponseEntity<Certificate> issueEndEntity(
             @PathVariable Long issuerId,
             @Valid @RequestBody CSRRequestDTO csrRequest,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        String token = tokenUtils.getToken(request);
-        if (token == null) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-
-        String email = tokenUtils.getUsernameFromToken(token);
-        User currentUser = userService.findByEmail(email);
-        if (currentUser == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        User currentUser = userService.getReference(principal.id());
 
         Certificate issuer = certificateService.findById(issuerId)
                 .orElseThrow(() -> new IllegalArgumentException("Issuer not found"));
@@ -227,23 +207,28 @@ public class CertificateController {
         return ResponseEntity.ok("Template " + id + " deleted.");
     }
 
+    // Keystore is built on a signing thread and copied to the response on the bounded export executor (ExportExecutorConfig)
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadCertificate(
+    public ResponseEntity<StreamingResponseBody> downloadCertificate(
             @PathVariable Long id,
             @RequestParam(defaultValue = "changeit") String password) {
 
-        byte[] fileBytes = certificateService.exportAsPkcs12(id, password);
+        // Fail before streaming starts, while a proper error status can still be sent
+        if (certificateService.findById(id).isEmpty()) {
+            throw new IllegalArgumentException("Certificate not found");
+        }
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
         headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=certificate_" + id + ".p12");
 
-        return new ResponseEntity<>(fileBytes, headers, HttpStatus.OK);
+        StreamingResponseBody body = out -> certificateService.exportAsPkcs12(id, password, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
     @GetMapping("getByOwner/{ownerId}")
-    public ResponseEntity<List<Certificate>> getCertificatesByOwner(@PathVariable Long ownerId) {
-        List<Certificate> certificates = certificateService.findAllByOwnerId(Math.toIntExact(ownerId));
+    public ResponseEntity<List<CertificateSummary>> getCertificatesByOwner(@PathVariable Long ownerId) {
+        List<CertificateSummary> certificates = certificateService.findAllByOwnerId(Math.toIntExact(ownerId));
         return ResponseEntity.ok(certificates);
     }
 
@@ -252,19 +237,13 @@ public class CertificateController {
     public ResponseEntity<Certificate> uploadCsr(
             @PathVariable Long issuerId,
             @RequestParam("file") MultipartFile file,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
         try {
-            String jwtToken = tokenUtils.getToken(request);
-            if (jwtToken == null) {
+            if (principal == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
-
-            String email = tokenUtils.getUsernameFromToken(jwtToken);
-            User user = userService.findByEmail(email);
-            if (user == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
+            User user = userService.getReference(principal.id());
 
             Certificate issuer = certificateService.findById(issuerId)
                     .orElseThrow(() -> new IllegalArgumentException("Issuer not found"));
@@ -286,15 +265,24 @@ public class CertificateController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<Certificate>> searchCertificates(
+    public ResponseEntity<CertificateSearchPage> searchCertificates(
             @RequestParam(required = false) CertificateStatus status,
             @RequestParam(required = false) CertificateType type,
             @RequestParam(required = false) String organization,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(required = false) String commonName,
+            @RequestParam(required = false) String san,
+            @RequestParam(required = false) String fingerprint,
+            @RequestParam(required = false) String ski,
+            @RequestParam(required = false) String serial,
+            @RequestParam(defaultValue = "false") boolean prefix,
+            @RequestParam(defaultValue = "CREATED_AT") CertificateSortKey sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Certificate> result = certificateService.search(status, type, organization, pageable);
+        CertificateSearchFilter filter = new CertificateSearchFilter(
+                status, type, organization, commonName, san, fingerprint, ski, serial, prefix);
+        CertificateSearchPage result = certificateService.search(filter, sort, cursor, size, includeTotal);
         return ResponseEntity.ok(result);
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.app.pki_backend.controller;
+
+import com.app.pki_backend.audit.AuditLogger;
+import com.app.pki_backend.audit.AuditOutcome;
+import com.app.pki_backend.dto.certificate.CertificateExportFormat;
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.service.interfaces.CertificateExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Bulk export of search results as one ZIP, streamed on the export executor (ExportExecutorConfig).
+ */
+@RestController
+@RequestMapping("/api/certificates/export")
+public class CertificateExportController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private CertificateExportService certificateExportService;
+
+    @Autowired
+    private AuditLogger auditLogger;
+
+    // === GET ZIP of certificates, chains and index.csv; same filters as /search plus issuerId ===
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportCertificates(
+            @RequestParam(required = false) CertificateStatus status,
+            @RequestParam(required = false) CertificateType type,
+            @RequestParam(required = false) String organization,
+            @RequestParam(required = false) String commonName,
+            @RequestParam(required = false) String san,
+            @RequestParam(required = false) String fingerprint,
+            @RequestParam(required = false) String ski,
+            @RequestParam(required = false) String serial,
+            @RequestParam(defaultValue = "false") boolean prefix,
+            @RequestParam(required = false) Long issuerId,
+            @RequestParam(defaultValue = "PEM") CertificateExportFormat format,
+            Authentication authentication
+    ) {
+        CertificateSearchFilter filter = new CertificateSearchFilter(
+                status, type, organization, commonName, san, fingerprint, ski, serial, prefix);
+        String requestedBy = authentication != null ? authentication.getName() : "anonymous";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=certificates-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".zip");
+
+        StreamingResponseBody body = out -> {
+            int count = certificateExportService.exportBundle(filter, issuerId, format, out);
+            auditLogger.record(requestedBy, "EXPORT_CERTIFICATES", null, issuerId, AuditOutcome.SUCCESS,
+                    "count=" + count + " organization=" + organization);
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,82 @@
+package com.app.pki_backend.controller;
+
+import com.app.pki_backend.dto.certificate.PkiRepositoryEntry;
+import com.app.pki_backend.service.interfaces.PkiRepositoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Unauthenticated AIA/CDP repository. Runs in its own security filter chain without the JWT filter
+ * (WebSecurityConfig#repositoryFilterChain) and only reads from memory.
+ */
+@RestController
+@RequestMapping("/pki")
+public class PkiRepositoryController {
+
+    private static final MediaType PKIX_CERT = MediaType.parseMediaType("application/pkix-cert");
+    private static final MediaType PKIX_CRL = MediaType.parseMediaType("application/pkix-crl");
+
+    @Autowired
+    private PkiRepositoryService pkiRepositoryService;
+
+    @Value("${pki.repository.certificate-max-age-seconds:31536000}")
+    private long certificateMaxAgeSeconds;
+
+    @Value("${pki.repository.crl-max-age-seconds:3600}")
+    private long crlMaxAgeSeconds;
+
+    // === GET DER CA certificate (caIssuers) — content under this URL never changes ===
+    @GetMapping("/ca/{caId}.crt")
+    public ResponseEntity<byte[]> getCaCertificate(@PathVariable Long caId, WebRequest request) {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(certificateMaxAgeSeconds))
+                .cachePublic()
+                .immutable();
+        return pkiRepositoryService.getCaCertificate(caId)
+                .map(entry -> serve(entry, PKIX_CERT, cacheControl, request))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    // === GET DER CRL (cRLDistributionPoints) — cacheable until nextUpdate ===
+    @GetMapping("/crl/{caId}.crl")
+    public ResponseEntity<byte[]> getCrl(@PathVariable Long caId, WebRequest request) {
+        return pkiRepositoryService.getCrl(caId)
+                .map(entry -> serve(entry, PKIX_CRL, crlCacheControl(entry), request))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    private CacheControl crlCacheControl(PkiRepositoryEntry entry) {
+        long maxAge = crlMaxAgeSeconds;
+        if (entry.nextUpdate() != null) {
+            maxAge = Math.max(0, Math.min(maxAge, Duration.between(Instant.now(), entry.nextUpdate()).getSeconds()));
+        }
+        return CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic();
+    }
+
+    private ResponseEntity<byte[]> serve(PkiRepositoryEntry entry, MediaType mediaType,
+                                         CacheControl cacheControl, WebRequest request) {
+        if (request.checkNotModified(entry.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(entry.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(entry.etag())
+                .cacheControl(cacheControl)
+                .lastModified(entry.lastModified())
+                .contentType(mediaType)
+                .body(entry.content());
+    }
+}
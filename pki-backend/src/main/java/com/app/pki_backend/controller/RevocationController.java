@@ -3,18 +3,18 @@ package com.app.pki_backend.controller;
 import com.app.pki_backend.entity.certificates.Certificate;
 import com.app.pki_backend.entity.certificates.RevokedCertificate;
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.security.auth.UserPrincipal;
 import com.app.pki_backend.service.implementations.CertificateServiceImpl;
 import com.app.pki_backend.service.implementations.RevocationServiceImpl;
 import com.app.pki_backend.service.interfaces.UserService;
-import com.app.pki_backend.util.TokenUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 
 @RestController
@@ -24,15 +24,13 @@ public class RevocationController {
 
     private final RevocationServiceImpl revocationService;
     private final CertificateServiceImpl certificateService;
-    private final TokenUtils tokenUtils;
     private final UserService userService;
     @Autowired
     public RevocationController(RevocationServiceImpl revocationService,
                                 CertificateServiceImpl certificateService,
-                                TokenUtils tokenUtils, UserService userService) {
+                                UserService userService) {
         this.revocationService = revocationService;
         this.certificateService = certificateService;
-        this.tokenUtils = tokenUtils;
         this.userService = userService;
     }
 
@@ -41,14 +39,12 @@ public class RevocationController {
     public ResponseEntity<String> revokeCertificate(
             @PathVariable Long id,
             @RequestParam String reason,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        String token = tokenUtils.getToken(request);
-        if (token == null) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing token");
         }
-        String email = tokenUtils.getUsernameFromToken(token);
-        User revokedBy = userService.findByEmail(email);
+        User revokedBy = userService.getReference(principal.id());
 
         Certificate cert = certificateService.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Certificate not found"));
@@ -73,7 +69,7 @@ public class RevocationController {
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=crl_" + issuerId + ".crl")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentType(MediaType.parseMediaType("application/pkix-crl"))
                 .body(crl);
     }
 }
@@ -3,10 +3,10 @@ package com.app.pki_backend.controller;
 import com.app.pki_backend.dto.user.LoginRequestDTO;
 import com.app.pki_backend.dto.user.TokenDTO;
 import com.app.pki_backend.entity.RefreshToken;
+import com.app.pki_backend.security.auth.UserPrincipal;
 import com.app.pki_backend.service.interfaces.RefreshTokenService;
 import com.app.pki_backend.service.interfaces.UserService;
 import com.app.pki_backend.util.TokenUtils;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +17,7 @@ import com.app.pki_backend.entity.user.User;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
@@ -44,12 +45,8 @@ public class UserController {
         }
 
        registrationRequestDTO.setPassword(passwordEncoder.encode(registrationRequestDTO.getPassword()));
-        User newUser = userService.saveInactive(registrationRequestDTO);
-
         String activationToken = UUID.randomUUID().toString();
-        userService.saveActivationToken(newUser, activationToken);
-
-        userService.sendActivationEmail(newUser.getEmail(), activationToken);
+        userService.registerInactive(registrationRequestDTO, activationToken);
 
         return ResponseEntity.status(HttpStatus.CREATED).body("User registered. Please check your email to activate account.");
     }
@@ -97,30 +94,25 @@ public class UserController {
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@RequestParam("refreshToken") String requestToken) {
         return refreshTokenService.findByToken(requestToken)
-                .map(refreshToken -> {
+                .<ResponseEntity<?>>map(refreshToken -> {
                     if (refreshToken.getExpiryDate().isBefore(Instant.now())) {
                         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Refresh token expired");
                     }
-                    String newAccessToken = tokenUtils.generateToken(refreshToken.getUser());
-                    return ResponseEntity.ok(new TokenDTO(newAccessToken, requestToken));
+                    // Rotation: the presented token is consumed, a replay of it gets 401
+                    return refreshTokenService.rotate(refreshToken)
+                            .<ResponseEntity<?>>map(rotated -> ResponseEntity.ok(new TokenDTO(
+                                    tokenUtils.generateToken(refreshToken.getUser()), rotated.getToken())))
+                            .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Refresh token already used"));
                 })
                 .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token"));
     }
 @PostMapping("/logout")
-public ResponseEntity<String> logout(HttpServletRequest request) {
-    String token = tokenUtils.getToken(request);
-    if (token == null) {
+public ResponseEntity<String> logout(@AuthenticationPrincipal UserPrincipal principal) {
+    if (principal == null) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("No token provided");
     }
 
-    String email = tokenUtils.getUsernameFromToken(token);
-    User user = userService.findByEmail(email);
-
-    if (user == null) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
-    }
-
-    refreshTokenService.deleteByUser(user);
+    refreshTokenService.deleteByUser(userService.getReference(principal.id()));
 
     return ResponseEntity.ok("Logged out successfully");
 }
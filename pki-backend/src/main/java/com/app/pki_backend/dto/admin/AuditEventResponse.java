@@ -0,0 +1,18 @@
+package com.app.pki_backend.dto.admin;
+
+import com.app.pki_backend.audit.AuditOutcome;
+
+import java.time.LocalDateTime;
+
+public record AuditEventResponse(
+        Long id,
+        LocalDateTime occurredAt,
+        String actor,
+        String action,
+        Long certificateId,
+        Long issuerId,
+        AuditOutcome outcome,
+        String details,
+        String hash
+) {
+}
@@ -0,0 +1,14 @@
+package com.app.pki_backend.dto.admin;
+
+import java.util.List;
+
+/**
+ * One keyset page of audit events, newest first. nextCursor is opaque; null on the last page.
+ */
+public record AuditPageResponse(
+        List<AuditEventResponse> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+}
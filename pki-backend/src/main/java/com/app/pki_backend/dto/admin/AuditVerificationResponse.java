@@ -0,0 +1,13 @@
+package com.app.pki_backend.dto.admin;
+
+/**
+ * Result of re-computing the audit hash chain. firstInvalidId is the first row whose link or hash
+ * does not match; headHash can be recorded elsewhere to also detect truncation later.
+ */
+public record AuditVerificationResponse(
+        boolean valid,
+        long checked,
+        Long firstInvalidId,
+        String headHash
+) {
+}
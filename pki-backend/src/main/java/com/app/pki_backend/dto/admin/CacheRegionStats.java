@@ -0,0 +1,14 @@
+package com.app.pki_backend.dto.admin;
+
+/**
+ * Hit/miss counters of one second-level cache region.
+ */
+public record CacheRegionStats(
+        String region,
+        long hitCount,
+        long missCount,
+        long putCount,
+        long elementCountInMemory,
+        double hitRatio
+) {
+}
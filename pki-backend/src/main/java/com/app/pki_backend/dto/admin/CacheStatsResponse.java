@@ -0,0 +1,18 @@
+package com.app.pki_backend.dto.admin;
+
+import java.util.List;
+
+/**
+ * Snapshot of the second-level cache: per-region counters plus the
+ * number of JDBC statements Hibernate executed since the last reset.
+ * The counters stay at zero unless pki.persistence.statistics-enabled=true.
+ */
+public record CacheStatsResponse(
+        boolean enabled,
+        boolean statisticsEnabled,
+        long prepareStatementCount,
+        long queryCacheHitCount,
+        long queryCacheMissCount,
+        List<CacheRegionStats> regions
+) {
+}
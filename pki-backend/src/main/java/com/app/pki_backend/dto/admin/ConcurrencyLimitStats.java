@@ -0,0 +1,13 @@
+package com.app.pki_backend.dto.admin;
+
+/**
+ * Current adaptive concurrency limit of one endpoint class and its decisions since startup.
+ */
+public record ConcurrencyLimitStats(
+        String endpointClass,
+        int limit,
+        int inFlight,
+        long accepted,
+        long rejected
+) {
+}
@@ -0,0 +1,12 @@
+package com.app.pki_backend.dto.admin;
+
+/**
+ * Rate limiter decisions for one endpoint class since startup.
+ */
+public record RateLimitClassStats(
+        String endpointClass,
+        long allowed,
+        long rejectedByUser,
+        long rejectedByOrganization
+) {
+}
@@ -0,0 +1,13 @@
+package com.app.pki_backend.dto.admin;
+
+import java.util.List;
+
+/**
+ * Rate limiter counters plus the number of buckets currently held in memory.
+ */
+public record RateLimitStatsResponse(
+        boolean enabled,
+        int activeBuckets,
+        List<RateLimitClassStats> classes
+) {
+}
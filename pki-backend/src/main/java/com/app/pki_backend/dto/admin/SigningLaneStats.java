@@ -0,0 +1,13 @@
+package com.app.pki_backend.dto.admin;
+
+/**
+ * Queue depth and queue wait of one signing lane; wait times cover tasks that started since startup.
+ */
+public record SigningLaneStats(
+        String lane,
+        int queueDepth,
+        long started,
+        double averageWaitMillis,
+        double maxWaitMillis
+) {
+}
@@ -0,0 +1,15 @@
+package com.app.pki_backend.dto.admin;
+
+import java.util.List;
+
+/**
+ * Signing executor snapshot: worker count, busy workers, rejected tasks and per-lane queues.
+ */
+public record SigningStatsResponse(
+        int threads,
+        int activeThreads,
+        int queueCapacity,
+        long rejected,
+        List<SigningLaneStats> lanes
+) {
+}
@@ -0,0 +1,19 @@
+package com.app.pki_backend.dto.certificate;
+
+import java.time.Instant;
+
+/**
+ * One pre-rendered CA bundle. Content never changes after rendering, so the ETag is a hash of it.
+ * @param content encoded bundle
+ * @param etag strong entity tag (quoted)
+ * @param certificateCount number of CA certificates in the bundle
+ * @param generatedAt time the snapshot containing this artifact was built
+ */
+public record CaBundleArtifact(
+        CaBundleFormat format,
+        byte[] content,
+        String etag,
+        int certificateCount,
+        Instant generatedAt
+) {
+}
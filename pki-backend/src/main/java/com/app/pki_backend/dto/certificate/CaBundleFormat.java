@@ -0,0 +1,26 @@
+package com.app.pki_backend.dto.certificate;
+
+/**
+ * Distribution formats of a CA bundle.
+ */
+public enum CaBundleFormat {
+    PEM(".pem", "application/x-pem-file"),
+    P7B(".p7b", "application/x-pkcs7-certificates"),
+    P12(".p12", "application/x-pkcs12");
+
+    private final String extension;
+    private final String mediaType;
+
+    CaBundleFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+}
@@ -21,7 +21,6 @@ public class CertificateDTO {
     private Long issuerId; // X500Name in string format
 
     private String publicKey;
-    private String encryptedPrivateKey; // EncryptedPrivateKeyInfo in string format
     private String certificateData; // PEM format certificate data
     private LocalDateTime validFrom;
     private LocalDateTime validTo;
@@ -73,14 +72,6 @@ public class CertificateDTO {
         this.publicKey = publicKey;
     }
 
-    public String getEncryptedPrivateKey() {
-        return encryptedPrivateKey;
-    }
-
-    public void setEncryptedPrivateKey(String encryptedPrivateKey) {
-        this.encryptedPrivateKey = encryptedPrivateKey;
-    }
-
     public String getCertificateData() {
         return certificateData;
     }
@@ -0,0 +1,19 @@
+package com.app.pki_backend.dto.certificate;
+
+/**
+ * Encoding of the certificate files in an export archive. Chain files are always PEM.
+ */
+public enum CertificateExportFormat {
+    PEM(".pem"),
+    DER(".der");
+
+    private final String extension;
+
+    CertificateExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
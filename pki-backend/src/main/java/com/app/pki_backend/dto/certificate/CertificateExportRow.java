@@ -0,0 +1,15 @@
+package com.app.pki_backend.dto.certificate;
+
+import java.math.BigInteger;
+
+/**
+ * Columns needed to write one certificate into an export archive.
+ * Selected by a constructor expression so streamed rows never enter the persistence context.
+ */
+public record CertificateExportRow(
+        Long id,
+        BigInteger serialNumber,
+        Long issuerId,
+        String certificateData
+) {
+}
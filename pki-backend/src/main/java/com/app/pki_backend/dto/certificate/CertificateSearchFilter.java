@@ -0,0 +1,26 @@
+package com.app.pki_backend.dto.certificate;
+
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+
+/**
+ * Filters accepted by certificate search. Every field is optional.
+ * commonName, san, fingerprint (SHA-256), ski and serial (hex) are matched against the
+ * normalized lookup table, exactly or by prefix when prefix is true.
+ */
+public record CertificateSearchFilter(
+        CertificateStatus status,
+        CertificateType type,
+        String organization,
+        String commonName,
+        String san,
+        String fingerprint,
+        String ski,
+        String serial,
+        boolean prefix
+) {
+
+    public static CertificateSearchFilter of(CertificateStatus status, CertificateType type, String organization) {
+        return new CertificateSearchFilter(status, type, organization, null, null, null, null, null, false);
+    }
+}
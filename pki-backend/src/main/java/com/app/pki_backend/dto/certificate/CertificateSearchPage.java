@@ -0,0 +1,17 @@
+package com.app.pki_backend.dto.certificate;
+
+import java.util.List;
+
+/**
+ * One keyset page of search results.
+ * nextCursor is opaque and must be sent back unchanged to fetch the next page;
+ * totalElements is only filled when the caller asked for it.
+ */
+public record CertificateSearchPage(
+        List<CertificateSummary> content,
+        int size,
+        boolean hasNext,
+        String nextCursor,
+        Long totalElements
+) {
+}
@@ -0,0 +1,21 @@
+package com.app.pki_backend.dto.certificate;
+
+/**
+ * Keyset orderings supported by certificate search.
+ * Every ordering is tie-broken by id so the position of a row never changes.
+ */
+public enum CertificateSortKey {
+    CREATED_AT("createdAt", true),  // newest first
+    VALID_TO("validTo", false);     // soonest expiry first
+
+    private final String attribute;
+    private final boolean descending;
+
+    CertificateSortKey(String attribute, boolean descending) {
+        this.attribute = attribute;
+        this.descending = descending;
+    }
+
+    public String getAttribute() { return attribute; }
+    public boolean isDescending() { return descending; }
+}
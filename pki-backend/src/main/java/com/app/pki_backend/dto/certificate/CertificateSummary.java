@@ -0,0 +1,29 @@
+package com.app.pki_backend.dto.certificate;
+
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight read model for certificate listings.
+ * Selected directly by JPQL/criteria constructor expressions, so PEM data, keys,
+ * extensions and the owner/issuer entities are never loaded for list views.
+ * Full data stays available through GET /api/certificates/{id} and the download endpoint.
+ */
+public record CertificateSummary(
+        Long id,
+        BigInteger serialNumber,
+        String subject,
+        String issuer,
+        Long issuerId,
+        CertificateType type,
+        CertificateStatus status,
+        LocalDateTime validFrom,
+        LocalDateTime validTo,
+        String organization,
+        Integer ownerId,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.app.pki_backend.dto.certificate;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * Certificate due for an expiry notice, with what the digest needs from its owner.
+ * ownerEmail is null for certificates without an owner (CA certificates issued by the system).
+ */
+public record ExpiringCertificateRow(
+        Long id,
+        BigInteger serialNumber,
+        String subject,
+        LocalDateTime validTo,
+        String organization,
+        String ownerEmail
+) {
+}
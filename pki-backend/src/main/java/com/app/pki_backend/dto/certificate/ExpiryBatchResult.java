@@ -0,0 +1,12 @@
+package com.app.pki_backend.dto.certificate;
+
+/**
+ * Outcome of one expiry batch.
+ * @param selected ACTIVE certificates picked for the batch; fewer than the batch size means the window is done
+ * @param expired how many of them were switched to EXPIRED (others changed status concurrently, e.g. revoked)
+ */
+public record ExpiryBatchResult(
+        int selected,
+        int expired
+) {
+}
@@ -0,0 +1,18 @@
+package com.app.pki_backend.dto.certificate;
+
+import java.time.Instant;
+
+/**
+ * DER object published in the public certificate repository (/pki/**).
+ * @param content DER encoding
+ * @param etag strong entity tag (quoted)
+ * @param lastModified generation time of a CRL, notBefore of a CA certificate
+ * @param nextUpdate CRL nextUpdate, null for certificates (which never change)
+ */
+public record PkiRepositoryEntry(
+        byte[] content,
+        String etag,
+        Instant lastModified,
+        Instant nextUpdate
+) {
+}
@@ -9,14 +9,14 @@ import java.time.LocalDateTime;
 @Entity
 public class ActivationToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
 
     private String token;
 
     private LocalDateTime expiryDate;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
 
@@ -0,0 +1,84 @@
+package com.app.pki_backend.entity;
+
+import com.app.pki_backend.audit.AuditOutcome;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only audit trail. Rows are only ever inserted by the audit writer; each carries the hash of
+ * its predecessor (by id) and its own hash over its content, see {@link com.app.pki_backend.audit.AuditHash}.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_events_occurred_at", columnList = "occurred_at, id"),
+        @Index(name = "idx_audit_events_actor", columnList = "actor, occurred_at")
+})
+public class AuditEvent {
+
+    @Id
+    @SequentialId
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, length = 128)
+    private String actor;
+
+    @Column(nullable = false, length = 64)
+    private String action;
+
+    @Column(name = "certificate_id")
+    private Long certificateId;
+
+    @Column(name = "issuer_id")
+    private Long issuerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditOutcome outcome;
+
+    @Column(length = 1024)
+    private String details;
+
+    @Column(name = "prev_hash", nullable = false, length = 64)
+    private String prevHash;
+
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    public AuditEvent() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public String getActor() { return actor; }
+    public void setActor(String actor) { this.actor = actor; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public Long getCertificateId() { return certificateId; }
+    public void setCertificateId(Long certificateId) { this.certificateId = certificateId; }
+
+    public Long getIssuerId() { return issuerId; }
+    public void setIssuerId(Long issuerId) { this.issuerId = issuerId; }
+
+    public AuditOutcome getOutcome() { return outcome; }
+    public void setOutcome(AuditOutcome outcome) { this.outcome = outcome; }
+
+    public String getDetails() { return details; }
+    public void setDetails(String details) { this.details = details; }
+
+    public String getPrevHash() { return prevHash; }
+    public void setPrevHash(String prevHash) { this.prevHash = prevHash; }
+
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+}
@@ -0,0 +1,32 @@
+package com.app.pki_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Watermark of an incremental background job: everything up to {@code checkpoint} has been processed.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(nullable = false)
+    private LocalDateTime checkpoint;
+
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName, LocalDateTime checkpoint) {
+        this.jobName = jobName;
+        this.checkpoint = checkpoint;
+    }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public LocalDateTime getCheckpoint() { return checkpoint; }
+    public void setCheckpoint(LocalDateTime checkpoint) { this.checkpoint = checkpoint; }
+}
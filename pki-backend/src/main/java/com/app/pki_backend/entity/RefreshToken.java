@@ -4,20 +4,38 @@ import com.app.pki_backend.entity.user.User;
 import jakarta.persistence.*;
 import java.time.Instant;
 
+/**
+ * One refresh token per user (the user id is the primary key). Only the SHA-256 of the JWT is stored;
+ * the raw token is set on the transient field when it is issued and is never persisted.
+ * Expiry is kept as epoch millis so the sweeper and the rotation CAS compare plain integers.
+ */
 @Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")
+})
 public class RefreshToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @Column(name = "user_id")
+    private Integer userId;
 
-    @OneToOne
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
     private User user;
 
-    @Column(nullable = false, unique = true)
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Transient
     private String token;
 
-    @Column(nullable = false)
-    private Instant expiryDate;
+    public Integer getUserId() {
+        return userId;
+    }
 
     public User getUser() {
         return user;
@@ -25,8 +43,20 @@ public class RefreshToken {
 
     public void setUser(User user) {
         this.user = user;
+        this.userId = user == null ? null : user.getId();
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
     }
 
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    /**
+     * Raw JWT; only available on the instance returned when the token is issued or rotated.
+     */
     public String getToken() {
         return token;
     }
@@ -35,11 +65,15 @@ public class RefreshToken {
         this.token = token;
     }
 
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
     public Instant getExpiryDate() {
-        return expiryDate;
+        return Instant.ofEpochMilli(expiresAt);
     }
 
     public void setExpiryDate(Instant expiryDate) {
-        this.expiryDate = expiryDate;
+        this.expiresAt = expiryDate.toEpochMilli();
     }
 }
@@ -0,0 +1,17 @@
+package com.app.pki_backend.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id assigned in memory before the insert (keeps JDBC insert batching), see {@link SequentialIdGenerator}.
+ */
+@IdGeneratorType(SequentialIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SequentialId {
+}
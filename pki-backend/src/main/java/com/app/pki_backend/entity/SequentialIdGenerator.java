@@ -0,0 +1,88 @@
+package com.app.pki_backend.entity;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids for {@link SequentialId} entities, handed out from an in-memory counter that is seeded once
+ * from MAX(id) of the entity's table.
+ * <p>
+ * Hibernate emulates sequences on SQLite with a table that it updates on a second connection
+ * ("isolated work"). SQLite allows one writer, so when a transaction that has already written needs
+ * a new id block, the second connection waits for a lock the first one never releases (SQLITE_BUSY).
+ * The counter needs no write at all; ids are still known before the insert, so batching keeps working.
+ * Only valid while a single process writes the database file, which SQLite implies anyway. Counters are
+ * shared per database and table within the JVM, so several session factories on one file do not collide.
+ * Rolled back inserts leave gaps, like a sequence.
+ */
+public class SequentialIdGenerator implements IdentifierGenerator, AnnotationBasedGenerator<SequentialId> {
+
+    // jdbc url + table -> last id handed out
+    private static final ConcurrentMap<String, AtomicLong> COUNTERS = new ConcurrentHashMap<>();
+
+    private String table;
+    private String idColumn;
+    private boolean integerId;
+
+    private volatile AtomicLong last;
+
+    // Hibernate creates generators through the Spring bean container, so no constructor arguments
+    @Override
+    public void initialize(SequentialId config, Member member, GeneratorCreationContext context) {
+        this.table = context.getPersistentClass().getRootTable().getName();
+        this.idColumn = context.getPersistentClass().getIdentifier().getColumns().get(0).getName();
+        Class<?> idType = member instanceof Field field ? field.getType() : ((Method) member).getReturnType();
+        this.integerId = idType == Integer.class || idType == int.class;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner) {
+        AtomicLong counter = last;
+        if (counter == null) {
+            counter = seed(session);
+        }
+        long id = counter.incrementAndGet();
+        // not a conditional expression: it would promote the Integer back to Long
+        if (integerId) {
+            return Math.toIntExact(id);
+        }
+        return id;
+    }
+
+    private synchronized AtomicLong seed(SharedSessionContractImplementor session) {
+        if (last != null) {
+            return last;
+        }
+        // Plain JDBC on the session's connection: a query through the session would auto-flush
+        // the very inserts that are waiting for this id
+        Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        String sql = "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            long max = rs.getLong(1);
+            AtomicLong counter = COUNTERS.computeIfAbsent(connection.getMetaData().getURL() + "|" + table,
+                    key -> new AtomicLong());
+            counter.accumulateAndGet(max, Math::max);
+            last = counter;
+            return counter;
+        } catch (SQLException e) {
+            // Failing here beats handing out ids that collide with existing rows
+            throw new HibernateException("Cannot seed ids of " + table, e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.app.pki_backend.entity.certificates;
+
+import jakarta.persistence.*;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a certificate moved out of the hot certificates table after its retention window.
+ * Keeps the original id, the PEM and the revocation data that CRL history and audit still need.
+ * The private key is not archived: it is deleted with the certificate.
+ * Associations are stored as plain ids so the archive never joins back into hot tables.
+ */
+@Entity
+@Table(name = "archived_certificates", indexes = {
+        @Index(name = "idx_archived_certificates_serial", columnList = "serial_number", unique = true)
+})
+public class ArchivedCertificate {
+    @Id
+    private Long id; // id of the original certificate
+
+    @Column(nullable = false)
+    private BigInteger serialNumber;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String issuer;
+
+    private Long issuerCertificateId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String certificateData;
+
+    @Column(columnDefinition = "TEXT")
+    private String extensions;
+
+    @Column(nullable = false)
+    private LocalDateTime validFrom;
+
+    @Column(nullable = false)
+    private LocalDateTime validTo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CertificateType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CertificateStatus status;
+
+    @Column(nullable = false)
+    private String organization;
+
+    private Integer ownerId;
+
+    private LocalDateTime createdAt;
+
+    // Revocation data (null if the certificate simply expired)
+    private LocalDateTime revocationDate;
+
+    @Enumerated(EnumType.STRING)
+    private RevocationReason revocationReason;
+
+    private Integer revokedById;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt = LocalDateTime.now();
+
+    public ArchivedCertificate() {}
+
+    /**
+     * Copy all columns of a hot certificate; revocation data is set separately.
+     */
+    public ArchivedCertificate(Certificate certificate) {
+        this.id = certificate.getId();
+        this.serialNumber = certificate.getSerialNumber();
+        this.subject = certificate.getSubject();
+        this.issuer = certificate.getIssuer();
+        this.issuerCertificateId = certificate.getIssuerCertificate() != null
+                ? certificate.getIssuerCertificate().getId() : null;
+        this.certificateData = certificate.getCertificateData();
+        this.extensions = certificate.getExtensions();
+        this.validFrom = certificate.getValidFrom();
+        this.validTo = certificate.getValidTo();
+        this.type = certificate.getType();
+        this.status = certificate.getStatus();
+        this.organization = certificate.getOrganization();
+        this.ownerId = certificate.getOwner() != null ? certificate.getOwner().getId() : null;
+        this.createdAt = certificate.getCreatedAt();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public BigInteger getSerialNumber() { return serialNumber; }
+    public void setSerialNumber(BigInteger serialNumber) { this.serialNumber = serialNumber; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getIssuer() { return issuer; }
+    public void setIssuer(String issuer) { this.issuer = issuer; }
+
+    public Long getIssuerCertificateId() { return issuerCertificateId; }
+    public void setIssuerCertificateId(Long issuerCertificateId) { this.issuerCertificateId = issuerCertificateId; }
+
+    public String getCertificateData() { return certificateData; }
+    public void setCertificateData(String certificateData) { this.certificateData = certificateData; }
+
+    public String getExtensions() { return extensions; }
+    public void setExtensions(String extensions) { this.extensions = extensions; }
+
+    public LocalDateTime getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDateTime validFrom) { this.validFrom = validFrom; }
+
+    public LocalDateTime getValidTo() { return validTo; }
+    public void setValidTo(LocalDateTime validTo) { this.validTo = validTo; }
+
+    public CertificateType getType() { return type; }
+    public void setType(CertificateType type) { this.type = type; }
+
+    public CertificateStatus getStatus() { return status; }
+    public void setStatus(CertificateStatus status) { this.status = status; }
+
+    public String getOrganization() { return organization; }
+    public void setOrganization(String organization) { this.organization = organization; }
+
+    public Integer getOwnerId() { return ownerId; }
+    public void setOwnerId(Integer ownerId) { this.ownerId = ownerId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getRevocationDate() { return revocationDate; }
+    public void setRevocationDate(LocalDateTime revocationDate) { this.revocationDate = revocationDate; }
+
+    public RevocationReason getRevocationReason() { return revocationReason; }
+    public void setRevocationReason(RevocationReason revocationReason) { this.revocationReason = revocationReason; }
+
+    public Integer getRevokedById() { return revokedById; }
+    public void setRevokedById(Integer revokedById) { this.revokedById = revokedById; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
@@ -1,10 +1,13 @@
 package com.app.pki_backend.entity.certificates;
 
+import com.app.pki_backend.entity.SequentialId;
 import com.app.pki_backend.entity.user.User;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
@@ -13,12 +16,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "certificates")
+@Table(name = "certificates", indexes = {
+        // keyset pagination for /api/certificates/search
+        @Index(name = "idx_certificates_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_certificates_valid_to_id", columnList = "valid_to, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pki-certificates")
 @Builder
 @AllArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Certificate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -33,9 +43,6 @@ public class Certificate {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String publicKey;
 
-    @Column(columnDefinition = "TEXT")
-    private String encryptedPrivateKey; // EncryptedPrivateKeyInfo in string format
-
     @Column(nullable = false, columnDefinition = "TEXT")
     private String certificateData; // PEM format certificate data
 
@@ -53,20 +60,22 @@ public class Certificate {
     @Column(nullable = false)
     private CertificateStatus status = CertificateStatus.ACTIVE;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
-    @JsonIgnoreProperties({"certificates", "password", "activationCode", "authorities", "accountNonExpired",
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "certificates", "password", "activationCode", "authorities", "accountNonExpired",
             "accountNonLocked", "credentialsNonExpired", "enabled", "suspendedSince"})
     private User owner;
 
     // ИСПРАВЛЕНО: Используем @JsonBackReference для предотвращения циклических ссылок
-    @ManyToOne
+    // Lazy: a chain is loaded explicitly via CertificateRepository.findChain, not by walking proxies
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "issuer_certificate_id")
     @JsonBackReference  // Не сериализуется в JSON при отправке на клиент
     private Certificate issuerCertificate;
 
     // ИСПРАВЛЕНО: Используем @JsonManagedReference + @JsonIgnore для полного игнорирования
-    @OneToMany(mappedBy = "issuerCertificate", cascade = CascadeType.ALL)
+    // Без cascade: операции над CA не должны доходить до всего поддерева
+    @OneToMany(mappedBy = "issuerCertificate")
     @JsonIgnoreProperties({"issuedCertificates", "issuerCertificate", "owner"})
     private List<Certificate> issuedCertificates; // Certificates issued by this certificate
 
@@ -97,9 +106,6 @@ public class Certificate {
     public String getPublicKey() { return publicKey; }
     public void setPublicKey(String publicKey) { this.publicKey = publicKey; }
 
-    public String getEncryptedPrivateKey() { return encryptedPrivateKey; }
-    public void setEncryptedPrivateKey(String encryptedPrivateKey) { this.encryptedPrivateKey = encryptedPrivateKey; }
-
     public String getCertificateData() { return certificateData; }
     public void setCertificateData(String certificateData) { this.certificateData = certificateData; }
 
@@ -0,0 +1,50 @@
+package com.app.pki_backend.entity.certificates;
+
+import com.app.pki_backend.entity.SequentialId;
+import jakarta.persistence.*;
+
+/**
+ * One normalized lookup value (RDN component, SAN entry, fingerprint, key id or serial) of a certificate.
+ * Filled at issuance and by the startup backfill, so search never has to parse the subject DN or PEM.
+ */
+@Entity
+@Table(name = "certificate_identifiers", indexes = {
+        @Index(name = "idx_cert_identifiers_lookup", columnList = "identifier_type, identifier_value, certificate_id"),
+        @Index(name = "idx_cert_identifiers_certificate", columnList = "certificate_id")
+})
+public class CertificateIdentifier {
+    @Id
+    @SequentialId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "certificate_id", nullable = false)
+    private Certificate certificate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "identifier_type", nullable = false, length = 32)
+    private IdentifierType type;
+
+    @Column(name = "identifier_value", nullable = false, length = 1024)
+    private String value;
+
+    public CertificateIdentifier() {}
+
+    public CertificateIdentifier(Certificate certificate, IdentifierType type, String value) {
+        this.certificate = certificate;
+        this.type = type;
+        this.value = value;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Certificate getCertificate() { return certificate; }
+    public void setCertificate(Certificate certificate) { this.certificate = certificate; }
+
+    public IdentifierType getType() { return type; }
+    public void setType(IdentifierType type) { this.type = type; }
+
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+}
@@ -1,5 +1,6 @@
 package com.app.pki_backend.entity.certificates;
 
+import com.app.pki_backend.entity.SequentialId;
 import com.app.pki_backend.entity.user.User;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -15,19 +16,19 @@ import java.time.LocalDateTime;
 @Table(name = "certificate_signing_requests")
 public class CertificateSigningRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
     @NotNull(message = "CSR content is required")
     private String csrContent; // CSR in PEM format
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requested_by", nullable = false)
     @NotNull(message = "Requesting user is required")
     private User requestedBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "selected_ca_id")
     private Certificate selectedCA;
 
@@ -41,7 +42,7 @@ public class CertificateSigningRequest {
     @Column
     private LocalDateTime processedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "issued_certificate_id")
     private Certificate issuedCertificate; // Id of issued certificate if status is ISSUED
 
@@ -1,21 +1,29 @@
 package com.app.pki_backend.entity.certificates;
 
+import com.app.pki_backend.entity.SequentialId;
 import com.app.pki_backend.entity.user.User;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "certificate_templates")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pki-templates")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class CertificateTemplate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ca_issuer_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "issuedCertificates", "owner"})
     private Certificate caIssuer;
 
     @Column(name = "cn_regex")
@@ -33,8 +41,10 @@ public class CertificateTemplate {
     @Column(name = "default_extended_key_usage", columnDefinition = "TEXT")
     private String defaultExtendedKeyUsage; // JSON string
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "certificates", "password", "activationCode",
+            "authorities", "accountNonExpired", "accountNonLocked", "credentialsNonExpired", "enabled", "suspendedSince"})
     private User owner; // CA user, created this template
 
     @Column(nullable = false)
@@ -0,0 +1,49 @@
+package com.app.pki_backend.entity.certificates;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last expiry notice sent for a certificate. nextNoticeAt is when the next (lower) threshold is reached,
+ * so the digest query only returns certificates that actually need a new notice.
+ * Rows are dropped once the certificate's validTo has passed.
+ */
+@Entity
+@Table(name = "expiry_notices", indexes = {
+        @Index(name = "idx_expiry_notices_valid_to", columnList = "valid_to")
+})
+public class ExpiryNotice {
+    @Id
+    @Column(name = "certificate_id")
+    private Long certificateId;
+
+    @Column(name = "valid_to", nullable = false)
+    private LocalDateTime validTo;
+
+    @Column(name = "threshold_days", nullable = false)
+    private int thresholdDays;
+
+    @Column(name = "notified_at", nullable = false)
+    private LocalDateTime notifiedAt;
+
+    @Column(name = "next_notice_at", nullable = false)
+    private LocalDateTime nextNoticeAt;
+
+    public ExpiryNotice() {}
+
+    public Long getCertificateId() { return certificateId; }
+    public void setCertificateId(Long certificateId) { this.certificateId = certificateId; }
+
+    public LocalDateTime getValidTo() { return validTo; }
+    public void setValidTo(LocalDateTime validTo) { this.validTo = validTo; }
+
+    public int getThresholdDays() { return thresholdDays; }
+    public void setThresholdDays(int thresholdDays) { this.thresholdDays = thresholdDays; }
+
+    public LocalDateTime getNotifiedAt() { return notifiedAt; }
+    public void setNotifiedAt(LocalDateTime notifiedAt) { this.notifiedAt = notifiedAt; }
+
+    public LocalDateTime getNextNoticeAt() { return nextNoticeAt; }
+    public void setNextNoticeAt(LocalDateTime nextNoticeAt) { this.nextNoticeAt = nextNoticeAt; }
+}
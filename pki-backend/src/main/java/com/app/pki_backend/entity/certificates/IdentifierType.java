@@ -0,0 +1,69 @@
+package com.app.pki_backend.entity.certificates;
+
+import java.math.BigInteger;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Kinds of searchable values extracted from an issued certificate into {@link CertificateIdentifier}.
+ */
+public enum IdentifierType {
+    // Subject RDN components
+    COMMON_NAME,
+    ORGANIZATION,
+    ORGANIZATIONAL_UNIT,
+    COUNTRY,
+    LOCALITY,
+    STATE,
+    EMAIL,
+
+    // Subject Alternative Name entries
+    SAN_DNS,
+    SAN_EMAIL,
+    SAN_IP,
+    SAN_URI,
+
+    // Hex encoded, lowercase, no separators
+    FINGERPRINT_SHA256,
+    SUBJECT_KEY_ID,
+    // same, without leading zeros (BigInteger form)
+    SERIAL;
+
+    public static final Set<IdentifierType> SAN_TYPES = EnumSet.of(SAN_DNS, SAN_EMAIL, SAN_IP, SAN_URI);
+
+    /**
+     * Canonical form used both when indexing and when searching.
+     * Text is trimmed and lowercased; hex values additionally lose ':' and whitespace separators.
+     * Serials also lose leading zeros: openssl and keytool print whole bytes ("0a1b..."),
+     * the index holds {@link #serialHex(BigInteger)}. Exact and prefix values are treated the same.
+     */
+    public String normalize(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String value = raw.trim().toLowerCase(Locale.ROOT);
+        if (isHex()) {
+            value = value.replaceAll("[:\\s]", "");
+        }
+        if (this == SERIAL && !value.isEmpty()) {
+            try {
+                value = serialHex(new BigInteger(value, 16));
+            } catch (NumberFormatException e) {
+                // not hex: kept as is, matches nothing
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Indexed form of a certificate serial number.
+     */
+    public static String serialHex(BigInteger serial) {
+        return serial.toString(16);
+    }
+
+    private boolean isHex() {
+        return this == FINGERPRINT_SHA256 || this == SUBJECT_KEY_ID || this == SERIAL;
+    }
+}
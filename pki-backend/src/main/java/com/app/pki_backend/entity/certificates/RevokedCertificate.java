@@ -1,6 +1,8 @@
 package com.app.pki_backend.entity.certificates;
 
+import com.app.pki_backend.entity.SequentialId;
 import com.app.pki_backend.entity.user.User;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -8,11 +10,12 @@ import java.time.LocalDateTime;
 @Table(name = "revoked_certificates")
 public class RevokedCertificate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "certificate_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "issuedCertificates", "owner"})
     private Certificate certificate;
 
     @Column(nullable = false)
@@ -22,8 +25,10 @@ public class RevokedCertificate {
     @Column(nullable = false)
     private RevocationReason reason;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "revoked_by", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "certificates", "password", "activationCode",
+            "authorities", "accountNonExpired", "accountNonLocked", "credentialsNonExpired", "enabled", "suspendedSince"})
     private User revokedBy;
 
     public RevokedCertificate() {}
@@ -0,0 +1,67 @@
+package com.app.pki_backend.entity.certificates;
+
+import com.app.pki_backend.entity.SequentialId;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Encrypted private key of a certificate, kept outside the certificates table so that
+ * listing and search never load key material. Read only when signing or exporting.
+ */
+@Entity
+@Table(name = "private_keys")
+public class StoredPrivateKey {
+    @Id
+    @SequentialId
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "certificate_id", nullable = false, unique = true)
+    private Certificate certificate;
+
+    @Column(name = "encrypted_key", nullable = false, columnDefinition = "TEXT")
+    private String encryptedKey; // AES-GCM encrypted PKCS#8, Base64
+
+    @Column(nullable = false, length = 32)
+    private String algorithm; // RSA, EC ...
+
+    @Column(name = "master_key_id", nullable = false)
+    private String masterKeyId; // version of the master key used for encryption
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column
+    private LocalDateTime rotatedAt;
+
+    public StoredPrivateKey() {}
+
+    public StoredPrivateKey(Certificate certificate, String encryptedKey, String algorithm, String masterKeyId) {
+        this.certificate = certificate;
+        this.encryptedKey = encryptedKey;
+        this.algorithm = algorithm;
+        this.masterKeyId = masterKeyId;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Certificate getCertificate() { return certificate; }
+    public void setCertificate(Certificate certificate) { this.certificate = certificate; }
+
+    public String getEncryptedKey() { return encryptedKey; }
+    public void setEncryptedKey(String encryptedKey) { this.encryptedKey = encryptedKey; }
+
+    public String getAlgorithm() { return algorithm; }
+    public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+
+    public String getMasterKeyId() { return masterKeyId; }
+    public void setMasterKeyId(String masterKeyId) { this.masterKeyId = masterKeyId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getRotatedAt() { return rotatedAt; }
+    public void setRotatedAt(LocalDateTime rotatedAt) { this.rotatedAt = rotatedAt; }
+}
@@ -1,5 +1,6 @@
 package com.app.pki_backend.entity.user;
 
+import com.app.pki_backend.entity.SequentialId;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,7 +10,7 @@ import java.util.List;
 public class Organization {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -2,9 +2,12 @@ package com.app.pki_backend.entity.user;
 
 
 import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.SequentialId;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,12 +20,15 @@ import static jakarta.persistence.DiscriminatorType.STRING;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pki-users")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "role", discriminatorType=STRING)
 @DiscriminatorValue("User")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Integer id;
     @Column(nullable = false, unique = true)
     private String email;
@@ -40,7 +46,7 @@ public class User implements UserDetails {
     private String role; // read only
     private LocalDateTime suspendedSince;
 
-    @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "owner")
     @JsonIgnoreProperties({"owner", "issuerCertificate", "issuedCertificates"})
     private List<Certificate> certificates;
 
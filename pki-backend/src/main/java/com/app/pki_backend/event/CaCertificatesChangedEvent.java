@@ -0,0 +1,9 @@
+package com.app.pki_backend.event;
+
+/**
+ * Published when the set of active CA certificates changes (issue, revocation or deletion of a CA).
+ * @param certificateId CA certificate that changed
+ * @param reason short description, e.g. ISSUED or REVOKED
+ */
+public record CaCertificatesChangedEvent(Long certificateId, String reason) {
+}
@@ -0,0 +1,12 @@
+package com.app.pki_backend.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published after a batch of certificates was switched from ACTIVE to EXPIRED.
+ * @param certificateIds ids whose status changed
+ * @param expiredAt time of the status transition
+ */
+public record CertificateExpiredEvent(List<Long> certificateIds, LocalDateTime expiredAt) {
+}
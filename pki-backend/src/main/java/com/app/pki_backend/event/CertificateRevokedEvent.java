@@ -0,0 +1,9 @@
+package com.app.pki_backend.event;
+
+/**
+ * Published after a certificate was revoked; the issuer's CRL is out of date from this point.
+ * @param certificateId revoked certificate
+ * @param issuerId CA whose CRL has to be regenerated, null for a self-signed root
+ */
+public record CertificateRevokedEvent(Long certificateId, Long issuerId) {
+}
@@ -0,0 +1,8 @@
+package com.app.pki_backend.event;
+
+/**
+ * An email was written to the outbox; after commit the dispatcher is woken up instead of waiting for its next poll.
+ * @param messageId outbox row
+ */
+public record MailQueuedEvent(Long messageId) {
+}
@@ -0,0 +1,9 @@
+package com.app.pki_backend.event;
+
+/**
+ * Published after a user was saved (activation, suspension, role or organization change),
+ * so cached principals of that user are dropped.
+ * @param email login of the changed user
+ */
+public record UserChangedEvent(String email) {
+}
@@ -1,9 +1,13 @@
 package com.app.pki_backend.exception;
 
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -14,6 +18,14 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleException(Exception ex) {
+        // Services wrap everything in RuntimeException; an overloaded signing executor is still a 503
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+        if (cause instanceof SigningCapacityException capacity) {
+            return handleSigningCapacity(capacity);
+        }
+        if (cause instanceof TaskRejectedException rejected) {
+            return handleTaskRejected(rejected);
+        }
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("error", ex.getMessage());
@@ -29,4 +41,31 @@ public class GlobalExceptionHandler {
         body.put("httpStatus", HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
+
+    @ExceptionHandler(SigningCapacityException.class)
+    public ResponseEntity<Map<String, Object>> handleSigningCapacity(SigningCapacityException ex) {
+        return serviceUnavailable(ex.getMessage(), 1);
+    }
+
+    // Export executor (ExportExecutorConfig) is saturated; downloads take seconds, so back off a little longer
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskRejected(TaskRejectedException ex) {
+        return serviceUnavailable("Too many downloads in progress, retry later", 5);
+    }
+
+    // Streamed download did not finish within pki.export.timeout-ms; only reaches the client if nothing was written yet
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleAsyncTimeout(AsyncRequestTimeoutException ex) {
+        return serviceUnavailable("Download timed out, retry later", 5);
+    }
+
+    private static ResponseEntity<Map<String, Object>> serviceUnavailable(String message, int retryAfterSeconds) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("error", message);
+        body.put("httpStatus", HttpStatus.SERVICE_UNAVAILABLE.value());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(body);
+    }
 }
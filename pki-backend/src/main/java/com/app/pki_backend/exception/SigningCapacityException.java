@@ -0,0 +1,10 @@
+package com.app.pki_backend.exception;
+
+/**
+ * The signing executor cannot take or finish the operation in time (queue full or wait timeout); maps to 503.
+ */
+public class SigningCapacityException extends RuntimeException {
+    public SigningCapacityException(String message) {
+        super(message);
+    }
+}
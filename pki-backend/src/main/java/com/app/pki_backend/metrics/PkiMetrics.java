@@ -0,0 +1,91 @@
+package com.app.pki_backend.metrics;
+
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.tracing.PkiTracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Timers for the PKI pipeline stages ({@link PkiStage}), tagged with ca, profile and outcome.
+ * Each timer also counts calls, so the Prometheus series *_seconds_count by outcome doubles as
+ * the success/failure counter of the stage. Stages run through {@link #record} also get a span of the
+ * same name, so a slow request can be broken down per stage in its trace.
+ */
+@Component
+public class PkiMetrics {
+
+    public static final String NONE = "none";
+
+    // ca tag of self-signed root issuance
+    public static final String SELF_SIGNED = "self";
+
+    private final MeterRegistry registry;
+
+    private final PkiTracing tracing;
+
+    public PkiMetrics(MeterRegistry registry) {
+        this(registry, PkiTracing.noop());
+    }
+
+    @Autowired
+    public PkiMetrics(MeterRegistry registry, PkiTracing tracing) {
+        this.registry = registry;
+        this.tracing = tracing;
+    }
+
+    @FunctionalInterface
+    public interface CheckedRunnable {
+        void run() throws Exception;
+    }
+
+    public <T> T record(PkiStage stage, String ca, String profile, Callable<T> work) throws Exception {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "failure";
+        try {
+            T result = tracing.inSpan(stage.getMetricName(), ca, profile, work);
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(timer(stage, ca, profile, outcome));
+        }
+    }
+
+    public void run(PkiStage stage, String ca, String profile, CheckedRunnable work) throws Exception {
+        record(stage, ca, profile, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * For callers that time a stage themselves (e.g. a filter that must not throw checked exceptions).
+     */
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, PkiStage stage, String ca, String profile, boolean success) {
+        sample.stop(timer(stage, ca, profile, success ? "success" : "failure"));
+    }
+
+    /**
+     * ca tag: id of the issuing CA certificate; CA ids are few, so the tag stays low-cardinality.
+     */
+    public static String ca(Certificate issuer) {
+        return issuer == null || issuer.getId() == null ? NONE : String.valueOf(issuer.getId());
+    }
+
+    private Timer timer(PkiStage stage, String ca, String profile, String outcome) {
+        return Timer.builder(stage.getMetricName())
+                .description(stage.getDescription())
+                .tag("ca", ca)
+                .tag("profile", profile)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(stage.isPercentileHistogram())
+                .register(registry);
+    }
+}
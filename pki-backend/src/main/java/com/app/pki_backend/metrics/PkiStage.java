@@ -0,0 +1,39 @@
+package com.app.pki_backend.metrics;
+
+/**
+ * Timed stages of the PKI pipeline. Stages on the issuance hot path publish percentile histograms,
+ * so p95/p99 can be computed per CA and profile in Prometheus (histogram_quantile).
+ */
+public enum PkiStage {
+    KEY_GENERATION("pki.keygen", "Key pair generation", true),
+    CA_KEY_DECRYPTION("pki.ca.key.decrypt", "Decryption of the issuing CA private key", true),
+    CSR_PARSING("pki.csr.parse", "CSR parsing and proof-of-possession check", false),
+    CHAIN_VALIDATION("pki.chain.validate", "Issuer chain validation before signing", true),
+    SIGNING("pki.sign", "Certificate signing", true),
+    PERSISTENCE("pki.persist", "Storing the issued certificate, its index and private key", true),
+    KEYSTORE_EXPORT("pki.keystore.export", "PKCS#12 keystore encoding", true),
+    CRL_GENERATION("pki.crl.generate", "CRL generation and signing", false),
+    JWT_VALIDATION("pki.jwt.validate", "Access token validation", true);
+
+    private final String metricName;
+    private final String description;
+    private final boolean percentileHistogram;
+
+    PkiStage(String metricName, String description, boolean percentileHistogram) {
+        this.metricName = metricName;
+        this.description = description;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isPercentileHistogram() {
+        return percentileHistogram;
+    }
+}
@@ -0,0 +1,122 @@
+package com.app.pki_backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gradient concurrency limit: compares a short-term latency average with a slow long-term baseline.
+ * When requests get slower than the baseline (CPU saturated by key generation/signing) the limit
+ * shrinks towards what the machine actually completes; when latency is flat and the limit is in use,
+ * it grows by a small queue allowance. Requests above the limit are shed instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Short-term average over ~10 samples, baseline over ~500
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 500;
+    // Latency up to 2x the baseline is tolerated before the limit shrinks
+    private static final double RTT_TOLERANCE = 2.0;
+    private static final double SMOOTHING = 0.2;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Guarded by this; limit is read without locking on the acquire path
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits of " + name + " must satisfy 1 <= min <= initial <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return in-flight count observed when the slot was taken, or -1 if the request must be shed
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and feeds its latency into the limit.
+     */
+    public void onSuccess(long latencyNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        update(latencyNanos, inFlightAtStart);
+    }
+
+    /**
+     * Releases a slot without a sample (request failed; its latency says nothing about capacity).
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long latencyNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            shortRttNanos = latencyNanos;
+            longRttNanos = latencyNanos;
+            return;
+        }
+        shortRttNanos += (latencyNanos - shortRttNanos) / SHORT_WINDOW;
+        longRttNanos += (latencyNanos - longRttNanos) / LONG_WINDOW;
+
+        // Lets the baseline catch up after a sustained level shift instead of pinning the limit at min
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        // Far below the limit the latency does not tell whether more concurrency would hurt
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRttNanos));
+        double queueAllowance = Math.sqrt(current);
+        double target = current * gradient + queueAllowance;
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
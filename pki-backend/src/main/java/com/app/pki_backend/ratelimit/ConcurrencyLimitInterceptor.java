@@ -0,0 +1,80 @@
+package com.app.pki_backend.ratelimit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sheds issuance and export requests with 503 once the adaptive limit of their endpoint class is
+ * reached, before the controller reaches key generation or signing. The slot is held until the
+ * response is complete, including the async part of streamed exports. The limit learns from the
+ * time the request spent on the signing executor ({@link SigningLatency}); failed and rejected (4xx)
+ * requests and requests that did not sign anything release their slot without a sample.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private record Permit(AdaptiveConcurrencyLimiter limiter, int inFlight, LongAdder signingNanos) {}
+
+    private final ConcurrencyLimiters limiters;
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimiters limiters) {
+        this.limiters = limiters;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), path);
+        AdaptiveConcurrencyLimiter limiter = endpointClass == null ? null : limiters.get(endpointClass);
+        if (limiter == null) {
+            return true;
+        }
+
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, retry later");
+            return false;
+        }
+        Permit permit = new Permit(limiter, inFlight, new LongAdder());
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        SigningLatency.bind(permit.signingNanos());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request thread goes back to the pool; the export thread got the accumulator when the download was submitted
+        SigningLatency.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // Called for the initial dispatch of synchronous requests and for the ASYNC dispatch of streamed ones
+        SigningLatency.unbind();
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        Object attribute = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (!(attribute instanceof Permit permit)) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        long signingNanos = permit.signingNanos().sum();
+        if (ex != null || response.getStatus() >= 400 || signingNanos == 0) {
+            permit.limiter().onIgnore();
+        } else {
+            permit.limiter().onSuccess(signingNanos, permit.inFlight());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.pki_backend.ratelimit;
+
+import com.app.pki_backend.dto.admin.ConcurrencyLimitStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One adaptive limiter per CPU-bound endpoint class; other classes are not concurrency limited.
+ * As a {@link MeterBinder} bean its limits and counters are published to the Micrometer registry.
+ */
+public class ConcurrencyLimiters implements MeterBinder {
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimiters(int initialLimit, int minLimit, int maxLimit, EndpointClass... endpointClasses) {
+        for (EndpointClass endpointClass : endpointClasses) {
+            limiters.put(endpointClass, new AdaptiveConcurrencyLimiter(endpointClass.name(), initialLimit, minLimit, maxLimit));
+        }
+    }
+
+    /**
+     * @return limiter of the class, null if it is not limited
+     */
+    public AdaptiveConcurrencyLimiter get(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    public List<ConcurrencyLimitStats> getStatistics() {
+        return limiters.values().stream()
+                .map(l -> new ConcurrencyLimitStats(l.getName(), l.getLimit(), l.getInFlight(), l.getAccepted(), l.getRejected()))
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limiters.forEach((endpointClass, limiter) -> {
+            String tag = endpointClass.name();
+            Gauge.builder("pki.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("endpoint_class", tag)
+                    .register(registry);
+            Gauge.builder("pki.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently holding a concurrency slot")
+                    .tag("endpoint_class", tag)
+                    .register(registry);
+            FunctionCounter.builder("pki.concurrency.requests", limiter, AdaptiveConcurrencyLimiter::getAccepted)
+                    .description("Requests admitted or shed by the concurrency limit")
+                    .tags("endpoint_class", tag, "outcome", "accepted")
+                    .register(registry);
+            FunctionCounter.builder("pki.concurrency.requests", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .description("Requests admitted or shed by the concurrency limit")
+                    .tags("endpoint_class", tag, "outcome", "rejected")
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.pki_backend.ratelimit;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Groups of endpoints that share one quota. Requests outside these groups are not limited.
+ */
+public enum EndpointClass {
+    /** Key generation + signing: issue/** and CSR upload */
+    ISSUANCE,
+    /** Keystore downloads, bulk export and CRL download */
+    DOWNLOAD,
+    REVOCATION;
+
+    private record Route(HttpMethod method, PathPattern pattern, EndpointClass endpointClass) {}
+
+    private static final List<Route> ROUTES = List.of(
+            route(HttpMethod.POST, "/api/certificates/issue/**", ISSUANCE),
+            route(HttpMethod.POST, "/api/certificates/csr/upload/**", ISSUANCE),
+            route(HttpMethod.GET, "/api/certificates/*/download", DOWNLOAD),
+            route(HttpMethod.GET, "/api/certificates/export", DOWNLOAD),
+            route(HttpMethod.GET, "/api/revocations/crl", DOWNLOAD),
+            route(HttpMethod.POST, "/api/revocations/*/revoke", REVOCATION)
+    );
+
+    /**
+     * @return endpoint class of the request, null if it is not rate limited
+     */
+    public static EndpointClass of(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : ROUTES) {
+            if (route.method().matches(method) && route.pattern().matches(container)) {
+                return route.endpointClass();
+            }
+        }
+        return null;
+    }
+
+    private static Route route(HttpMethod method, String pattern, EndpointClass endpointClass) {
+        return new Route(method, PathPatternParser.defaultInstance.parse(pattern), endpointClass);
+    }
+}
@@ -0,0 +1,54 @@
+package com.app.pki_backend.ratelimit;
+
+import com.app.pki_backend.security.auth.UserPrincipal;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects issuance, download and revocation requests over quota with 429 + Retry-After,
+ * before the controller opens a transaction or generates a key.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // Streamed downloads come back as an ASYNC dispatch; only the original request counts
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), path);
+        if (endpointClass == null) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return true; // security rules answer anonymous callers
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(endpointClass, principal);
+        if (decision.allowed()) {
+            return true;
+        }
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded for "
+                + endpointClass.name().toLowerCase(Locale.ROOT) + " (" + decision.rejectedBy().name().toLowerCase(Locale.ROOT) + " quota)");
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.app.pki_backend.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * pki.rate-limit.*: per endpoint class, one limit per user role and one shared by the whole organization.
+ * A role or organization without a configured limit is not limited for that class.
+ */
+@ConfigurationProperties(prefix = "pki.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<EndpointClass, ClassLimits> limits
+) {
+
+    public RateLimitProperties {
+        limits = limits == null ? Map.of() : Map.copyOf(limits);
+    }
+
+    public record ClassLimits(Map<String, Limit> roles, Limit organization) {
+        public ClassLimits {
+            roles = roles == null ? Map.of() : roles.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(e -> e.getKey().toUpperCase(Locale.ROOT), Map.Entry::getValue));
+        }
+    }
+
+    /**
+     * capacity requests per period, with bursts of up to capacity.
+     */
+    public record Limit(int capacity, Duration period) {}
+
+    public Limit roleLimit(EndpointClass endpointClass, String role) {
+        ClassLimits classLimits = limits.get(endpointClass);
+        return classLimits == null || role == null ? null : classLimits.roles().get(role.toUpperCase(Locale.ROOT));
+    }
+
+    public Limit organizationLimit(EndpointClass endpointClass) {
+        ClassLimits classLimits = limits.get(endpointClass);
+        return classLimits == null ? null : classLimits.organization();
+    }
+}
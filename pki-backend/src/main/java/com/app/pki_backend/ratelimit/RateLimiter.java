@@ -0,0 +1,131 @@
+package com.app.pki_backend.ratelimit;
+
+import com.app.pki_backend.dto.admin.RateLimitClassStats;
+import com.app.pki_backend.dto.admin.RateLimitStatsResponse;
+import com.app.pki_backend.security.auth.UserPrincipal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets per (endpoint class, user) and (endpoint class, organization); a request needs a token
+ * from both. Lookups of existing buckets and the buckets themselves are lock-free; full (idle) buckets
+ * are dropped periodically so the map only holds recently active callers.
+ * As a {@link MeterBinder} bean its decisions per endpoint class are published to the Micrometer registry.
+ */
+public class RateLimiter implements MeterBinder {
+
+    public enum Scope { USER, ORGANIZATION }
+
+    /**
+     * retryAfterNanos is 0 when the request was allowed.
+     */
+    public record Decision(boolean allowed, Scope rejectedBy, long retryAfterNanos) {
+        static final Decision ALLOWED = new Decision(true, null, 0);
+    }
+
+    private record BucketKey(EndpointClass endpointClass, Scope scope, Object id) {}
+
+    private static final class Counters {
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejectedByUser = new LongAdder();
+        final LongAdder rejectedByOrganization = new LongAdder();
+    }
+
+    private final RateLimitProperties properties;
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<EndpointClass, Counters> counters = new EnumMap<>(EndpointClass.class);
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            counters.put(endpointClass, new Counters());
+        }
+    }
+
+    public Decision tryAcquire(EndpointClass endpointClass, UserPrincipal principal) {
+        long now = System.nanoTime();
+        Counters classCounters = counters.get(endpointClass);
+
+        TokenBucket userBucket = bucket(new BucketKey(endpointClass, Scope.USER, principal.id()),
+                properties.roleLimit(endpointClass, principal.role()), now);
+        if (userBucket != null) {
+            long wait = userBucket.tryAcquire(now);
+            if (wait > 0) {
+                classCounters.rejectedByUser.increment();
+                return new Decision(false, Scope.USER, wait);
+            }
+        }
+
+        if (principal.organizationName() != null) {
+            TokenBucket orgBucket = bucket(new BucketKey(endpointClass, Scope.ORGANIZATION, principal.organizationName()),
+                    properties.organizationLimit(endpointClass), now);
+            if (orgBucket != null) {
+                long wait = orgBucket.tryAcquire(now);
+                if (wait > 0) {
+                    if (userBucket != null) {
+                        userBucket.refund();
+                    }
+                    classCounters.rejectedByOrganization.increment();
+                    return new Decision(false, Scope.ORGANIZATION, wait);
+                }
+            }
+        }
+
+        classCounters.allowed.increment();
+        return Decision.ALLOWED;
+    }
+
+    @Scheduled(fixedDelayString = "${pki.rate-limit.eviction-interval-ms:300000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    public RateLimitStatsResponse getStatistics() {
+        List<RateLimitClassStats> classes = new ArrayList<>();
+        counters.forEach((endpointClass, c) -> classes.add(new RateLimitClassStats(endpointClass.name(),
+                c.allowed.sum(), c.rejectedByUser.sum(), c.rejectedByOrganization.sum())));
+        return new RateLimitStatsResponse(properties.enabled(), buckets.size(), classes);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counters.forEach((endpointClass, c) -> {
+            String tag = endpointClass.name();
+            register(registry, tag, "allowed", c.allowed);
+            register(registry, tag, "rejected_user", c.rejectedByUser);
+            register(registry, tag, "rejected_organization", c.rejectedByOrganization);
+        });
+        Gauge.builder("pki.rate_limit.buckets", buckets, Map::size)
+                .description("Token buckets of recently active users and organizations")
+                .register(registry);
+    }
+
+    private static void register(MeterRegistry registry, String endpointClass, String outcome, LongAdder counter) {
+        FunctionCounter.builder("pki.rate_limit.requests", counter, LongAdder::sum)
+                .description("Requests allowed or rejected by the rate limiter")
+                .tags("endpoint_class", endpointClass, "outcome", outcome)
+                .register(registry);
+    }
+
+    private TokenBucket bucket(BucketKey key, RateLimitProperties.Limit limit, long now) {
+        if (limit == null) {
+            return null;
+        }
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.period().toNanos(), now));
+    }
+}
@@ -0,0 +1,53 @@
+package com.app.pki_backend.ratelimit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time a request spent on the signing executor (queue wait + execution). This is the latency the
+ * adaptive concurrency limit reacts to; the request as a whole also contains database work and, for
+ * streamed downloads, the client's read speed.
+ * <p>
+ * {@link ConcurrencyLimitInterceptor} binds an accumulator to the request thread; streamed downloads
+ * carry it to their export thread with {@link #propagate(Runnable)}.
+ */
+public final class SigningLatency {
+
+    private static final ThreadLocal<LongAdder> CURRENT = new ThreadLocal<>();
+
+    private SigningLatency() {
+    }
+
+    /**
+     * Adds to the request bound to this thread; no-op for scheduled jobs and unlimited endpoints.
+     */
+    public static void record(long nanos) {
+        LongAdder accumulator = CURRENT.get();
+        if (accumulator != null) {
+            accumulator.add(nanos);
+        }
+    }
+
+    public static Runnable propagate(Runnable work) {
+        LongAdder captured = CURRENT.get();
+        if (captured == null) {
+            return work;
+        }
+        return () -> {
+            LongAdder previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                work.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    static void bind(LongAdder accumulator) {
+        CURRENT.set(accumulator);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+}
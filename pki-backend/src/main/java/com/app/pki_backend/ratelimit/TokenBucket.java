@@ -0,0 +1,57 @@
+package com.app.pki_backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time"
+ * (nanos) in an AtomicLong. A request that fits advances it by one emission interval with a
+ * single CAS; when traffic is under the limit that CAS is the only cost.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    // capacity * emission interval: how far the TAT may run ahead of now
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, long periodNanos, long nowNanos) {
+        if (capacity <= 0 || periodNanos <= 0) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     * @return 0 if allowed, otherwise nanos until a token becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - burstNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by tryAcquire (a second bucket rejected the same request).
+     */
+    public void refund() {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos);
+    }
+
+    /**
+     * @return true if the bucket is full again, i.e. it can be dropped and recreated without changing behavior
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
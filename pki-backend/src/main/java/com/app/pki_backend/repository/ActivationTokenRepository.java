@@ -2,6 +2,7 @@ package com.app.pki_backend.repository;
 
 import com.app.pki_backend.entity.ActivationToken;
 import com.app.pki_backend.entity.certificates.Certificate;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -10,5 +11,6 @@ import java.util.Optional;
 
 @Repository
 public interface ActivationTokenRepository extends JpaRepository<ActivationToken, Long>, JpaSpecificationExecutor<Certificate> {
+    @EntityGraph(attributePaths = {"user"})
     Optional<ActivationToken> findByToken(String token);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.entity.certificates.ArchivedCertificate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedCertificateRepository extends JpaRepository<ArchivedCertificate, Long>,
+        BatchWriteRepository<ArchivedCertificate> {
+
+    Optional<ArchivedCertificate> findBySerialNumber(BigInteger serialNumber);
+}
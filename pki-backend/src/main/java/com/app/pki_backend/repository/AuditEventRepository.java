@@ -0,0 +1,45 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.entity.AuditEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    // Chain head, read by the writer in the transaction that appends the next batch
+    Optional<AuditEvent> findTopByOrderByIdDesc();
+
+    /**
+     * Newest first within [from, to), keyset cursor (beforeOccurredAt, beforeId); idx_audit_events_occurred_at.
+     */
+    @Query("SELECT e FROM AuditEvent e WHERE e.occurredAt >= :from AND e.occurredAt < :to " +
+            "AND (e.occurredAt < :beforeOccurredAt OR (e.occurredAt = :beforeOccurredAt AND e.id < :beforeId)) " +
+            "ORDER BY e.occurredAt DESC, e.id DESC")
+    List<AuditEvent> findPage(@Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to,
+                              @Param("beforeOccurredAt") LocalDateTime beforeOccurredAt,
+                              @Param("beforeId") Long beforeId,
+                              Pageable pageable);
+
+    // Same for one actor; idx_audit_events_actor
+    @Query("SELECT e FROM AuditEvent e WHERE e.actor = :actor AND e.occurredAt >= :from AND e.occurredAt < :to " +
+            "AND (e.occurredAt < :beforeOccurredAt OR (e.occurredAt = :beforeOccurredAt AND e.id < :beforeId)) " +
+            "ORDER BY e.occurredAt DESC, e.id DESC")
+    List<AuditEvent> findPageByActor(@Param("actor") String actor,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("beforeOccurredAt") LocalDateTime beforeOccurredAt,
+                                     @Param("beforeId") Long beforeId,
+                                     Pageable pageable);
+
+    // Chain verification walks the table in id order
+    List<AuditEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+}
@@ -0,0 +1,19 @@
+package com.app.pki_backend.repository;
+
+import java.util.List;
+
+/**
+ * Repository fragment for bulk inserts. Relies on ids assigned before the insert ({@link com.app.pki_backend.entity.SequentialId}) and
+ * hibernate.jdbc.batch_size so each flush sends the rows as JDBC batches.
+ * @param <T> entity type
+ */
+public interface BatchWriteRepository<T> {
+
+    /**
+     * Persist new entities, flushing and detaching them every batch so memory stays flat for large imports.
+     * Entities are detached once this returns; do not modify them afterwards.
+     * @param entities new (transient) entities
+     * @return the same entities with ids assigned
+     */
+    List<T> persistInBatches(Iterable<T> entities);
+}
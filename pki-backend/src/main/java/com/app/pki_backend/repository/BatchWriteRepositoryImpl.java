@@ -0,0 +1,45 @@
+package com.app.pki_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchWriteRepositoryImpl<T> implements BatchWriteRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public List<T> persistInBatches(Iterable<T> entities) {
+        List<T> persisted = new ArrayList<>();
+        List<T> pending = new ArrayList<>(batchSize);
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            persisted.add(entity);
+            pending.add(entity);
+            if (pending.size() == batchSize) {
+                flushAndDetach(pending);
+            }
+        }
+        flushAndDetach(pending);
+        return persisted;
+    }
+
+    // Detach only what this call persisted; the caller's other managed entities stay attached
+    private void flushAndDetach(List<T> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        pending.forEach(entityManager::detach);
+        pending.clear();
+    }
+}
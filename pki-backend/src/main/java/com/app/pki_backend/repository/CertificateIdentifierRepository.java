@@ -0,0 +1,32 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.entity.certificates.CertificateIdentifier;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CertificateIdentifierRepository extends JpaRepository<CertificateIdentifier, Long>,
+        BatchWriteRepository<CertificateIdentifier> {
+
+    @Modifying
+    @Query("DELETE FROM CertificateIdentifier i WHERE i.certificate.id = :certificateId")
+    void deleteByCertificateId(@Param("certificateId") Long certificateId);
+
+    @Modifying
+    @Query("DELETE FROM CertificateIdentifier i WHERE i.certificate.id IN :certificateIds")
+    int deleteByCertificateIds(@Param("certificateIds") Collection<Long> certificateIds);
+
+    /**
+     * Certificates that have no lookup rows yet (issued before the index existed).
+     */
+    @Query("SELECT c.id FROM Certificate c WHERE c.id > :afterId AND NOT EXISTS " +
+            "(SELECT 1 FROM CertificateIdentifier i WHERE i.certificate.id = c.id) ORDER BY c.id")
+    List<Long> findUnindexedCertificateIds(@Param("afterId") Long afterId, Pageable pageable);
+}
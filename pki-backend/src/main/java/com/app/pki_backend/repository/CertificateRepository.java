@@ -1,13 +1,18 @@
 package com.app.pki_backend.repository;
 
+import com.app.pki_backend.dto.certificate.CertificateSummary;
 import com.app.pki_backend.entity.certificates.Certificate;
 import com.app.pki_backend.entity.certificates.CertificateStatus;
 import com.app.pki_backend.entity.certificates.CertificateType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,11 +20,13 @@ import org.springframework.data.domain.Pageable;
 
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CertificateRepository extends JpaRepository<Certificate, Long>, JpaSpecificationExecutor<Certificate> {
+public interface CertificateRepository extends JpaRepository<Certificate, Long>, JpaSpecificationExecutor<Certificate>,
+        CertificateRepositoryCustom, BatchWriteRepository<Certificate> {
 
     Optional<Certificate> findByTypeAndStatus(CertificateType type, CertificateStatus status);
 
@@ -29,9 +36,68 @@ public interface CertificateRepository extends JpaRepository<Certificate, Long>,
 
     List<Certificate> findByOwnerId(Integer ownerId);
 
+    // === Summary projections for listings (no PEM, keys or associations loaded) ===
+
+    String SUMMARY_SELECT = "SELECT new com.app.pki_backend.dto.certificate.CertificateSummary(" +
+            "c.id, c.serialNumber, c.subject, c.issuer, c.issuerCertificate.id, c.type, c.status, " +
+            "c.validFrom, c.validTo, c.organization, c.owner.id, c.createdAt) FROM Certificate c ";
+
+    @Query(SUMMARY_SELECT + "ORDER BY c.id")
+    List<CertificateSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE c.organization = :organization ORDER BY c.id")
+    List<CertificateSummary> findSummariesByOrganization(@Param("organization") String organization);
+
+    @Query(SUMMARY_SELECT + "WHERE c.owner.id = :ownerId ORDER BY c.id")
+    List<CertificateSummary> findSummariesByOwnerId(@Param("ownerId") Integer ownerId);
+
+    // === Fetch plans (all associations are lazy; each path loads only what it renders) ===
+
+    // Detail view: owner and directly issued certificates in one statement
+    @EntityGraph(attributePaths = {"owner", "issuedCertificates"})
+    Optional<Certificate> findDetailedById(Long id);
+
+    boolean existsByIssuerCertificateId(Long issuerCertificateId);
+
+    // === Expiry scanning (served by the (valid_to, id) index) ===
+
+    // from == null on the first run: everything that is already past validTo
+    @Query("SELECT c.id FROM Certificate c WHERE c.validTo <= :to AND (:from IS NULL OR c.validTo > :from) " +
+            "AND c.status = com.app.pki_backend.entity.certificates.CertificateStatus.ACTIVE ORDER BY c.validTo, c.id")
+    List<Long> findNewlyExpiredIds(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                   Pageable pageable);
+
+    // Bulk update: Hibernate invalidates the certificate cache region and dependent cached queries
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Certificate c SET c.status = com.app.pki_backend.entity.certificates.CertificateStatus.EXPIRED " +
+            "WHERE c.id IN :ids AND c.status = com.app.pki_backend.entity.certificates.CertificateStatus.ACTIVE")
+    int markExpired(@Param("ids") Collection<Long> ids);
+
+    // === Archival (cold storage of end-entity certificates past retention) ===
+
+    @Query("SELECT c.id FROM Certificate c WHERE c.validTo < :cutoff " +
+            "AND c.type = com.app.pki_backend.entity.certificates.CertificateType.END_ENTITY ORDER BY c.validTo, c.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT c FROM Certificate c WHERE c.id IN :ids")
+    List<Certificate> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // clears the persistence context so archived certificates are not served from it afterwards
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Certificate c WHERE c.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "pki-query-ca-certificates")
+    })
     @Query("SELECT c FROM Certificate c WHERE c.type IN (com.app.pki_backend.entity.certificates.CertificateType.ROOT_CA, com.app.pki_backend.entity.certificates.CertificateType.INTERMEDIATE_CA) AND c.status = com.app.pki_backend.entity.certificates.CertificateStatus.ACTIVE")
     List<Certificate> findActiveCaCertificates();
 
+    // Every CA regardless of status: AIA URLs in already issued certificates must keep resolving
+    @Query("SELECT c FROM Certificate c WHERE c.type <> com.app.pki_backend.entity.certificates.CertificateType.END_ENTITY")
+    List<Certificate> findAllCaCertificates();
+
     @Query("SELECT c FROM Certificate c WHERE c.validTo <= :expirationDate AND c.status = 'ACTIVE'")
     List<Certificate> findExpiringCertificates(@Param("expirationDate") LocalDateTime expirationDate);
 
@@ -49,5 +115,9 @@ public interface CertificateRepository extends JpaRepository<Certificate, Long>,
 
     boolean existsBySerialNumber(BigInteger serialNumber);
 
+    // Upper bound that keeps the pages of one export on the same set of rows
+    @Query("SELECT MAX(c.id) FROM Certificate c")
+    Optional<Long> findMaxId();
+
     Page<Certificate> findAll(Specification<Certificate> and, Pageable pageable);
 }
@@ -0,0 +1,56 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.dto.certificate.CertificateExportRow;
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.util.SearchCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom queries for {@link CertificateRepository} that project straight into read models.
+ */
+public interface CertificateRepositoryCustom {
+
+    /**
+     * Keyset search: rows strictly after the cursor in (sortKey, id) order, selecting only summary columns.
+     * Cost does not depend on how deep the caller has paged.
+     * @param spec filter, may be null
+     * @param sortKey ordering column
+     * @param after position of the last row already returned, null for the first page
+     * @param limit maximum number of rows
+     * @return summaries in keyset order
+     */
+    List<CertificateSummary> searchSummaries(Specification<Certificate> spec, CertificateSortKey sortKey,
+                                             SearchCursor after, int limit);
+
+    /**
+     * Count rows matching the filter. Only used when the caller explicitly asks for a total.
+     */
+    long countMatching(Specification<Certificate> spec);
+
+    /**
+     * Load a certificate and all of its issuers with two statements
+     * (recursive id lookup + one IN query) instead of one lazy load per level.
+     * @param leafId id of the certificate the chain starts from
+     * @return certificates ordered leaf first, root last; empty if the id does not exist
+     */
+    List<Certificate> findChain(Long leafId);
+
+    /**
+     * One keyset page of export rows in id order. Each call is a single short query, so a
+     * long export does not keep a read transaction open between pages.
+     * @param spec filter, may be null
+     * @param afterId last id of the previous page, null for the first page
+     * @param maxId highest id to include
+     * @param limit page size
+     */
+    List<CertificateExportRow> findExportRowsPage(Specification<Certificate> spec, Long afterId, Long maxId, int limit);
+
+    /**
+     * One keyset page of summaries, same contract as {@link #findExportRowsPage}.
+     */
+    List<CertificateSummary> findSummariesPage(Specification<Certificate> spec, Long afterId, Long maxId, int limit);
+}
@@ -0,0 +1,182 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.dto.certificate.CertificateExportRow;
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.util.SearchCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CertificateRepositoryCustomImpl implements CertificateRepositoryCustom {
+
+    // Same limit as CertificateChainValidationService; protects against issuer cycles
+    private static final int MAX_CHAIN_DEPTH = 10;
+
+    // Self-signed roots point either to nothing or to themselves
+    private static final String CHAIN_IDS_SQL =
+            "WITH RECURSIVE chain(id, issuer_id, depth) AS (" +
+            "  SELECT id, issuer_certificate_id, 0 FROM certificates WHERE id = :id" +
+            "  UNION ALL" +
+            "  SELECT c.id, c.issuer_certificate_id, chain.depth + 1 FROM certificates c" +
+            "  JOIN chain ON c.id = chain.issuer_id" +
+            "  WHERE chain.issuer_id <> chain.id AND chain.depth < :maxDepth" +
+            ") SELECT id, depth FROM chain";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CertificateSummary> searchSummaries(Specification<Certificate> spec, CertificateSortKey sortKey,
+                                                    SearchCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<CertificateSummary> query = cb.createQuery(CertificateSummary.class);
+        Root<Certificate> root = query.from(Certificate.class);
+        query.select(summaryOf(cb, root));
+
+        Path<LocalDateTime> key = root.get(sortKey.getAttribute());
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (after != null) {
+            // (key, id) > (k, i) for ascending, < for descending; served by the (key, id) index
+            predicates.add(sortKey.isDescending()
+                    ? cb.or(cb.lessThan(key, after.value()),
+                            cb.and(cb.equal(key, after.value()), cb.lessThan(id, after.id())))
+                    : cb.or(cb.greaterThan(key, after.value()),
+                            cb.and(cb.equal(key, after.value()), cb.greaterThan(id, after.id()))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(sortKey.isDescending()
+                ? List.of(cb.desc(key), cb.desc(id))
+                : List.of(cb.asc(key), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countMatching(Specification<Certificate> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Certificate> root = query.from(Certificate.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<CertificateExportRow> findExportRowsPage(Specification<Certificate> spec, Long afterId, Long maxId,
+                                                         int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CertificateExportRow> query = cb.createQuery(CertificateExportRow.class);
+        Root<Certificate> root = query.from(Certificate.class);
+        query.select(cb.construct(CertificateExportRow.class,
+                root.get("id"),
+                root.get("serialNumber"),
+                root.get("issuerCertificate").get("id"),
+                root.get("certificateData")));
+        return page(spec, afterId, maxId, limit, query, root, cb);
+    }
+
+    @Override
+    public List<CertificateSummary> findSummariesPage(Specification<Certificate> spec, Long afterId, Long maxId,
+                                                      int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CertificateSummary> query = cb.createQuery(CertificateSummary.class);
+        Root<Certificate> root = query.from(Certificate.class);
+        query.select(summaryOf(cb, root));
+        return page(spec, afterId, maxId, limit, query, root, cb);
+    }
+
+    private <T> List<T> page(Specification<Certificate> spec, Long afterId, Long maxId, int limit,
+                             CriteriaQuery<T> query, Root<Certificate> root, CriteriaBuilder cb) {
+        Path<Long> id = root.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(id, afterId));
+        }
+        predicates.add(cb.lessThanOrEqualTo(id, maxId));
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultList();
+    }
+
+    // owner.id / issuerCertificate.id resolve to the FK columns, no join is added
+    static CompoundSelection<CertificateSummary> summaryOf(CriteriaBuilder cb, Root<Certificate> root) {
+        return cb.construct(CertificateSummary.class,
+                root.get("id"),
+                root.get("serialNumber"),
+                root.get("subject"),
+                root.get("issuer"),
+                root.get("issuerCertificate").get("id"),
+                root.get("type"),
+                root.get("status"),
+                root.get("validFrom"),
+                root.get("validTo"),
+                root.get("organization"),
+                root.get("owner").get("id"),
+                root.get("createdAt"));
+    }
+
+    @Override
+    public List<Certificate> findChain(Long leafId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(CHAIN_IDS_SQL)
+                .setParameter("id", leafId)
+                .setParameter("maxDepth", MAX_CHAIN_DEPTH)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> depthById = rows.stream().collect(Collectors.toMap(
+                row -> ((Number) row[0]).longValue(),
+                row -> ((Number) row[1]).intValue(),
+                Math::min));
+
+        // getResultList, not a stream: outside a transaction the shared EntityManager is closed
+        // as soon as the query returns, which would leave the stream empty
+        Map<Long, Certificate> byId = entityManager
+                .createQuery("SELECT c FROM Certificate c WHERE c.id IN :ids", Certificate.class)
+                .setParameter("ids", depthById.keySet())
+                .getResultList().stream()
+                .collect(Collectors.toMap(Certificate::getId, Function.identity()));
+
+        return depthById.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(entry -> byId.get(entry.getKey()))
+                .toList();
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.entity.certificates.CertificateSigningRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface CertificateSigningRequestRepository extends JpaRepository<CertificateSigningRequest, Long> {
+
+    // The request keeps its status; the certificate itself moves to archived_certificates under the same id
+    @Modifying
+    @Query("UPDATE CertificateSigningRequest r SET r.issuedCertificate = null WHERE r.issuedCertificate.id IN :certificateIds")
+    int detachIssuedCertificates(@Param("certificateIds") Collection<Long> certificateIds);
+}
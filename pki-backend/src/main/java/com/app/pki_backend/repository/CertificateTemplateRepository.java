@@ -1,9 +1,29 @@
 package com.app.pki_backend.repository;
 
 import com.app.pki_backend.entity.certificates.CertificateTemplate;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CertificateTemplateRepository extends JpaRepository<CertificateTemplate, Long> {
+
+    // Listing renders the issuing CA and the owner of every template
+    @Override
+    @EntityGraph(attributePaths = {"caIssuer", "owner"})
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "pki-query-templates")
+    })
+    List<CertificateTemplate> findAll();
+
+    // Issuing from a template always needs the CA certificate
+    @Override
+    @EntityGraph(attributePaths = {"caIssuer"})
+    Optional<CertificateTemplate> findById(Long id);
 }
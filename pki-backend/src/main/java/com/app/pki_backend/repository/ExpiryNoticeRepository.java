@@ -0,0 +1,53 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.dto.certificate.ExpiringCertificateRow;
+import com.app.pki_backend.entity.certificates.ExpiryNotice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExpiryNoticeRepository extends JpaRepository<ExpiryNotice, Long> {
+
+    /**
+     * ACTIVE certificates with validTo in (now, until] that were never notified or reached their next threshold.
+     * Range scan of idx_certificates_valid_to_id with a keyset cursor (afterValidTo, afterId).
+     */
+    @Query("SELECT new com.app.pki_backend.dto.certificate.ExpiringCertificateRow(" +
+            "c.id, c.serialNumber, c.subject, c.validTo, c.organization, o.email) " +
+            "FROM Certificate c LEFT JOIN c.owner o LEFT JOIN ExpiryNotice n ON n.certificateId = c.id " +
+            "WHERE c.validTo > :now AND c.validTo <= :until " +
+            "AND c.status = com.app.pki_backend.entity.certificates.CertificateStatus.ACTIVE " +
+            "AND (c.validTo > :afterValidTo OR (c.validTo = :afterValidTo AND c.id > :afterId)) " +
+            "AND (n.certificateId IS NULL OR n.nextNoticeAt <= :now) " +
+            "ORDER BY c.validTo, c.id")
+    List<ExpiringCertificateRow> findDueForNotice(@Param("now") LocalDateTime now,
+                                                  @Param("until") LocalDateTime until,
+                                                  @Param("afterValidTo") LocalDateTime afterValidTo,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expiry_notices"))
+    @Query(value = "INSERT INTO expiry_notices (certificate_id, valid_to, threshold_days, notified_at, next_notice_at) " +
+            "VALUES (:certificateId, :validTo, :thresholdDays, :notifiedAt, :nextNoticeAt) " +
+            "ON CONFLICT(certificate_id) DO UPDATE SET threshold_days = excluded.threshold_days, " +
+            "notified_at = excluded.notified_at, next_notice_at = excluded.next_notice_at, valid_to = excluded.valid_to",
+            nativeQuery = true)
+    int upsert(@Param("certificateId") Long certificateId, @Param("validTo") LocalDateTime validTo,
+               @Param("thresholdDays") int thresholdDays, @Param("notifiedAt") LocalDateTime notifiedAt,
+               @Param("nextNoticeAt") LocalDateTime nextNoticeAt);
+
+    @Modifying
+    @Query("DELETE FROM ExpiryNotice n WHERE n.validTo <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
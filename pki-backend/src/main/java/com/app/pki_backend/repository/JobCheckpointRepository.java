@@ -0,0 +1,9 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
@@ -0,0 +1,30 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.entity.certificates.StoredPrivateKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface PrivateKeyRepository extends JpaRepository<StoredPrivateKey, Long>,
+        BatchWriteRepository<StoredPrivateKey> {
+
+    @Query("SELECT k FROM StoredPrivateKey k WHERE k.certificate.id = :certificateId")
+    Optional<StoredPrivateKey> findByCertificateId(@Param("certificateId") Long certificateId);
+
+    @Query("SELECT COUNT(k) > 0 FROM StoredPrivateKey k WHERE k.certificate.id = :certificateId")
+    boolean existsByCertificateId(@Param("certificateId") Long certificateId);
+
+    @Modifying
+    @Query("DELETE FROM StoredPrivateKey k WHERE k.certificate.id = :certificateId")
+    void deleteByCertificateId(@Param("certificateId") Long certificateId);
+
+    @Modifying
+    @Query("DELETE FROM StoredPrivateKey k WHERE k.certificate.id IN :certificateIds")
+    int deleteByCertificateIds(@Param("certificateIds") Collection<Long> certificateIds);
+}
@@ -2,14 +2,52 @@ package com.app.pki_backend.repository;
 
 import com.app.pki_backend.entity.RefreshToken;
 import com.app.pki_backend.entity.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
+    // Refresh always issues a new access token for the user
+    @EntityGraph(attributePaths = {"user"})
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
-    void deleteByUser(User user);
-}
\ No newline at end of file
+    /**
+     * Login: replaces the user's token in a single statement instead of delete + insert.
+     * The native spaces hint keeps Hibernate from invalidating every second-level cache region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "INSERT INTO refresh_tokens (user_id, token_hash, expires_at) VALUES (:userId, :tokenHash, :expiresAt) " +
+            "ON CONFLICT(user_id) DO UPDATE SET token_hash = excluded.token_hash, expires_at = excluded.expires_at",
+            nativeQuery = true)
+    int upsert(@Param("userId") Integer userId, @Param("tokenHash") String tokenHash, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Refresh: swaps the hash only if the presented token is still the current, unexpired one.
+     * 0 means it was already rotated, revoked by logout or expired.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.tokenHash = :newHash, t.expiresAt = :expiresAt " +
+            "WHERE t.tokenHash = :oldHash AND t.expiresAt > :now")
+    int rotate(@Param("oldHash") String oldHash, @Param("newHash") String newHash,
+               @Param("expiresAt") long expiresAt, @Param("now") long now);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "DELETE FROM refresh_tokens WHERE user_id IN " +
+            "(SELECT user_id FROM refresh_tokens WHERE expires_at <= :now LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") long now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user = :user")
+    void deleteByUser(@Param("user") User user);
+}
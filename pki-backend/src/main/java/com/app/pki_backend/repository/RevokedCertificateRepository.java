@@ -1,10 +1,34 @@
 package com.app.pki_backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 
 import com.app.pki_backend.entity.certificates.RevokedCertificate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface RevokedCertificateRepository extends JpaRepository<RevokedCertificate, Long> {
+public interface RevokedCertificateRepository extends JpaRepository<RevokedCertificate, Long>,
+        BatchWriteRepository<RevokedCertificate> {
+
+    // Revocation list shows the certificate and who revoked it
+    @Override
+    @EntityGraph(attributePaths = {"certificate", "revokedBy"})
+    List<RevokedCertificate> findAll();
+
+    // CRL entries of one issuer; the certificate is needed for its serial number
+    @Query("SELECT r FROM RevokedCertificate r JOIN FETCH r.certificate c WHERE c.issuerCertificate.id = :issuerId")
+    List<RevokedCertificate> findByIssuerId(@Param("issuerId") Long issuerId);
+
+    @Query("SELECT r FROM RevokedCertificate r WHERE r.certificate.id IN :certificateIds")
+    List<RevokedCertificate> findByCertificateIds(@Param("certificateIds") Collection<Long> certificateIds);
+
+    @Modifying
+    @Query("DELETE FROM RevokedCertificate r WHERE r.certificate.id IN :certificateIds")
+    int deleteByCertificateIds(@Param("certificateIds") Collection<Long> certificateIds);
 }
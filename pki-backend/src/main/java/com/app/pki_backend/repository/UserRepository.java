@@ -1,12 +1,26 @@
 package com.app.pki_backend.repository;
 
 import com.app.pki_backend.entity.user.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
+
+    // Called for every authenticated request; results come from the second-level cache
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "pki-query-users")
+    })
     Optional<User> findByEmail(String email);
+
+    // Recipients for notices about certificates without an owner
+    @Query("SELECT a.email FROM Admin a WHERE a.isActive = true")
+    List<String> findActiveAdminEmails();
 }
@@ -0,0 +1,58 @@
+package com.app.pki_backend.scheduling;
+
+import com.app.pki_backend.service.interfaces.CertificateArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Nightly move of end-entity certificates whose validity ended more than the retention window ago
+ * into the archive. Each batch is its own transaction; a run stops after max-batches-per-run so
+ * a large backlog is drained over several nights instead of holding the database for long.
+ */
+@Component
+public class CertificateArchivalJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateArchivalJob.class);
+
+    @Autowired
+    private CertificateArchiveService certificateArchiveService;
+
+    @Value("${pki.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pki.archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${pki.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${pki.archive.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${pki.archive.cron:0 30 3 * * *}")
+    public void archiveExpired() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int archived = certificateArchiveService.archiveBatch(cutoff, batchSize);
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Archived {} certificate(s) that expired before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.app.pki_backend.scheduling;
+
+import com.app.pki_backend.dto.certificate.ExpiryBatchResult;
+import com.app.pki_backend.entity.JobCheckpoint;
+import com.app.pki_backend.repository.JobCheckpointRepository;
+import com.app.pki_backend.service.interfaces.CertificateExpiryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Incremental expiry scan: each run only looks at certificates whose validTo passed since the
+ * previous run (watermark in job_checkpoints) and flips them to EXPIRED in batches.
+ * The first run has no watermark and catches up on everything already expired.
+ */
+@Component
+public class CertificateExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateExpiryJob.class);
+
+    static final String JOB_NAME = "certificate-expiry";
+
+    @Autowired
+    private CertificateExpiryService certificateExpiryService;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Value("${pki.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pki.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${pki.expiry.initial-delay-ms:10000}",
+            fixedDelayString = "${pki.expiry.scan-interval-ms:60000}")
+    public void scan() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime from = jobCheckpointRepository.findById(JOB_NAME)
+                .map(JobCheckpoint::getCheckpoint)
+                .orElse(null);
+        LocalDateTime to = LocalDateTime.now();
+
+        int total = 0;
+        ExpiryBatchResult batch;
+        // Selected rows leave the ACTIVE filter (expired or changed concurrently), so the next batch is
+        // again the first page. Stop on a short selection, not a short update: rows revoked between
+        // select and update lower the update count while more expired rows may still be waiting
+        do {
+            batch = certificateExpiryService.expireBatch(from, to, batchSize);
+            total += batch.expired();
+        } while (batch.selected() == batchSize);
+
+        jobCheckpointRepository.save(new JobCheckpoint(JOB_NAME, to));
+        if (total > 0) {
+            log.info("Marked {} certificate(s) as EXPIRED (validTo up to {})", total, to);
+        }
+    }
+}
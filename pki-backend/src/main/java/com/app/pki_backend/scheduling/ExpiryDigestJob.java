@@ -0,0 +1,27 @@
+package com.app.pki_backend.scheduling;
+
+import com.app.pki_backend.service.interfaces.ExpiryDigestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Daily expiry digest. Reruns are cheap: certificates already notified for their current threshold are skipped.
+ */
+@Component
+public class ExpiryDigestJob {
+
+    @Autowired
+    private ExpiryDigestService expiryDigestService;
+
+    @Value("${pki.expiry-digest.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(cron = "${pki.expiry-digest.cron:0 0 7 * * *}")
+    public void run() {
+        if (enabled) {
+            expiryDigestService.sendDigests();
+        }
+    }
+}
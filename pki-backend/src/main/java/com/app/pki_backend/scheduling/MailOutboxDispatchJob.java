@@ -0,0 +1,34 @@
+package com.app.pki_backend.scheduling;
+
+import com.app.pki_backend.service.interfaces.MailOutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodic pass over the mail outbox. New messages are sent right after commit; this picks up
+ * retries whose backoff has elapsed and anything left behind by a restart.
+ */
+@Component
+public class MailOutboxDispatchJob {
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Value("${pki.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${pki.mail.outbox.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(initialDelayString = "${pki.mail.outbox.poll-interval-ms:15000}",
+            fixedDelayString = "${pki.mail.outbox.poll-interval-ms:15000}")
+    public void dispatch() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (mailOutboxService.dispatchBatch(batchSize) < batchSize) {
+                break;
+            }
+        }
+    }
+}
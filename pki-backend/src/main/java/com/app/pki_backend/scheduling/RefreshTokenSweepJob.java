@@ -0,0 +1,44 @@
+package com.app.pki_backend.scheduling;
+
+import com.app.pki_backend.service.interfaces.RefreshTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes expired refresh tokens. Each batch is a short transaction of its own so the sweep never
+ * holds the SQLite write lock long enough to stall logins.
+ */
+@Component
+public class RefreshTokenSweepJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenSweepJob.class);
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Value("${pki.refresh-token.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Value("${pki.refresh-token.sweep-max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(initialDelayString = "${pki.refresh-token.sweep-interval-ms:3600000}",
+            fixedDelayString = "${pki.refresh-token.sweep-interval-ms:3600000}")
+    public void sweep() {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted = refreshTokenService.purgeExpired(batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Deleted {} expired refresh token(s)", total);
+        }
+    }
+}
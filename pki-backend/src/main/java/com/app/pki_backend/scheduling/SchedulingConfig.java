@@ -0,0 +1,12 @@
+package com.app.pki_backend.scheduling;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs in this package (archival, expiry scanning, ...).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
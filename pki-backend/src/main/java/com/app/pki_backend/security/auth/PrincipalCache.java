@@ -0,0 +1,54 @@
+package com.app.pki_backend.security.auth;
+
+import com.app.pki_backend.event.UserChangedEvent;
+import com.app.pki_backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of {@link UserPrincipal}s by email. Authenticated requests only hit the users table
+ * once per user and TTL; saving a user evicts its entry right after commit, and the TTL bounds
+ * staleness for changes made outside UserService.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, UserPrincipal> principals;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${pki.security.principal-cache-ttl-seconds:60}") long ttlSeconds,
+                          @Value("${pki.security.principal-cache-max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * @return cached or freshly loaded principal, null if no user has this email (not cached)
+     */
+    public UserPrincipal get(String email) {
+        return principals.get(email, key -> userRepository.findByEmail(key).map(UserPrincipal::of).orElse(null));
+    }
+
+    public void invalidate(String email) {
+        principals.invalidate(email);
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.email());
+    }
+}
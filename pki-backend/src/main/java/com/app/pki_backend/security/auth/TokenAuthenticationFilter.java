@@ -1,12 +1,14 @@
 package com.app.pki_backend.security.auth;
 
+import com.app.pki_backend.metrics.PkiMetrics;
+import com.app.pki_backend.metrics.PkiStage;
 import com.app.pki_backend.util.TokenUtils;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import io.jsonwebtoken.ExpiredJwtException;
@@ -21,13 +23,16 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
     private TokenUtils tokenUtils;
 
-    private UserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+
+    private PkiMetrics pkiMetrics;
 
     protected final Log LOGGER = LogFactory.getLog(getClass());
 
-    public TokenAuthenticationFilter(TokenUtils tokenHelper, UserDetailsService userDetailsService) {
+    public TokenAuthenticationFilter(TokenUtils tokenHelper, PrincipalCache principalCache, PkiMetrics pkiMetrics) {
         this.tokenUtils = tokenHelper;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.pkiMetrics = pkiMetrics;
     }
 
     @Override
@@ -36,18 +41,28 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
         String username;
         String authToken = tokenUtils.getToken(request);
+        // Timed only when a token is present: signature check, principal lookup and claim checks
+        Timer.Sample validation = null;
+        boolean authenticated = false;
 
         try {
 
             if (authToken != null && !authToken.equals("")) {
-                username = tokenUtils.getUsernameFromToken(authToken);
+                validation = pkiMetrics.start();
+                // Signature is verified exactly once per request; the claims travel on the Authentication
+                Claims claims = parseOrNull(authToken);
+                username = claims != null ? claims.getSubject() : null;
 
                 if (username != null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    if (tokenUtils.validateToken(authToken, userDetails)) {
-                        TokenBasedAuthentication authentication = new TokenBasedAuthentication(userDetails);
+                    // Principal comes from the short-TTL cache, not from a users query per request
+                    UserPrincipal principal = principalCache.get(username);
+                    if (principal != null && principal.isEnabled()
+                            && roleMatches(claims, principal)
+                            && tokenUtils.validateToken(claims, principal)) {
+                        TokenBasedAuthentication authentication = new TokenBasedAuthentication(principal, claims);
                         authentication.setToken(authToken);
                         SecurityContextHolder.getContext().setAuthentication(authentication);
+                        authenticated = true;
                     }
                 }
             }
@@ -62,7 +77,28 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("{\"error\": \"Invalid token\"}");
             return;
+        } finally {
+            if (validation != null) {
+                pkiMetrics.stop(validation, PkiStage.JWT_VALIDATION, PkiMetrics.NONE, PkiMetrics.NONE, authenticated);
+            }
         }
         chain.doFilter(request, response);
     }
+
+    // Токен, выданный до смены роли, больше не принимается
+    private boolean roleMatches(Claims claims, UserPrincipal principal) {
+        Object role = claims.get("role");
+        return role == null || role.toString().equalsIgnoreCase(principal.role());
+    }
+
+    // Как и раньше: просроченный токен -> 401, невалидный -> запрос идёт дальше без аутентификации
+    private Claims parseOrNull(String authToken) {
+        try {
+            return tokenUtils.parseClaims(authToken);
+        } catch (ExpiredJwtException ex) {
+            throw ex;
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.app.pki_backend.security.auth;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -8,10 +9,21 @@ public class TokenBasedAuthentication extends AbstractAuthenticationToken {
 
     private String token;
     private final UserDetails principle;
+    // Validated claims of the token, so later code does not parse it again
+    private final transient Claims claims;
 
     public TokenBasedAuthentication(UserDetails principle) {
+        this(principle, null);
+    }
+
+    public TokenBasedAuthentication(UserDetails principle, Claims claims) {
         super(principle.getAuthorities());
         this.principle = principle;
+        this.claims = claims;
+    }
+
+    public Claims getClaims() {
+        return claims;
     }
 
     public String getToken() {
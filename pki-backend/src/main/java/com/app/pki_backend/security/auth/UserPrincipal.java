@@ -0,0 +1,54 @@
+package com.app.pki_backend.security.auth;
+
+import com.app.pki_backend.entity.user.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable, detached view of an authenticated user, used as the principal of JWT requests.
+ * Unlike the {@link User} entity it holds no password and no lazy associations, so it can be cached
+ * across requests and injected into controllers with {@code @AuthenticationPrincipal}.
+ */
+public record UserPrincipal(
+        Integer id,
+        String email,
+        String role,
+        String organizationName,
+        boolean active,
+        boolean suspended
+) implements UserDetails {
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getRole() == null ? null : user.getRole().toUpperCase(),
+                user.getOrganizationName(),
+                Boolean.TRUE.equals(user.getActive()),
+                user.getSuspendedSince() != null);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active && !suspended;
+    }
+}
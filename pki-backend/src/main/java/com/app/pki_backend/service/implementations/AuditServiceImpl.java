@@ -0,0 +1,114 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.audit.AuditHash;
+import com.app.pki_backend.dto.admin.AuditEventResponse;
+import com.app.pki_backend.dto.admin.AuditPageResponse;
+import com.app.pki_backend.dto.admin.AuditVerificationResponse;
+import com.app.pki_backend.entity.AuditEvent;
+import com.app.pki_backend.repository.AuditEventRepository;
+import com.app.pki_backend.service.interfaces.AuditService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class AuditServiceImpl implements AuditService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Value("${pki.audit.verify-batch-size:1000}")
+    private int verifyBatchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AuditPageResponse search(LocalDateTime from, LocalDateTime to, String actor, String cursor, int size) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime rangeFrom = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime rangeTo = to != null ? to : LocalDateTime.now().plusDays(1);
+
+        // Start "after" the upper bound: everything in range qualifies
+        LocalDateTime beforeOccurredAt = rangeTo;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            beforeOccurredAt = LocalDateTime.parse(parts[0]);
+            beforeId = Long.parseLong(parts[1]);
+        }
+
+        // One extra row tells whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<AuditEvent> rows = actor == null || actor.isBlank()
+                ? auditEventRepository.findPage(rangeFrom, rangeTo, beforeOccurredAt, beforeId, limit)
+                : auditEventRepository.findPageByActor(actor, rangeFrom, rangeTo, beforeOccurredAt, beforeId, limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<AuditEvent> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            AuditEvent last = content.get(content.size() - 1);
+            nextCursor = encodeCursor(last.getOccurredAt(), last.getId());
+        }
+        return new AuditPageResponse(content.stream().map(AuditServiceImpl::toResponse).toList(),
+                pageSize, hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AuditVerificationResponse verifyChain() {
+        String prevHash = AuditHash.GENESIS;
+        long checked = 0;
+        long afterId = 0;
+        List<AuditEvent> batch;
+        do {
+            batch = auditEventRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, verifyBatchSize));
+            for (AuditEvent event : batch) {
+                String expected = AuditHash.chain(prevHash, event.getOccurredAt(), event.getActor(), event.getAction(),
+                        event.getCertificateId(), event.getIssuerId(), event.getOutcome(), event.getDetails());
+                if (!prevHash.equals(event.getPrevHash()) || !expected.equals(event.getHash())) {
+                    return new AuditVerificationResponse(false, checked, event.getId(), null);
+                }
+                prevHash = event.getHash();
+                afterId = event.getId();
+                checked++;
+            }
+        } while (batch.size() == verifyBatchSize);
+        return new AuditVerificationResponse(true, checked, null, prevHash);
+    }
+
+    private static AuditEventResponse toResponse(AuditEvent event) {
+        return new AuditEventResponse(event.getId(), event.getOccurredAt(), event.getActor(), event.getAction(),
+                event.getCertificateId(), event.getIssuerId(), event.getOutcome(), event.getDetails(), event.getHash());
+    }
+
+    private static String encodeCursor(LocalDateTime occurredAt, Long id) {
+        String raw = occurredAt + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed audit cursor", e);
+        }
+    }
+}
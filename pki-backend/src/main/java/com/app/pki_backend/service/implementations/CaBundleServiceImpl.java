@@ -0,0 +1,215 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.dto.certificate.CaBundleArtifact;
+import com.app.pki_backend.dto.certificate.CaBundleFormat;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.event.CaCertificatesChangedEvent;
+import com.app.pki_backend.event.CertificateExpiredEvent;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CaBundleService;
+import com.app.pki_backend.service.interfaces.KeyStoreService;
+import com.app.pki_backend.util.PEMConverter;
+import jakarta.annotation.PreDestroy;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cms.CMSAbsentContent;
+import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class CaBundleServiceImpl implements CaBundleService {
+
+    private static final Logger log = LoggerFactory.getLogger(CaBundleServiceImpl.class);
+
+    // Same limit as the chain queries; protects against issuer cycles
+    private static final int MAX_CHAIN_DEPTH = 10;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private KeyStoreService keyStoreService;
+
+    @Autowired
+    private PEMConverter pemConverter;
+
+    @Value("${pki.ca-bundle.truststore-password:changeit}")
+    private String truststorePassword;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ca-bundle-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Immutable result of one rebuild; swapped atomically so readers never see a half-built state.
+     */
+    private record Snapshot(Map<CaBundleFormat, CaBundleArtifact> all,
+                            Map<Long, Map<CaBundleFormat, CaBundleArtifact>> bySubtree) {
+    }
+
+    @Override
+    public Optional<CaBundleArtifact> getArtifact(Long caId, CaBundleFormat format) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Первый запрос до фоновой сборки
+            rebuild();
+            current = snapshot;
+        }
+        Map<CaBundleFormat, CaBundleArtifact> artifacts = caId == null ? current.all() : current.bySubtree().get(caId);
+        return artifacts == null ? Optional.empty() : Optional.of(artifacts.get(format));
+    }
+
+    @Override
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                // Cleared before building so a change during the build schedules another one
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        try {
+            long started = System.nanoTime();
+            List<Certificate> cas = new ArrayList<>(certificateRepository.findActiveCaCertificates());
+            cas.sort(Comparator.comparing(Certificate::getId));
+
+            // Every CA certificate is parsed once per rebuild, not once per bundle
+            Map<Long, X509Certificate> parsed = new LinkedHashMap<>();
+            Map<Long, Long> parentOf = new HashMap<>();
+            Map<Long, List<Long>> childrenOf = new HashMap<>();
+            for (Certificate ca : cas) {
+                parsed.put(ca.getId(), pemConverter.parseCertificate(ca.getCertificateData()));
+                Long issuerId = ca.getIssuerCertificate() == null ? null : ca.getIssuerCertificate().getId();
+                if (issuerId != null && !issuerId.equals(ca.getId())) {
+                    parentOf.put(ca.getId(), issuerId);
+                    childrenOf.computeIfAbsent(issuerId, id -> new ArrayList<>()).add(ca.getId());
+                }
+            }
+
+            Instant generatedAt = Instant.now();
+            Map<CaBundleFormat, CaBundleArtifact> all = render(cas, parsed, parsed.keySet(), generatedAt);
+            Map<Long, Map<CaBundleFormat, CaBundleArtifact>> bySubtree = new HashMap<>();
+            for (Long caId : parsed.keySet()) {
+                bySubtree.put(caId, render(cas, parsed, subtree(caId, parentOf, childrenOf, parsed), generatedAt));
+            }
+
+            snapshot = new Snapshot(all, Map.copyOf(bySubtree));
+            log.info("CA bundles rebuilt: {} CA certificates, {} subtrees in {} ms",
+                    parsed.size(), bySubtree.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            // Старый снимок продолжает обслуживать запросы
+            log.error("CA bundle rebuild failed, keeping previous snapshot", e);
+            if (snapshot == null) {
+                throw new IllegalStateException("CA bundles are not available", e);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCaCertificatesChanged(CaCertificatesChangedEvent event) {
+        requestRebuild();
+    }
+
+    // Most expirations are end-entity certificates and do not touch any bundle
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificatesExpired(CertificateExpiredEvent event) {
+        Snapshot current = snapshot;
+        if (current == null || event.certificateIds().stream().anyMatch(current.bySubtree()::containsKey)) {
+            requestRebuild();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // Issuers up to the root, the CA itself and every active CA below it
+    private Set<Long> subtree(Long caId, Map<Long, Long> parentOf, Map<Long, List<Long>> childrenOf,
+                              Map<Long, X509Certificate> parsed) {
+        Set<Long> ids = new HashSet<>();
+        Long current = parentOf.get(caId);
+        for (int depth = 0; current != null && parsed.containsKey(current) && depth < MAX_CHAIN_DEPTH; depth++) {
+            if (!ids.add(current)) {
+                break;
+            }
+            current = parentOf.get(current);
+        }
+        Deque<Long> pending = new ArrayDeque<>(List.of(caId));
+        while (!pending.isEmpty()) {
+            Long id = pending.poll();
+            if (ids.add(id)) {
+                pending.addAll(childrenOf.getOrDefault(id, List.of()));
+            }
+        }
+        return ids;
+    }
+
+    private Map<CaBundleFormat, CaBundleArtifact> render(List<Certificate> cas, Map<Long, X509Certificate> parsed,
+                                                         Set<Long> ids, Instant generatedAt) throws Exception {
+        List<Certificate> members = cas.stream().filter(ca -> ids.contains(ca.getId())).toList();
+        List<X509Certificate> x509 = members.stream().map(ca -> parsed.get(ca.getId())).toList();
+
+        StringBuilder pem = new StringBuilder();
+        for (Certificate ca : members) {
+            pem.append(ca.getCertificateData().strip()).append('\n');
+        }
+
+        CMSSignedDataGenerator p7 = new CMSSignedDataGenerator();
+        p7.addCertificates(new JcaCertStore(x509));
+        byte[] p7b = p7.generate(new CMSAbsentContent(), false).getEncoded();
+
+        // Built from the already parsed certificates instead of createTrustStore, which parses again
+        KeyStore trustStore = KeyStore.getInstance("PKCS12");
+        trustStore.load(null, null);
+        for (Certificate ca : members) {
+            trustStore.setCertificateEntry(keyStoreService.generateCertificateAlias(ca), parsed.get(ca.getId()));
+        }
+        byte[] p12 = keyStoreService.exportKeyStore(trustStore, truststorePassword);
+
+        Map<CaBundleFormat, CaBundleArtifact> artifacts = new EnumMap<>(CaBundleFormat.class);
+        artifacts.put(CaBundleFormat.PEM, artifact(CaBundleFormat.PEM,
+                pem.toString().getBytes(StandardCharsets.US_ASCII), members.size(), generatedAt));
+        artifacts.put(CaBundleFormat.P7B, artifact(CaBundleFormat.P7B, p7b, members.size(), generatedAt));
+        artifacts.put(CaBundleFormat.P12, artifact(CaBundleFormat.P12, p12, members.size(), generatedAt));
+        return Collections.unmodifiableMap(artifacts);
+    }
+
+    private static CaBundleArtifact artifact(CaBundleFormat format, byte[] content, int count, Instant generatedAt)
+            throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+        String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        return new CaBundleArtifact(format, content, etag, count, generatedAt);
+    }
+}
@@ -0,0 +1,92 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.dto.admin.CacheRegionStats;
+import com.app.pki_backend.dto.admin.CacheStatsResponse;
+import com.app.pki_backend.service.interfaces.CacheStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    // Regions named in the @QueryHints of the cached repository queries
+    private static final List<String> QUERY_REGIONS =
+            List.of("pki-query-ca-certificates", "pki-query-templates", "pki-query-users");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${pki.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Override
+    public CacheStatsResponse getStatistics() {
+        SessionFactory sessionFactory = sessionFactory();
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<CacheRegionStats> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String name : regionNames) {
+            CacheRegionStats stats = toRegionStats(name, statistics.getDomainDataRegionStatistics(name));
+            if (stats != null) {
+                regions.add(stats);
+            }
+        }
+        // Query result regions are not listed by getSecondLevelCacheRegionNames()
+        for (String name : QUERY_REGIONS) {
+            CacheRegionStats stats = toRegionStats(name, statistics.getQueryRegionStatistics(name));
+            if (stats != null) {
+                regions.add(stats);
+            }
+        }
+
+        return new CacheStatsResponse(
+                cacheEnabled,
+                statistics.isStatisticsEnabled(),
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                regions
+        );
+    }
+
+    @Override
+    public void resetStatistics() {
+        sessionFactory().getStatistics().clear();
+    }
+
+    @Override
+    public void evictAll() {
+        sessionFactory().getCache().evictAllRegions();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    private CacheRegionStats toRegionStats(String name, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return null;
+        }
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        double ratio = lookups == 0 ? 0.0 : (double) stats.getHitCount() / lookups;
+        return new CacheRegionStats(
+                name,
+                stats.getHitCount(),
+                stats.getMissCount(),
+                stats.getPutCount(),
+                stats.getElementCountInMemory(),
+                ratio
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.audit.AuditLogger;
+import com.app.pki_backend.entity.certificates.ArchivedCertificate;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.RevokedCertificate;
+import com.app.pki_backend.repository.ArchivedCertificateRepository;
+import com.app.pki_backend.repository.CertificateIdentifierRepository;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.repository.CertificateSigningRequestRepository;
+import com.app.pki_backend.repository.PrivateKeyRepository;
+import com.app.pki_backend.repository.RevokedCertificateRepository;
+import com.app.pki_backend.service.interfaces.CertificateArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(rollbackFor = Exception.class)
+public class CertificateArchiveServiceImpl implements CertificateArchiveService {
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private ArchivedCertificateRepository archivedCertificateRepository;
+
+    @Autowired
+    private RevokedCertificateRepository revokedCertificateRepository;
+
+    @Autowired
+    private PrivateKeyRepository privateKeyRepository;
+
+    @Autowired
+    private CertificateIdentifierRepository certificateIdentifierRepository;
+
+    @Autowired
+    private CertificateSigningRequestRepository certificateSigningRequestRepository;
+
+    @Autowired
+    private AuditLogger auditLogger;
+
+    @Override
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = certificateRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Revocation data is copied so CRL history and audit do not depend on the hot tables.
+        // Private keys are not: neither needs them, and outside private_keys they would escape master key rotation
+        Map<Long, RevokedCertificate> revocations = revokedCertificateRepository.findByCertificateIds(ids).stream()
+                .collect(Collectors.toMap(r -> r.getCertificate().getId(), Function.identity(), (a, b) -> a));
+
+        List<ArchivedCertificate> archived = new ArrayList<>(ids.size());
+        for (Certificate certificate : certificateRepository.findAllByIdIn(ids)) {
+            ArchivedCertificate copy = new ArchivedCertificate(certificate);
+
+            RevokedCertificate revocation = revocations.get(certificate.getId());
+            if (revocation != null) {
+                copy.setRevocationDate(revocation.getRevocationDate());
+                copy.setRevocationReason(revocation.getReason());
+                copy.setRevokedById(revocation.getRevokedBy() != null ? revocation.getRevokedBy().getId() : null);
+            }
+            archived.add(copy);
+        }
+        archivedCertificateRepository.persistInBatches(archived);
+
+        // Dependent rows first, then the certificates themselves
+        certificateIdentifierRepository.deleteByCertificateIds(ids);
+        revokedCertificateRepository.deleteByCertificateIds(ids);
+        privateKeyRepository.deleteByCertificateIds(ids);
+        certificateSigningRequestRepository.detachIssuedCertificates(ids);
+        int deleted = certificateRepository.deleteAllByIdIn(ids);
+
+        auditLogger.success("ARCHIVE_CERTIFICATES", null, null,
+                "count=" + deleted + " ids=" + ids.get(0) + ".." + ids.get(ids.size() - 1));
+        return deleted;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ArchivedCertificate> findArchivedById(Long id) {
+        return archivedCertificateRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ArchivedCertificate> findArchivedBySerial(BigInteger serialNumber) {
+        return archivedCertificateRepository.findBySerialNumber(serialNumber);
+    }
+}
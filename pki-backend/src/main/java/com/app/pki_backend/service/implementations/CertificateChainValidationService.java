@@ -3,8 +3,12 @@ package com.app.pki_backend.service.implementations;
 import com.app.pki_backend.entity.certificates.Certificate;
 import com.app.pki_backend.entity.certificates.CertificateStatus;
 import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.metrics.PkiMetrics;
 import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.tracing.PkiTracing;
 import com.app.pki_backend.util.PEMConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +18,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для валидации сертификатов и цепочек сертификатов
@@ -21,20 +28,27 @@ import java.util.List;
 @Service
 public class CertificateChainValidationService {
 
+    private static final Logger log = LoggerFactory.getLogger(CertificateChainValidationService.class);
+
     @Autowired
     private CertificateRepository certificateRepository;
 
     @Autowired
     private PEMConverter pemConverter;
 
+    @Autowired
+    private PkiTracing pkiTracing;
+
     /**
      * ГЛАВНАЯ ВАЛИДАЦИЯ: проверяет можно ли использовать issuer для подписи нового сертификата
+     * @param profile profile of the certificate being issued, tagged on the chain spans; may be null
      */
     public void validateIssuerBeforeSigning(Certificate issuer,
                                             LocalDateTime newCertNotBefore,
-                                            LocalDateTime newCertNotAfter) {
+                                            LocalDateTime newCertNotAfter,
+                                            String profile) {
 
-        System.out.println("🔍 Validating issuer certificate ID=" + issuer.getId());
+        log.atDebug().addKeyValue("issuerId", issuer.getId()).log("Validating issuer certificate");
 
         // 1. Проверка что issuer является CA
         if (issuer.getType() == CertificateType.END_ENTITY) {
@@ -57,14 +71,8 @@ public class CertificateChainValidationService {
             );
         }
 
-        // 3. Проверка срока действия issuer
-        LocalDateTime now = LocalDateTime.now();
-        if (now.isBefore(issuer.getValidFrom()) || now.isAfter(issuer.getValidTo())) {
-            throw new IllegalStateException(
-                    "Issuer certificate " + issuer.getId() + " is not currently valid. " +
-                            "Valid from " + issuer.getValidFrom() + " to " + issuer.getValidTo()
-            );
-        }
+        // 3. Истечение срока отражено в статусе (CertificateExpiryJob), сравнивать даты с now не нужно.
+        //    Окно до следующего прогона закрывает проверка 4: новый сертификат не может пережить issuer.
 
         // 4. Проверка что новый сертификат не выходит за рамки issuer
         if (newCertNotBefore.isBefore(issuer.getValidFrom())) {
@@ -81,11 +89,15 @@ public class CertificateChainValidationService {
             );
         }
 
-        // 5. Валидация всей цепочки до Root
-        List<Certificate> chain = buildChainToRoot(issuer);
-        validateChain(chain);
+        // 5. Валидация всей цепочки до Root (каждый шаг - отдельный span)
+        String ca = PkiMetrics.ca(issuer);
+        List<Certificate> chain = pkiTracing.traced("pki.chain.build", ca, profile,
+                () -> buildChainToRoot(issuer));
+        pkiTracing.run("pki.chain.verify", ca, profile, () -> validateChain(chain));
+        pkiTracing.run("pki.chain.path-length", ca, profile, () -> validatePathLengthConstraints(chain));
 
-        System.out.println("✅ Issuer validation passed. Chain length: " + chain.size());
+        log.atDebug().addKeyValue("issuerId", issuer.getId()).addKeyValue("chainLength", chain.size())
+                .log("Issuer validation passed");
     }
 
     /**
@@ -97,6 +109,12 @@ public class CertificateChainValidationService {
         int depth = 0;
         int maxDepth = 10; // защита от циклов
 
+        // Издатели загружаются заранее одним запросом; ниже берётся только id прокси (без SQL)
+        Map<Long, Certificate> issuers = certificate.getId() == null
+                ? Map.of()
+                : certificateRepository.findChain(certificate.getId()).stream()
+                        .collect(Collectors.toMap(Certificate::getId, Function.identity()));
+
         while (current != null && depth < maxDepth) {
             chain.add(current);
 
@@ -106,12 +124,13 @@ public class CertificateChainValidationService {
             }
 
             // Защита от циклических ссылок
-            Certificate parent = current.getIssuerCertificate();
-            if (chain.contains(parent)) {
+            Long parentId = current.getIssuerCertificate().getId();
+            if (chain.stream().anyMatch(c -> parentId.equals(c.getId()))) {
                 throw new IllegalStateException(
-                        "Circular reference detected in certificate chain at ID=" + parent.getId()
+                        "Circular reference detected in certificate chain at ID=" + parentId
                 );
             }
+            Certificate parent = issuers.getOrDefault(parentId, current.getIssuerCertificate());
 
             current = parent;
             depth++;
@@ -125,7 +144,7 @@ public class CertificateChainValidationService {
     }
 
     /**
-     * Валидация всей цепочки сертификатов
+     * Валидация всей цепочки сертификатов: Root в конце, статусы и подписи (PathLength проверяется отдельно)
      */
     private void validateChain(List<Certificate> chain) {
         if (chain.isEmpty()) {
@@ -144,18 +163,16 @@ public class CertificateChainValidationService {
         for (int i = 0; i < chain.size(); i++) {
             Certificate cert = chain.get(i);
 
-            // Проверка статуса
+            // Проверка статуса (EXPIRED выставляет CertificateExpiryJob)
             if (cert.getStatus() == CertificateStatus.REVOKED) {
                 throw new IllegalStateException(
                         "Certificate " + cert.getId() + " in chain is REVOKED"
                 );
             }
 
-            // Проверка срока действия
-            LocalDateTime now = LocalDateTime.now();
-            if (now.isBefore(cert.getValidFrom()) || now.isAfter(cert.getValidTo())) {
+            if (cert.getStatus() == CertificateStatus.EXPIRED) {
                 throw new IllegalStateException(
-                        "Certificate " + cert.getId() + " in chain is not currently valid"
+                        "Certificate " + cert.getId() + " in chain is EXPIRED"
                 );
             }
 
@@ -168,9 +185,6 @@ public class CertificateChainValidationService {
                 validateSelfSignature(cert);
             }
         }
-
-        // 3. Проверка PathLength constraints
-        validatePathLengthConstraints(chain);
     }
 
     /**
@@ -186,7 +200,8 @@ public class CertificateChainValidationService {
             // Проверка подписи
             x509Cert.verify(issuerPublicKey);
 
-            System.out.println("✓ Signature valid: cert " + cert.getId() + " signed by " + issuer.getId());
+            log.atTrace().addKeyValue("certId", cert.getId()).addKeyValue("issuerId", issuer.getId())
+                    .log("Signature valid");
 
         } catch (Exception e) {
             throw new IllegalStateException(
@@ -208,7 +223,7 @@ public class CertificateChainValidationService {
             // Root должен быть самоподписан
             x509Cert.verify(publicKey);
 
-            System.out.println("✓ Self-signature valid for Root CA " + rootCert.getId());
+            log.atTrace().addKeyValue("certId", rootCert.getId()).log("Root CA self-signature valid");
 
         } catch (Exception e) {
             throw new IllegalStateException(
@@ -256,8 +271,8 @@ public class CertificateChainValidationService {
                     );
                 }
 
-                System.out.println("✓ PathLength OK for cert " + cert.getId() +
-                        ": allowed=" + pathLength + ", below=" + casBelowCount);
+                log.atTrace().addKeyValue("certId", cert.getId()).addKeyValue("pathLength", pathLength)
+                        .addKeyValue("casBelow", casBelowCount).log("PathLength OK");
 
             } catch (IllegalStateException e) {
                 throw e;
@@ -0,0 +1,44 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.audit.AuditLogger;
+import com.app.pki_backend.dto.certificate.ExpiryBatchResult;
+import com.app.pki_backend.event.CertificateExpiredEvent;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CertificateExpiryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional(rollbackFor = Exception.class)
+public class CertificateExpiryServiceImpl implements CertificateExpiryService {
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AuditLogger auditLogger;
+
+    @Override
+    public ExpiryBatchResult expireBatch(LocalDateTime from, LocalDateTime to, int batchSize) {
+        List<Long> ids = certificateRepository.findNewlyExpiredIds(from, to, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return new ExpiryBatchResult(0, 0);
+        }
+
+        int updated = certificateRepository.markExpired(ids);
+        auditLogger.success("EXPIRE_CERTIFICATES", null, null, "count=" + updated);
+
+        // Listeners that keep status-derived state (CA bundles etc.) react to this
+        eventPublisher.publishEvent(new CertificateExpiredEvent(ids, LocalDateTime.now()));
+        return new ExpiryBatchResult(ids.size(), updated);
+    }
+}
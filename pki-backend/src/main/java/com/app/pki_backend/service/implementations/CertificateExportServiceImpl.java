@@ -0,0 +1,152 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.dto.certificate.CertificateExportFormat;
+import com.app.pki_backend.dto.certificate.CertificateExportRow;
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CertificateExportService;
+import com.app.pki_backend.specification.CertificateSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+public class CertificateExportServiceImpl implements CertificateExportService {
+
+    private static final String MANIFEST_HEADER =
+            "id,serial,subject,issuer,issuerId,type,status,validFrom,validTo,organization,file,chainFile\n";
+
+    // Issuer chains are shared by many leaves; bounded so memory stays constant with many CAs
+    private static final int MAX_CACHED_CHAINS = 64;
+
+    // Rows per keyset page; a page is read with one short query and then written to the client
+    private static final int PAGE_SIZE = 200;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // No transaction: a slow client would otherwise keep a read transaction and its connection open
+    // for the whole download, and SQLite cannot checkpoint or take writers past it
+    @Override
+    public int exportBundle(CertificateSearchFilter filter, Long issuerId, CertificateExportFormat format,
+                            OutputStream out) throws IOException {
+        Specification<Certificate> spec = CertificateSpecification.matching(filter)
+                .and(CertificateSpecification.issuedBy(issuerId));
+        // Both passes stop at the same id, certificates issued meanwhile are in neither
+        Long maxId = certificateRepository.findMaxId().orElse(0L);
+
+        // Не закрываем out: им владеет вызывающий (response stream)
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Map<Long, String> issuerChains = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > MAX_CACHED_CHAINS;
+            }
+        };
+
+        int written = 0;
+        Long afterId = null;
+        List<CertificateExportRow> rows;
+        do {
+            rows = certificateRepository.findExportRowsPage(spec, afterId, maxId, PAGE_SIZE);
+            for (CertificateExportRow row : rows) {
+                String name = fileName(row.serialNumber());
+                putEntry(zip, "certs/" + name + format.getExtension(), encode(row.certificateData(), format));
+
+                String chain = row.certificateData().strip() + "\n";
+                if (row.issuerId() != null && !row.issuerId().equals(row.id())) {
+                    chain += issuerChains.computeIfAbsent(row.issuerId(), this::loadIssuerChain);
+                }
+                putEntry(zip, "chains/" + name + "-chain.pem", chain.getBytes(StandardCharsets.US_ASCII));
+                written++;
+                afterId = row.id();
+            }
+        } while (rows.size() == PAGE_SIZE);
+
+        // Second pass keeps the manifest out of memory; it is the last entry of the archive
+        zip.putNextEntry(new ZipEntry("index.csv"));
+        zip.write(MANIFEST_HEADER.getBytes(StandardCharsets.UTF_8));
+        afterId = null;
+        List<CertificateSummary> summaries;
+        do {
+            summaries = certificateRepository.findSummariesPage(spec, afterId, maxId, PAGE_SIZE);
+            for (CertificateSummary summary : summaries) {
+                zip.write(manifestLine(summary, format).getBytes(StandardCharsets.UTF_8));
+                afterId = summary.id();
+            }
+        } while (summaries.size() == PAGE_SIZE);
+        zip.closeEntry();
+        zip.finish();
+        return written;
+    }
+
+    // PEM of the issuer and everything above it, leaf-side first
+    private String loadIssuerChain(Long issuerId) {
+        List<Certificate> chain = certificateRepository.findChain(issuerId);
+        String pem = chain.stream()
+                .map(c -> c.getCertificateData().strip() + "\n")
+                .collect(Collectors.joining());
+        // Chain entities are not needed once rendered
+        chain.forEach(entityManager::detach);
+        return pem;
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static byte[] encode(String pem, CertificateExportFormat format) {
+        if (format == CertificateExportFormat.PEM) {
+            return (pem.strip() + "\n").getBytes(StandardCharsets.US_ASCII);
+        }
+        String base64 = pem.replaceAll("-----(BEGIN|END) CERTIFICATE-----", "");
+        return Base64.getMimeDecoder().decode(base64);
+    }
+
+    private static String fileName(BigInteger serialNumber) {
+        return serialNumber.toString(16);
+    }
+
+    private static String manifestLine(CertificateSummary s, CertificateExportFormat format) {
+        String name = fileName(s.serialNumber());
+        return String.join(",",
+                String.valueOf(s.id()),
+                name,
+                csv(s.subject()),
+                csv(s.issuer()),
+                s.issuerId() == null ? "" : String.valueOf(s.issuerId()),
+                String.valueOf(s.type()),
+                String.valueOf(s.status()),
+                String.valueOf(s.validFrom()),
+                String.valueOf(s.validTo()),
+                csv(s.organization()),
+                "certs/" + name + format.getExtension(),
+                "chains/" + name + "-chain.pem") + "\n";
+    }
+
+    // Subjects contain commas, so text columns are always quoted
+    private static String csv(String value) {
+        return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,152 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateIdentifier;
+import com.app.pki_backend.entity.certificates.IdentifierType;
+import com.app.pki_backend.repository.CertificateIdentifierRepository;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CertificateIndexService;
+import com.app.pki_backend.util.PEMConverter;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1String;
+import org.bouncycastle.asn1.x500.AttributeTypeAndValue;
+import org.bouncycastle.asn1.x500.RDN;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Transactional(rollbackFor = Exception.class)
+public class CertificateIndexServiceImpl implements CertificateIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateIndexServiceImpl.class);
+
+    private static final Map<ASN1ObjectIdentifier, IdentifierType> RDN_TYPES = Map.of(
+            BCStyle.CN, IdentifierType.COMMON_NAME,
+            BCStyle.O, IdentifierType.ORGANIZATION,
+            BCStyle.OU, IdentifierType.ORGANIZATIONAL_UNIT,
+            BCStyle.C, IdentifierType.COUNTRY,
+            BCStyle.L, IdentifierType.LOCALITY,
+            BCStyle.ST, IdentifierType.STATE,
+            BCStyle.EmailAddress, IdentifierType.EMAIL
+    );
+
+    // GeneralName tags as returned by X509Certificate#getSubjectAlternativeNames
+    private static final Map<Integer, IdentifierType> SAN_TYPES = Map.of(
+            1, IdentifierType.SAN_EMAIL,
+            2, IdentifierType.SAN_DNS,
+            6, IdentifierType.SAN_URI,
+            7, IdentifierType.SAN_IP
+    );
+
+    @Autowired
+    private CertificateIdentifierRepository identifierRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private PEMConverter pemConverter;
+
+    @Override
+    public void index(Certificate certificate, X509Certificate x509) {
+        try {
+            List<CertificateIdentifier> rows = new ArrayList<>();
+            for (Entry entry : extract(x509)) {
+                rows.add(new CertificateIdentifier(certificate, entry.type(), entry.value()));
+            }
+            identifierRepository.persistInBatches(rows);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to index certificate " + certificate.getId(), e);
+        }
+    }
+
+    @Override
+    public void removeFromIndex(Long certificateId) {
+        identifierRepository.deleteByCertificateId(certificateId);
+    }
+
+    @Override
+    public Long backfillBatch(Long afterId, int batchSize) {
+        List<Long> ids = identifierRepository.findUnindexedCertificateIds(afterId, PageRequest.of(0, batchSize));
+        for (Certificate certificate : certificateRepository.findAllById(ids)) {
+            try {
+                index(certificate, pemConverter.parseCertificate(certificate.getCertificateData()));
+            } catch (RuntimeException e) {
+                // Unparseable PEM is skipped; the id cursor moves past it
+                log.warn("Skipping certificate {} during search index backfill: {}", certificate.getId(), e.getMessage());
+            }
+        }
+        return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+    }
+
+    private Set<Entry> extract(X509Certificate x509) throws Exception {
+        Set<Entry> entries = new LinkedHashSet<>();
+
+        X500Name subject = X500Name.getInstance(x509.getSubjectX500Principal().getEncoded());
+        for (RDN rdn : subject.getRDNs()) {
+            for (AttributeTypeAndValue atv : rdn.getTypesAndValues()) {
+                IdentifierType type = RDN_TYPES.get(atv.getType());
+                if (type != null) {
+                    String raw = atv.getValue() instanceof ASN1String s ? s.getString() : atv.getValue().toString();
+                    add(entries, type, raw);
+                }
+            }
+        }
+
+        Collection<List<?>> sans = x509.getSubjectAlternativeNames();
+        if (sans != null) {
+            for (List<?> san : sans) {
+                IdentifierType type = SAN_TYPES.get((Integer) san.get(0));
+                if (type != null && san.get(1) instanceof String value) {
+                    add(entries, type, value);
+                }
+            }
+        }
+
+        HexFormat hex = HexFormat.of();
+        add(entries, IdentifierType.FINGERPRINT_SHA256,
+                hex.formatHex(MessageDigest.getInstance("SHA-256").digest(x509.getEncoded())));
+        add(entries, IdentifierType.SUBJECT_KEY_ID, hex.formatHex(subjectKeyId(x509)));
+        add(entries, IdentifierType.SERIAL, IdentifierType.serialHex(x509.getSerialNumber()));
+
+        return entries;
+    }
+
+    // Uses the SKI extension when present, otherwise the RFC 5280 method 1 value (SHA-1 of the public key)
+    private byte[] subjectKeyId(X509Certificate x509) throws Exception {
+        byte[] extension = x509.getExtensionValue(Extension.subjectKeyIdentifier.getId());
+        if (extension != null) {
+            return SubjectKeyIdentifier.getInstance(JcaX509ExtensionUtils.parseExtensionValue(extension))
+                    .getKeyIdentifier();
+        }
+        return new JcaX509ExtensionUtils().createSubjectKeyIdentifier(x509.getPublicKey()).getKeyIdentifier();
+    }
+
+    private void add(Set<Entry> entries, IdentifierType type, String raw) {
+        String value = type.normalize(raw);
+        if (value != null && !value.isEmpty()) {
+            entries.add(new Entry(type, value));
+        }
+    }
+
+    private record Entry(IdentifierType type, String value) {}
+}
@@ -1,14 +1,21 @@
 package com.app.pki_backend.service.implementations;
 
 import com.app.pki_backend.dto.certificate.CertificateDTO;
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+import com.app.pki_backend.dto.certificate.CertificateSearchPage;
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
 import com.app.pki_backend.entity.certificates.CertificateSigningRequest;
 import com.app.pki_backend.entity.certificates.Certificate;
 import com.app.pki_backend.entity.certificates.CertificateStatus;
 import com.app.pki_backend.entity.certificates.CertificateTemplate;
 import com.app.pki_backend.entity.certificates.CertificateType;
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.event.CaCertificatesChangedEvent;
 import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CertificateIndexService;
 import com.app.pki_backend.service.interfaces.CertificateService;
+import com.app.pki_backend.service.interfaces.PkiRepositoryService;
 import com.app.pki_backend.service.interfaces.CryptographyService;
 import com.app.pki_backend.service.interfaces.PrivateKeyService;
 import com.app.pki_backend.service.interfaces.MasterKeyService;
@@ -16,7 +23,13 @@ import com.app.pki_backend.specification.CertificateSpecification;
 import com.app.pki_backend.util.CSRValidator;
 import com.app.pki_backend.util.CertificateBuilder;
 import com.app.pki_backend.util.PEMConverter;
+import com.app.pki_backend.util.SearchCursor;
 import com.app.pki_backend.audit.AuditLogger;
+import com.app.pki_backend.audit.AuditOutcome;
+import com.app.pki_backend.signing.SigningLane;
+import com.app.pki_backend.metrics.PkiMetrics;
+import com.app.pki_backend.metrics.PkiStage;
+import com.app.pki_backend.signing.SigningExecutor;
 
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.BasicConstraints;
@@ -24,6 +37,13 @@ import org.bouncycastle.asn1.x509.Extension;
 import org.bouncycastle.asn1.x509.KeyUsage;
 import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
 import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
 import org.bouncycastle.cert.X509v3CertificateBuilder;
 import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
 import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
@@ -32,16 +52,18 @@ import org.bouncycastle.operator.ContentSigner;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.bouncycastle.pkcs.PKCS10CertificationRequest;
 import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.crypto.SecretKey;
-import org.springframework.data.domain.Pageable;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.math.BigInteger;
 import java.nio.file.Files;
@@ -63,6 +85,8 @@ import java.util.Optional;
 @Transactional(rollbackFor = Exception.class) // ✅ FIX: Добавлен rollback для всех исключений
 public class CertificateServiceImpl implements CertificateService {
 
+    private static final Logger log = LoggerFactory.getLogger(CertificateServiceImpl.class);
+
     @Autowired
     private CryptographyService cryptographyService;
 
@@ -90,6 +114,21 @@ public class CertificateServiceImpl implements CertificateService {
     @Autowired
     private AuditLogger auditLogger; // ✅ FIX: Добавлено аудит-логирование
 
+    @Autowired
+    private CertificateIndexService certificateIndexService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PkiRepositoryService pkiRepositoryService;
+
+    @Autowired
+    private SigningExecutor signingExecutor;
+
+    @Autowired
+    private PkiMetrics pkiMetrics;
+
     @Value("${pki.root-ca.subject}")
     private String rootCASubject;
 
@@ -108,13 +147,17 @@ public class CertificateServiceImpl implements CertificateService {
     @Value("${pki.end-entity.validity-years}")
     private int endEntityValidityYears;
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    // profile tag of server certificates (END_ENTITY with serverAuth)
+    private static final String SERVER_PROFILE = "server";
+
     @Override
     public Certificate issueRootCertificate() {
         try {
-            auditLogger.log("ISSUE_ROOT_CERTIFICATE", "system"); // ✅ FIX: Аудит
-
             // 1. Generate a key pair for Root CA
-            KeyPair keyPair = cryptographyService.generateKeyPair(keySize);
+            String profile = profile(CertificateType.ROOT_CA);
+            KeyPair keyPair = generateKeyPair(SigningLane.CA, PkiMetrics.SELF_SIGNED, profile);
 
             // 2. Create X.509 Root CA certificate
             X509Certificate rootCert = buildRootCACertificate(
@@ -134,15 +177,21 @@ public class CertificateServiceImpl implements CertificateService {
                     .issuerCertificate(null) // Self-signed
                     .build();
 
-            Certificate savedCertificate = certificateRepository.saveAndFlush(certificate);
+            // 4. Save it and store the private key securely using PrivateKeyService
+            Certificate savedCertificate = pkiMetrics.record(PkiStage.PERSISTENCE, PkiMetrics.SELF_SIGNED, profile, () -> {
+                Certificate saved = certificateRepository.saveAndFlush(certificate);
+                certificateIndexService.index(saved, rootCert);
+                privateKeyService.storePrivateKey(saved, keyPair.getPrivate(), masterKeyService.getCurrentMasterKey());
+                return saved;
+            });
 
-            // 4. Store private key securely using PrivateKeyService
-            SecretKey masterKey = masterKeyService.getCurrentMasterKey();
-            privateKeyService.storePrivateKey(savedCertificate, keyPair.getPrivate(), masterKey);
+            auditLogger.success("ISSUE_ROOT_CERTIFICATE", savedCertificate.getId(), null, null); // ✅ FIX: Аудит
 
+            eventPublisher.publishEvent(new CaCertificatesChangedEvent(savedCertificate.getId(), "ISSUED"));
             return savedCertificate;
 
         } catch (Exception e) {
+            auditLogger.failure("ISSUE_ROOT_CERTIFICATE", null, null, e.getMessage());
             throw new RuntimeException("Failed to create root certificate", e);
         }
     }
@@ -164,31 +213,19 @@ public class CertificateServiceImpl implements CertificateService {
                 );
             }
 
-            PKCS10CertificationRequest pkcs10CSR;
-
-            try (PEMParser p = new PEMParser(new StringReader(csr.getCsrContent()))) {
-                Object obj = p.readObject();
-                if (!(obj instanceof PKCS10CertificationRequest)) {
-                    throw new IllegalArgumentException("Invalid CSR format");
-                }
-                pkcs10CSR = (PKCS10CertificationRequest) obj;
-            }
-
-            if (!csrValidator.validateCSRSignature(pkcs10CSR)) {
-                throw new IllegalArgumentException(
-                        "Invalid CSR signature. Proof of private key ownership failed."
-                );
-            }
+            String ca = PkiMetrics.ca(issuer);
+            String profile = profile(CertificateType.INTERMEDIATE_CA);
+            PKCS10CertificationRequest pkcs10CSR = parseCsr(csr.getCsrContent(), ca, profile);
 
             X500Name subject = pkcs10CSR.getSubject();
 
             // ✅ FIX: КРИТИЧНО - Генерируем ключи для CA В СИСТЕМЕ, а не используем из CSR!
             // Intermediate CA должен иметь приватный ключ в системе для подписи других сертификатов
-            KeyPair intermediateKeyPair = cryptographyService.generateKeyPair(keySize);
+            KeyPair intermediateKeyPair = generateKeyPair(SigningLane.CA, ca, profile);
             PublicKey publicKey = intermediateKeyPair.getPublic();
 
             // Получить приватный ключ издателя для подписи
-            PrivateKey issuerPrivateKey = getIssuerPrivateKey(issuer);
+            PrivateKey issuerPrivateKey = getIssuerPrivateKey(issuer, profile);
 
             // ✅ FIX: Вычисляем PathLength для нового Intermediate CA
             int newPathLength = calculatePathLengthForNewCA(issuer);
@@ -197,11 +234,8 @@ public class CertificateServiceImpl implements CertificateService {
             LocalDateTime notBefore = LocalDateTime.now();
             LocalDateTime notAfter = notBefore.plusYears(intermediateValidityYears);
 
-            chainValidationService.validateIssuerBeforeSigning(
-                    issuer,
-                    notBefore,
-                    notAfter
-            );
+            pkiMetrics.run(PkiStage.CHAIN_VALIDATION, ca, profile,
+                    () -> chainValidationService.validateIssuerBeforeSigning(issuer, notBefore, notAfter, profile));
 
             // Создание Intermediate CA сертификата
             X509Certificate intermediateCert = buildIntermediateCACertificate(
@@ -224,26 +258,25 @@ public class CertificateServiceImpl implements CertificateService {
                     .owner(csr.getRequestedBy())
                     .build();
 
-            Certificate savedCertificate = certificateRepository.saveAndFlush(certificate);
-
             // ✅ FIX: СОХРАНИТЬ приватный ключ для Intermediate CA
-            SecretKey masterKey = masterKeyService.getCurrentMasterKey();
-            privateKeyService.storePrivateKey(
-                    savedCertificate,
-                    intermediateKeyPair.getPrivate(),
-                    masterKey
-            );
+            Certificate savedCertificate = pkiMetrics.record(PkiStage.PERSISTENCE, ca, profile, () -> {
+                Certificate saved = certificateRepository.saveAndFlush(certificate);
+                certificateIndexService.index(saved, intermediateCert);
+                privateKeyService.storePrivateKey(saved, intermediateKeyPair.getPrivate(),
+                        masterKeyService.getCurrentMasterKey());
+                return saved;
+            });
 
             // ✅ FIX: Аудит-лог
-            auditLogger.log(
-                    "ISSUE_INTERMEDIATE_CA id=" + savedCertificate.getId() +
-                            " issuer=" + issuer.getId(),
-                    csr.getRequestedBy() != null ? csr.getRequestedBy().getEmail() : "unknown"
-            );
+            auditLogger.record(requestedBy(csr), "ISSUE_INTERMEDIATE_CA", savedCertificate.getId(), issuer.getId(),
+                    AuditOutcome.SUCCESS, null);
 
+            eventPublisher.publishEvent(new CaCertificatesChangedEvent(savedCertificate.getId(), "ISSUED"));
             return savedCertificate;
 
         } catch (Exception e) {
+            auditLogger.record(requestedBy(csr), "ISSUE_INTERMEDIATE_CA", null, issuer.getId(),
+                    AuditOutcome.FAILURE, e.getMessage());
             throw new RuntimeException("Failed to create intermediate certificate", e);
         }
     }
@@ -256,38 +289,23 @@ public class CertificateServiceImpl implements CertificateService {
                 throw new IllegalArgumentException("End Entity certificate cannot issue other certificates");
             }
 
-            PKCS10CertificationRequest pkcs10CSR;
-
-            try (PEMParser p = new PEMParser(new StringReader(csr.getCsrContent()))) {
-                Object obj = p.readObject();
-                if (!(obj instanceof PKCS10CertificationRequest)) {
-                    throw new IllegalArgumentException("Invalid CSR format");
-                }
-                pkcs10CSR = (PKCS10CertificationRequest) obj;
-            }
-
-            if (!csrValidator.validateCSRSignature(pkcs10CSR)) {
-                throw new IllegalArgumentException(
-                        "Invalid CSR signature. Proof of private key ownership failed."
-                );
-            }
+            String ca = PkiMetrics.ca(issuer);
+            String profile = profile(CertificateType.END_ENTITY);
+            PKCS10CertificationRequest pkcs10CSR = parseCsr(csr.getCsrContent(), ca, profile);
 
             JcaPKCS10CertificationRequest jcaCSR = new JcaPKCS10CertificationRequest(pkcs10CSR);
             PublicKey publicKey = jcaCSR.getPublicKey();
             X500Name subject = pkcs10CSR.getSubject();
 
             // Получить приватный ключ издателя
-            PrivateKey issuerPrivateKey = getIssuerPrivateKey(issuer);
+            PrivateKey issuerPrivateKey = getIssuerPrivateKey(issuer, profile);
 
             // ✅ FIX: Валидация ПЕРЕД созданием сертификата
             LocalDateTime notBefore = LocalDateTime.now();
             LocalDateTime notAfter = notBefore.plusYears(endEntityValidityYears);
 
-            chainValidationService.validateIssuerBeforeSigning(
-                    issuer,
-                    notBefore,
-                    notAfter
-            );
+            pkiMetrics.run(PkiStage.CHAIN_VALIDATION, ca, profile,
+                    () -> chainValidationService.validateIssuerBeforeSigning(issuer, notBefore, notAfter, profile));
 
             // Создание End Entity сертификата
             X509Certificate endEntityCert = buildEndEntityCertificate(
@@ -309,20 +327,23 @@ public class CertificateServiceImpl implements CertificateService {
                     .owner(csr.getRequestedBy())
                     .build();
 
-            Certificate savedCertificate = certificateRepository.saveAndFlush(certificate);
+            Certificate savedCertificate = pkiMetrics.record(PkiStage.PERSISTENCE, ca, profile, () -> {
+                Certificate saved = certificateRepository.saveAndFlush(certificate);
+                certificateIndexService.index(saved, endEntityCert);
+                return saved;
+            });
 
             // End Entity НЕ хранит приватный ключ в системе (пользователь сам хранит)
 
             // ✅ FIX: Аудит-лог
-            auditLogger.log(
-                    "ISSUE_END_ENTITY id=" + savedCertificate.getId() +
-                            " issuer=" + issuer.getId(),
-                    csr.getRequestedBy() != null ? csr.getRequestedBy().getEmail() : "unknown"
-            );
+            auditLogger.record(requestedBy(csr), "ISSUE_END_ENTITY", savedCertificate.getId(), issuer.getId(),
+                    AuditOutcome.SUCCESS, null);
 
             return savedCertificate;
 
         } catch (Exception e) {
+            auditLogger.record(requestedBy(csr), "ISSUE_END_ENTITY", null, issuer.getId(),
+                    AuditOutcome.FAILURE, e.getMessage());
             throw new RuntimeException("Failed to create end entity certificate", e);
         }
     }
@@ -382,11 +403,7 @@ public class CertificateServiceImpl implements CertificateService {
 
         addRootCAExtensions(certBuilder);
 
-        ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
-                .build(privateKey);
-
-        return new JcaX509CertificateConverter()
-                .getCertificate(certBuilder.build(signer));
+        return sign(SigningLane.CA, certBuilder, privateKey, PkiMetrics.SELF_SIGNED, profile(CertificateType.ROOT_CA));
     }
 
     private X509Certificate buildIntermediateCACertificate(
@@ -415,12 +432,10 @@ public class CertificateServiceImpl implements CertificateService {
         );
 
         addIntermediateCAExtensions(certBuilder, pathLength); // ✅ FIX: Передаем pathLength
+        addRepositoryExtensions(certBuilder, issuerCert);
 
-        ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
-                .build(issuerPrivateKey);
-
-        return new JcaX509CertificateConverter()
-                .getCertificate(certBuilder.build(signer));
+        return sign(SigningLane.CA, certBuilder, issuerPrivateKey,
+                PkiMetrics.ca(issuerCert), profile(CertificateType.INTERMEDIATE_CA));
     }
 
     private X509Certificate buildEndEntityCertificate(
@@ -448,12 +463,10 @@ public class CertificateServiceImpl implements CertificateService {
         );
 
         addEndEntityExtensions(certBuilder);
+        addRepositoryExtensions(certBuilder, issuerCert);
 
-        ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
-                .build(issuerPrivateKey);
-
-        return new JcaX509CertificateConverter()
-                .getCertificate(certBuilder.build(signer));
+        return sign(SigningLane.END_ENTITY, certBuilder, issuerPrivateKey,
+                PkiMetrics.ca(issuerCert), profile(CertificateType.END_ENTITY));
     }
 
     // === Methods for adding certificate extensions ===
@@ -521,9 +534,31 @@ public class CertificateServiceImpl implements CertificateService {
         );
     }
 
+    // AIA caIssuers + CDP pointing to the public repository (/pki/**) of the issuing CA
+    private void addRepositoryExtensions(X509v3CertificateBuilder certBuilder, Certificate issuerCert) throws Exception {
+        certBuilder.addExtension(
+                Extension.authorityInfoAccess,
+                false,
+                new AuthorityInformationAccess(new AccessDescription(
+                        AccessDescription.id_ad_caIssuers,
+                        new GeneralName(GeneralName.uniformResourceIdentifier,
+                                pkiRepositoryService.caIssuersUrl(issuerCert.getId()))))
+        );
+
+        certBuilder.addExtension(
+                Extension.cRLDistributionPoints,
+                false,
+                new CRLDistPoint(new DistributionPoint[]{new DistributionPoint(
+                        new DistributionPointName(new GeneralNames(new GeneralName(
+                                GeneralName.uniformResourceIdentifier,
+                                pkiRepositoryService.crlUrl(issuerCert.getId())))),
+                        null, null)})
+        );
+    }
+
     // === Helper methods ===
 
-    private PrivateKey getIssuerPrivateKey(Certificate issuerCert) {
+    private PrivateKey getIssuerPrivateKey(Certificate issuerCert, String profile) {
         try {
             if (!masterKeyService.isMasterKeyAvailable()) {
                 throw new IllegalStateException("Master key is not available for private key decryption");
@@ -534,13 +569,61 @@ public class CertificateServiceImpl implements CertificateService {
             }
 
             SecretKey masterKey = masterKeyService.getCurrentMasterKey();
-            return privateKeyService.retrievePrivateKey(issuerCert, masterKey);
+            return pkiMetrics.record(PkiStage.CA_KEY_DECRYPTION, PkiMetrics.ca(issuerCert), profile,
+                    () -> privateKeyService.retrievePrivateKey(issuerCert, masterKey));
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to retrieve issuer private key for certificate: " + issuerCert.getId(), e);
         }
     }
 
+    // Key generation and signing are timed on the signing thread, so queue wait is not part of the stage
+    private KeyPair generateKeyPair(SigningLane lane, String ca, String profile) throws Exception {
+        return signingExecutor.execute(lane,
+                () -> pkiMetrics.record(PkiStage.KEY_GENERATION, ca, profile, () -> cryptographyService.generateKeyPair(keySize)));
+    }
+
+    private X509Certificate sign(SigningLane lane, X509v3CertificateBuilder certBuilder, PrivateKey signingKey,
+                                 String ca, String profile) throws Exception {
+        return signingExecutor.execute(lane, () -> pkiMetrics.record(PkiStage.SIGNING, ca, profile, () -> {
+            ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
+                    .build(signingKey);
+            return new JcaX509CertificateConverter()
+                    .getCertificate(certBuilder.build(signer));
+        }));
+    }
+
+    // Разбор CSR + проверка подписи (proof of possession)
+    private PKCS10CertificationRequest parseCsr(String csrContent, String ca, String profile) throws Exception {
+        return pkiMetrics.record(PkiStage.CSR_PARSING, ca, profile, () -> {
+            PKCS10CertificationRequest pkcs10CSR;
+
+            try (PEMParser p = new PEMParser(new StringReader(csrContent))) {
+                Object obj = p.readObject();
+                if (!(obj instanceof PKCS10CertificationRequest)) {
+                    throw new IllegalArgumentException("Invalid CSR format");
+                }
+                pkcs10CSR = (PKCS10CertificationRequest) obj;
+            }
+
+            if (!csrValidator.validateCSRSignature(pkcs10CSR)) {
+                throw new IllegalArgumentException(
+                        "Invalid CSR signature. Proof of private key ownership failed."
+                );
+            }
+            return pkcs10CSR;
+        });
+    }
+
+    // Аудит: кто запросил выпуск (CSR), иначе текущий пользователь
+    private String requestedBy(CertificateSigningRequest csr) {
+        return csr.getRequestedBy() != null ? csr.getRequestedBy().getEmail() : auditLogger.currentActor();
+    }
+
+    private static String profile(CertificateType type) {
+        return type.name().toLowerCase();
+    }
+
     private String extractOrganizationFromSubject(String subject) {
         if (subject.contains("O=")) {
             String[] parts = subject.split(",");
@@ -604,18 +687,20 @@ public class CertificateServiceImpl implements CertificateService {
     @Override
     public Certificate issueServerCertificate(String serverName, Certificate issuer) {
         try {
-            KeyPair keyPair = cryptographyService.generateKeyPair(keySize);
+            String ca = PkiMetrics.ca(issuer);
+            KeyPair keyPair = generateKeyPair(SigningLane.END_ENTITY, ca, SERVER_PROFILE);
 
             // ✅ FIX: Валидация перед созданием
             LocalDateTime notBefore = LocalDateTime.now();
             LocalDateTime notAfter = notBefore.plusYears(endEntityValidityYears);
 
-            chainValidationService.validateIssuerBeforeSigning(issuer, notBefore, notAfter);
+            pkiMetrics.run(PkiStage.CHAIN_VALIDATION, ca, SERVER_PROFILE,
+                    () -> chainValidationService.validateIssuerBeforeSigning(issuer, notBefore, notAfter, SERVER_PROFILE));
 
             X509Certificate serverCert = buildServerCertificate(
                     "CN=" + serverName + ", O=PKI Server, C=RS",
                     keyPair.getPublic(),
-                    getIssuerPrivateKey(issuer),
+                    getIssuerPrivateKey(issuer, SERVER_PROFILE),
                     issuer,
                     endEntityValidityYears
             );
@@ -629,16 +714,19 @@ public class CertificateServiceImpl implements CertificateService {
                     .issuerCertificate(issuer)
                     .build();
 
-            Certificate savedCertificate = certificateRepository.saveAndFlush(certificate);
+            Certificate savedCertificate = pkiMetrics.record(PkiStage.PERSISTENCE, ca, SERVER_PROFILE, () -> {
+                Certificate saved = certificateRepository.saveAndFlush(certificate);
+                certificateIndexService.index(saved, serverCert);
+                privateKeyService.storePrivateKey(saved, keyPair.getPrivate(), masterKeyService.getCurrentMasterKey());
+                return saved;
+            });
 
-            SecretKey masterKey = masterKeyService.getCurrentMasterKey();
-            privateKeyService.storePrivateKey(savedCertificate, keyPair.getPrivate(), masterKey);
-
-            auditLogger.log("ISSUE_SERVER_CERT id=" + savedCertificate.getId(), "system");
+            auditLogger.success("ISSUE_SERVER_CERT", savedCertificate.getId(), issuer.getId(), serverName);
 
             return savedCertificate;
 
         } catch (Exception e) {
+            auditLogger.failure("ISSUE_SERVER_CERT", null, issuer.getId(), e.getMessage());
             throw new RuntimeException("Failed to create server certificate", e);
         }
     }
@@ -668,12 +756,9 @@ public class CertificateServiceImpl implements CertificateService {
         );
 
         addServerExtensions(certBuilder);
+        addRepositoryExtensions(certBuilder, issuerCert);
 
-        ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
-                .build(issuerPrivateKey);
-
-        return new JcaX509CertificateConverter()
-                .getCertificate(certBuilder.build(signer));
+        return sign(SigningLane.END_ENTITY, certBuilder, issuerPrivateKey, PkiMetrics.ca(issuerCert), SERVER_PROFILE);
     }
 
     private void addServerExtensions(X509v3CertificateBuilder certBuilder) throws Exception {
@@ -703,15 +788,39 @@ public class CertificateServiceImpl implements CertificateService {
         return certificateRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CertificateSummary> findAllSummaries() {
+        return certificateRepository.findAllSummaries();
+    }
+
     @Override
     public Optional<Certificate> findById(Long id) {
         return certificateRepository.findById(id);
     }
 
+    @Override
+    public Optional<Certificate> findDetailedById(Long id) {
+        return certificateRepository.findDetailedById(id);
+    }
+
     @Override
     public void delete(Long id) {
-        auditLogger.log("DELETE_CERTIFICATE id=" + id, "system");
+        // issuedCertificates больше не каскадируется: удалять CA вместе с поддеревом нельзя
+        if (certificateRepository.existsByIssuerCertificateId(id)) {
+            throw new IllegalArgumentException("Certificate " + id + " has issued certificates and cannot be deleted");
+        }
+        boolean ca = certificateRepository.findById(id)
+                .map(c -> c.getType() != CertificateType.END_ENTITY)
+                .orElse(false);
+        certificateIndexService.removeFromIndex(id);
+        privateKeyService.deletePrivateKey(certificateRepository.getReferenceById(id));
         certificateRepository.deleteById(id);
+        // Recorded once the delete ran; AuditLogger turns it into FAILURE if the transaction rolls back
+        auditLogger.success("DELETE_CERTIFICATE", id, null, null);
+        if (ca) {
+            eventPublisher.publishEvent(new CaCertificatesChangedEvent(id, "DELETED"));
+        }
     }
 
     @Override
@@ -747,17 +856,26 @@ public class CertificateServiceImpl implements CertificateService {
     }
 
     @Override
-    public List<Certificate> findAllByOrganization(String organizationName) {
-        return certificateRepository.findByOrganization(organizationName);
+    @Transactional(readOnly = true)
+    public List<CertificateSummary> findAllByOrganization(String organizationName) {
+        return certificateRepository.findSummariesByOrganization(organizationName);
     }
 
     @Override
-    public List<Certificate> findAllByOwnerId(Integer ownerId) {
-        return certificateRepository.findByOwnerId(ownerId);
+    @Transactional(readOnly = true)
+    public List<CertificateSummary> findAllByOwnerId(Integer ownerId) {
+        return certificateRepository.findSummariesByOwnerId(ownerId);
     }
 
     @Override
     public byte[] exportAsPkcs12(Long certId, String password) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        exportAsPkcs12(certId, password, baos);
+        return baos.toByteArray();
+    }
+
+    @Override
+    public void exportAsPkcs12(Long certId, String password, OutputStream out) {
         try {
             Certificate cert = certificateRepository.findById(certId)
                     .orElseThrow(() -> new IllegalArgumentException("Certificate not found"));
@@ -773,44 +891,61 @@ public class CertificateServiceImpl implements CertificateService {
             keyStore.setKeyEntry("key", privateKey, password.toCharArray(),
                     new java.security.cert.Certificate[]{x509Cert});
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            keyStore.store(baos, password.toCharArray());
-
-            auditLogger.log("EXPORT_PKCS12 certId=" + certId, "system");
+            // PBE key derivation runs on a signing thread; the (small) result is then copied to the caller's stream
+            out.write(exportKeyStore(cert, keyStore, password));
 
-            return baos.toByteArray();
+            auditLogger.success("EXPORT_PKCS12", certId, null, null);
 
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to export PKCS12", e);
         }
     }
 
     @Override
-    public Page<Certificate> search(CertificateStatus status, CertificateType type,
-                                    String organization, Pageable pageable) {
-        return certificateRepository.findAll(
-                Specification.where(CertificateSpecification.hasStatus(status))
-                        .and(CertificateSpecification.hasType(type))
-                        .and(CertificateSpecification.hasOrganization(organization)),
-                pageable
-        );
+    @Transactional(readOnly = true)
+    public CertificateSearchPage search(CertificateSearchFilter filter, CertificateSortKey sortKey,
+                                        String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        SearchCursor after = (cursor == null || cursor.isBlank()) ? null : SearchCursor.decode(cursor, sortKey);
+
+        Specification<Certificate> spec = CertificateSpecification.matching(filter);
+
+        // Fetch one extra row to know whether another page exists without a COUNT
+        List<CertificateSummary> rows = certificateRepository.searchSummaries(spec, sortKey, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<CertificateSummary> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            CertificateSummary last = content.get(content.size() - 1);
+            LocalDateTime value = sortKey == CertificateSortKey.VALID_TO ? last.validTo() : last.createdAt();
+            nextCursor = new SearchCursor(sortKey, value, last.id()).encode();
+        }
+
+        Long total = includeTotal ? certificateRepository.countMatching(spec) : null;
+        return new CertificateSearchPage(List.copyOf(content), pageSize, hasNext, nextCursor, total);
     }
 
+    @Transactional(readOnly = true)
     public List<CertificateDTO> getAllCertificatesByOwner(Long ownerId) {
-        List<Certificate> certificates = certificateRepository.findByOwnerId(Math.toIntExact(ownerId));
-        return certificates.stream().map(this::fromEntity).toList();
+        List<CertificateSummary> certificates = certificateRepository.findSummariesByOwnerId(Math.toIntExact(ownerId));
+        return certificates.stream().map(this::fromSummary).toList();
     }
 
-    private CertificateDTO fromEntity(Certificate certificate) {
+    private CertificateDTO fromSummary(CertificateSummary certificate) {
         CertificateDTO dto = new CertificateDTO();
-        dto.setId(certificate.getId());
-        dto.setSubject(certificate.getSubject());
-        dto.setIssuerId(certificate.getIssuerCertificate().getId());
-        dto.setValidFrom(certificate.getValidFrom());
-        dto.setValidTo(certificate.getValidTo());
-        dto.setType(certificate.getType().toString());
-        dto.setStatus(certificate.getStatus());
-        dto.setOrganization(certificate.getOrganization());
+        dto.setId(certificate.id());
+        dto.setSerialNumber(certificate.serialNumber());
+        dto.setSubject(certificate.subject());
+        dto.setIssuerId(certificate.issuerId());
+        dto.setValidFrom(certificate.validFrom());
+        dto.setValidTo(certificate.validTo());
+        dto.setType(certificate.type().toString());
+        dto.setStatus(certificate.status());
+        dto.setOrganization(certificate.organization());
+        dto.setOwnerId(certificate.ownerId() != null ? certificate.ownerId().longValue() : null);
         return dto;
     }
     public Path generateHttpsKeystore(String serverName, Long issuerId, String password) {
@@ -826,25 +961,25 @@ public class CertificateServiceImpl implements CertificateService {
             Certificate serverCert;
             if (!existing.isEmpty()) {
                 serverCert = existing.get(0);
-                System.out.println("✅ Found existing server certificate for HTTPS: " + serverCert.getSubject());
+                log.info("Found existing server certificate for HTTPS: {}", serverCert.getSubject());
             } else {
                 // 2️⃣ Выпускаем новый серверный сертификат
                 Certificate issuer = certificateRepository.findById(issuerId)
                         .orElseThrow(() -> new IllegalArgumentException("Issuer not found for HTTPS generation"));
                 serverCert = issueServerCertificate(serverName, issuer);
-                System.out.println("✅ Issued new server certificate for HTTPS: " + serverCert.getSubject());
+                log.info("Issued new server certificate for HTTPS: {}", serverCert.getSubject());
             }
 
-            // 3️⃣ Экспортируем PKCS#12 c цепочкой сертификатов
-            byte[] p12 = exportAsPkcs12WithChain(serverCert.getId(), password);
-
-            // 4️⃣ Сохраняем keystore.p12 в локальную папку
+            // 3️⃣ Экспортируем PKCS#12 c цепочкой сертификатов прямо в keystore.p12
             Path keystoreDir = Paths.get("keystore");
             Files.createDirectories(keystoreDir);
             Path p12Path = keystoreDir.resolve("keystore.p12");
-            Files.write(p12Path, p12, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            try (OutputStream out = Files.newOutputStream(p12Path,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                exportAsPkcs12WithChain(serverCert.getId(), password, out);
+            }
 
-            System.out.println("✅ HTTPS keystore generated at: " + p12Path.toAbsolutePath());
+            log.info("HTTPS keystore generated at {}", p12Path.toAbsolutePath());
             return p12Path;
 
         } catch (Exception e) {
@@ -856,6 +991,15 @@ public class CertificateServiceImpl implements CertificateService {
      * Экспортирует PKCS#12 файл с цепочкой сертификатов (сервер + CA + Root)
      */
     public byte[] exportAsPkcs12WithChain(Long certId, String password) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        exportAsPkcs12WithChain(certId, password, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * То же, но пишет PKCS#12 в поток (файл или HTTP-ответ); сам keystore собирается в буфере на signing-потоке.
+     */
+    public void exportAsPkcs12WithChain(Long certId, String password, OutputStream out) {
         try {
             Certificate cert = certificateRepository.findById(certId)
                     .orElseThrow(() -> new IllegalArgumentException("Certificate not found for PKCS12 export"));
@@ -869,11 +1013,8 @@ public class CertificateServiceImpl implements CertificateService {
             keyStore.load(null, null);
             keyStore.setKeyEntry("pki-server", privateKey, password.toCharArray(), chain);
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            keyStore.store(baos, password.toCharArray());
-            auditLogger.log("EXPORT_PKCS12_WITH_CHAIN certId=" + certId, "system");
-
-            return baos.toByteArray();
+            out.write(exportKeyStore(cert, keyStore, password));
+            auditLogger.success("EXPORT_PKCS12_WITH_CHAIN", certId, null, null);
         } catch (Exception e) {
             throw new RuntimeException("Failed to export PKCS12 with chain", e);
         }
@@ -884,13 +1025,22 @@ public class CertificateServiceImpl implements CertificateService {
      */
     private java.security.cert.Certificate[] buildCertificateChain(Certificate leaf) throws Exception {
         List<java.security.cert.Certificate> chain = new java.util.ArrayList<>();
-        chain.add(pemConverter.parseCertificate(leaf.getCertificateData()));
-
-        Certificate current = leaf.getIssuerCertificate();
-        while (current != null) {
+        // Вся цепочка двумя запросами, без ленивой загрузки по уровню
+        for (Certificate current : certificateRepository.findChain(leaf.getId())) {
             chain.add(pemConverter.parseCertificate(current.getCertificateData()));
-            current = current.getIssuerCertificate();
         }
         return chain.toArray(new java.security.cert.Certificate[0]);
     }
-}
\ No newline at end of file
+
+    private byte[] exportKeyStore(Certificate cert, KeyStore keyStore, String password) throws Exception {
+        String ca = PkiMetrics.ca(cert.getIssuerCertificate());
+        return signingExecutor.execute(SigningLane.EXPORT,
+                () -> pkiMetrics.record(PkiStage.KEYSTORE_EXPORT, ca, profile(cert.getType()), () -> storeKeyStore(keyStore, password)));
+    }
+
+    private static byte[] storeKeyStore(KeyStore keyStore, String password) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        keyStore.store(buffer, password.toCharArray());
+        return buffer.toByteArray();
+    }
+}
@@ -12,6 +12,8 @@ import org.bouncycastle.asn1.x509.GeneralName;
 import org.bouncycastle.asn1.x509.GeneralNames;
 import org.bouncycastle.pkcs.PKCS10CertificationRequest;
 import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -19,6 +21,9 @@ import java.util.List;
 
 @Service
 public class CertificateTemplateServiceImpl implements CertificateTemplateService {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateTemplateServiceImpl.class);
+
     private final PEMConverter pemConverter;
     private final CertificateTemplateRepository templateRepository;
 
@@ -89,11 +94,11 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
             if (template.getCnRegex() != null && !template.getCnRegex().isEmpty()) {
                 String cn = extractCN(subject);
                 if (cn == null || !cn.matches(template.getCnRegex())) {
-                    System.err.println("❌ CN validation failed: " + cn +
-                            " does not match regex: " + template.getCnRegex());
+                    log.atDebug().addKeyValue("templateId", template.getId()).addKeyValue("cn", cn)
+                            .addKeyValue("cnRegex", template.getCnRegex()).log("CN validation failed");
                     return false;
                 }
-                System.out.println("✅ CN validation passed: " + cn);
+                log.atTrace().addKeyValue("cn", cn).log("CN validation passed");
             }
 
             // 2. Валидация SAN по регулярному выражению
@@ -118,11 +123,11 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
                         String sanStr = sanBuilder.toString();
 
                         if (!sanStr.matches(template.getSanRegex())) {
-                            System.err.println("❌ SAN validation failed: " + sanStr +
-                                    " does not match regex: " + template.getSanRegex());
+                            log.atDebug().addKeyValue("templateId", template.getId()).addKeyValue("san", sanStr)
+                                    .addKeyValue("sanRegex", template.getSanRegex()).log("SAN validation failed");
                             return false;
                         }
-                        System.out.println("✅ SAN validation passed: " + sanStr);
+                        log.atTrace().addKeyValue("san", sanStr).log("SAN validation passed");
                     }
                 }
             }
@@ -130,41 +135,40 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
             // 3. ✅ FIX: Валидация TTL
             if (template.getMaxTtlDays() != null) {
                 if (requestedTtlDays == null) {
-                    System.err.println("⚠️ Warning: No TTL specified in request, " +
-                            "but template requires max TTL of " + template.getMaxTtlDays() + " days");
+                    log.atDebug().addKeyValue("templateId", template.getId()).addKeyValue("maxTtlDays", template.getMaxTtlDays())
+                            .log("No TTL specified in request, but template requires a max TTL");
                     // Можно либо отклонить, либо использовать дефолтное значение
                     // Для строгой валидации - отклоняем:
                     return false;
                 }
 
                 if (requestedTtlDays > template.getMaxTtlDays()) {
-                    System.err.println("❌ TTL validation failed: requested " + requestedTtlDays +
-                            " days exceeds maximum " + template.getMaxTtlDays() + " days");
+                    log.atDebug().addKeyValue("templateId", template.getId()).addKeyValue("requestedTtlDays", requestedTtlDays)
+                            .addKeyValue("maxTtlDays", template.getMaxTtlDays()).log("TTL validation failed");
                     return false;
                 }
-                System.out.println("✅ TTL validation passed: " + requestedTtlDays +
-                        " <= " + template.getMaxTtlDays());
+                log.atTrace().addKeyValue("requestedTtlDays", requestedTtlDays)
+                        .addKeyValue("maxTtlDays", template.getMaxTtlDays()).log("TTL validation passed");
             }
 
             // 4. Валидация Key Usage (опционально)
             if (template.getDefaultKeyUsage() != null && !template.getDefaultKeyUsage().isEmpty()) {
                 // В будущем можно проверять соответствие Key Usage из CSR
                 // с требуемыми значениями из шаблона
-                System.out.println("ℹ️ Template defines Key Usage: " + template.getDefaultKeyUsage());
+                log.atTrace().addKeyValue("keyUsage", template.getDefaultKeyUsage()).log("Template defines Key Usage");
             }
 
             // 5. Валидация Extended Key Usage (опционально)
             if (template.getDefaultExtendedKeyUsage() != null &&
                     !template.getDefaultExtendedKeyUsage().isEmpty()) {
-                System.out.println("ℹ️ Template defines Extended Key Usage: " +
-                        template.getDefaultExtendedKeyUsage());
+                log.atTrace().addKeyValue("extendedKeyUsage", template.getDefaultExtendedKeyUsage())
+                        .log("Template defines Extended Key Usage");
             }
 
-            System.out.println("✅ All template validations passed");
+            log.atDebug().addKeyValue("templateId", template.getId()).log("All template validations passed");
             return true;
 
         } catch (Exception e) {
-            System.err.println("❌ Template validation error: " + e.getMessage());
             throw new RuntimeException("Failed to validate CSR against template", e);
         }
     }
@@ -226,21 +230,21 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
             String actualOrg = extractO(subject);
 
             if (actualOrg == null) {
-                System.err.println("❌ No organization found in CSR");
+                log.debug("No organization found in CSR");
                 return false;
             }
 
             if (!actualOrg.equals(expectedOrg)) {
-                System.err.println("❌ Organization mismatch: expected '" + expectedOrg +
-                        "', found '" + actualOrg + "'");
+                log.atDebug().addKeyValue("expected", expectedOrg).addKeyValue("actual", actualOrg)
+                        .log("Organization mismatch");
                 return false;
             }
 
-            System.out.println("✅ Organization validation passed: " + actualOrg);
+            log.atTrace().addKeyValue("organization", actualOrg).log("Organization validation passed");
             return true;
 
         } catch (Exception e) {
-            System.err.println("❌ Organization validation error: " + e.getMessage());
+            log.atWarn().setCause(e).log("Organization validation error");
             return false;
         }
     }
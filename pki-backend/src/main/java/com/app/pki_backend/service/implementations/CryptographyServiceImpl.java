@@ -1,9 +1,11 @@
 package com.app.pki_backend.service.implementations;
 
 import com.app.pki_backend.service.interfaces.CryptographyService;
+import com.app.pki_backend.tracing.PkiTracing;
 import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.cert.bc.BcX509ExtensionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Cipher;
@@ -19,6 +21,10 @@ import java.util.Base64;
 @Service
 public class CryptographyServiceImpl implements CryptographyService {
 
+    // Serial number and SKI generation are too cheap to be worth a span
+    @Autowired
+    private PkiTracing pkiTracing;
+
     @Override
     public KeyPair generateKeyPair(int keySize) {
         try {
@@ -28,7 +34,7 @@ public class CryptographyServiceImpl implements CryptographyService {
             RSAKeyGenParameterSpec spec = new RSAKeyGenParameterSpec(keySize, RSAKeyGenParameterSpec.F4);
             keyPairGenerator.initialize(spec, new SecureRandom());
 
-            return keyPairGenerator.generateKeyPair();
+            return pkiTracing.traced("pki.crypto.rsa-keygen", keyPairGenerator::generateKeyPair);
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate key pair", e);
         }
@@ -64,7 +70,7 @@ public class CryptographyServiceImpl implements CryptographyService {
         try {
             KeyGenerator keyGen = KeyGenerator.getInstance("AES");
             keyGen.init(256);
-            return keyGen.generateKey();
+            return pkiTracing.traced("pki.crypto.aes-keygen", keyGen::generateKey);
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate AES key", e);
         }
@@ -77,7 +83,8 @@ public class CryptographyServiceImpl implements CryptographyService {
             cipher.init(Cipher.ENCRYPT_MODE, encryptionKey);
 
             byte[] privateKeyBytes = privateKey.getEncoded();
-            byte[] encryptedData = cipher.doFinal(privateKeyBytes);
+            byte[] encryptedData = pkiTracing.inSpan("pki.crypto.encrypt-key",
+                    () -> cipher.doFinal(privateKeyBytes));
             byte[] iv = cipher.getIV();
 
             // Combine IV + encrypted data
@@ -106,7 +113,8 @@ public class CryptographyServiceImpl implements CryptographyService {
             GCMParameterSpec gcmSpec = new GCMParameterSpec(128, iv);
             cipher.init(Cipher.DECRYPT_MODE, encryptionKey, gcmSpec);
 
-            byte[] decryptedData = cipher.doFinal(encrypted);
+            byte[] decryptedData = pkiTracing.inSpan("pki.crypto.decrypt-key",
+                    () -> cipher.doFinal(encrypted));
 
             PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decryptedData);
             KeyFactory keyFactory = KeyFactory.getInstance("RSA");
@@ -0,0 +1,176 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.dto.certificate.ExpiringCertificateRow;
+import com.app.pki_backend.repository.ExpiryNoticeRepository;
+import com.app.pki_backend.repository.UserRepository;
+import com.app.pki_backend.service.interfaces.ExpiryDigestService;
+import com.app.pki_backend.service.interfaces.MailOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One keyset pass over the validTo index collects everything due, grouped by recipient;
+ * each recipient gets a single digest through the mail outbox. The expiry_notices row per certificate
+ * remembers the threshold that was announced, so a rerun only sees certificates that reached the next one.
+ * Certificates without an owner (CA certificates) are reported to the active administrators.
+ */
+@Service
+public class ExpiryDigestServiceImpl implements ExpiryDigestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiryDigestServiceImpl.class);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final String NO_ORGANIZATION = "(no organization)";
+
+    @Autowired
+    private ExpiryNoticeRepository expiryNoticeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    // Descending, e.g. 30,7,1
+    private final int[] thresholdsDays;
+
+    @Value("${pki.expiry-digest.batch-size:500}")
+    private int batchSize;
+
+    public ExpiryDigestServiceImpl(@Value("${pki.expiry-digest.thresholds-days:30,7,1}") int[] thresholdsDays) {
+        if (thresholdsDays.length == 0 || Arrays.stream(thresholdsDays).anyMatch(d -> d <= 0)) {
+            throw new IllegalArgumentException("pki.expiry-digest.thresholds-days must be positive day counts");
+        }
+        this.thresholdsDays = Arrays.stream(thresholdsDays).boxed()
+                .sorted((a, b) -> b - a)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+    }
+
+    @Override
+    @Transactional
+    public int sendDigests() {
+        LocalDateTime now = LocalDateTime.now();
+        expiryNoticeRepository.deleteExpired(now);
+
+        List<ExpiringCertificateRow> due = collectDue(now);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        // recipient -> organization -> certificates
+        Map<String, Map<String, List<ExpiringCertificateRow>>> digests = new LinkedHashMap<>();
+        List<String> admins = null;
+        for (ExpiringCertificateRow row : due) {
+            List<String> recipients;
+            if (row.ownerEmail() != null) {
+                recipients = List.of(row.ownerEmail());
+            } else {
+                if (admins == null) {
+                    admins = userRepository.findActiveAdminEmails();
+                }
+                recipients = admins;
+            }
+            String organization = row.organization() != null ? row.organization() : NO_ORGANIZATION;
+            for (String recipient : recipients) {
+                digests.computeIfAbsent(recipient, r -> new TreeMap<>())
+                        .computeIfAbsent(organization, o -> new ArrayList<>())
+                        .add(row);
+            }
+        }
+
+        digests.forEach((recipient, byOrganization) ->
+                mailOutboxService.enqueue(recipient, subject(byOrganization), body(byOrganization, now)));
+
+        for (ExpiringCertificateRow row : due) {
+            int threshold = crossedThreshold(row.validTo(), now);
+            expiryNoticeRepository.upsert(row.id(), row.validTo(), threshold, now, nextNoticeAt(row.validTo(), threshold));
+        }
+
+        log.info("Enqueued {} expiry digest(s) covering {} certificate(s)", digests.size(), due.size());
+        return digests.size();
+    }
+
+    private List<ExpiringCertificateRow> collectDue(LocalDateTime now) {
+        LocalDateTime until = now.plusDays(thresholdsDays[0]);
+        List<ExpiringCertificateRow> due = new ArrayList<>();
+        LocalDateTime afterValidTo = now;
+        Long afterId = 0L;
+        List<ExpiringCertificateRow> page;
+        do {
+            page = expiryNoticeRepository.findDueForNotice(now, until, afterValidTo, afterId,
+                    PageRequest.of(0, batchSize));
+            due.addAll(page);
+            if (!page.isEmpty()) {
+                ExpiringCertificateRow last = page.get(page.size() - 1);
+                afterValidTo = last.validTo();
+                afterId = last.id();
+            }
+        } while (page.size() == batchSize);
+        return due;
+    }
+
+    /**
+     * Smallest threshold the certificate is already inside of.
+     */
+    private int crossedThreshold(LocalDateTime validTo, LocalDateTime now) {
+        int crossed = thresholdsDays[0];
+        for (int days : thresholdsDays) {
+            if (!validTo.isAfter(now.plusDays(days))) {
+                crossed = days;
+            }
+        }
+        return crossed;
+    }
+
+    /**
+     * When the next lower threshold is reached; validTo if this was the last one,
+     * which keeps the certificate out of later runs until it expires.
+     */
+    private LocalDateTime nextNoticeAt(LocalDateTime validTo, int threshold) {
+        for (int days : thresholdsDays) {
+            if (days < threshold) {
+                return validTo.minusDays(days);
+            }
+        }
+        return validTo;
+    }
+
+    private static String subject(Map<String, List<ExpiringCertificateRow>> byOrganization) {
+        int count = byOrganization.values().stream().mapToInt(List::size).sum();
+        return count == 1 ? "1 certificate is about to expire" : count + " certificates are about to expire";
+    }
+
+    private static String body(Map<String, List<ExpiringCertificateRow>> byOrganization, LocalDateTime now) {
+        StringBuilder text = new StringBuilder("The following certificates expire soon:\n");
+        byOrganization.forEach((organization, rows) -> {
+            text.append('\n').append(organization).append('\n');
+            for (ExpiringCertificateRow row : rows) {
+                long daysLeft = Math.max(0, Duration.between(now, row.validTo()).toDays());
+                text.append("  - ").append(row.subject())
+                        .append(" (serial ").append(row.serialNumber()).append(")")
+                        .append(", expires ").append(DATE_FORMAT.format(row.validTo()))
+                        .append(" (").append(daysLeft).append(daysLeft == 1 ? " day" : " days").append(")\n");
+            }
+        });
+        text.append("\nRenew them before they expire to avoid service interruptions.\n");
+        return text.toString();
+    }
+}
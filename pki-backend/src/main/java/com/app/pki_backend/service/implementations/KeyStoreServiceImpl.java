@@ -1,9 +1,15 @@
 package com.app.pki_backend.service.implementations;
 
 import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.exception.SigningCapacityException;
+import com.app.pki_backend.metrics.PkiMetrics;
+import com.app.pki_backend.metrics.PkiStage;
+import com.app.pki_backend.repository.CertificateRepository;
 import com.app.pki_backend.service.interfaces.KeyStoreService;
 import com.app.pki_backend.service.interfaces.PrivateKeyService;
 import com.app.pki_backend.service.interfaces.MasterKeyService;
+import com.app.pki_backend.signing.SigningExecutor;
+import com.app.pki_backend.signing.SigningLane;
 import com.app.pki_backend.util.PEMConverter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,6 +17,7 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.security.KeyStore;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
@@ -30,9 +37,18 @@ public class KeyStoreServiceImpl implements KeyStoreService {
     @Autowired
     private MasterKeyService masterKeyService;
 
+    @Autowired
+    private SigningExecutor signingExecutor;
+
+    @Autowired
+    private PkiMetrics pkiMetrics;
+
     @Autowired
     private PEMConverter pemConverter;
 
+    @Autowired
+    private CertificateRepository certificateRepository;
+
     private static final String PKCS12_TYPE = "PKCS12";
     private static final String JKS_TYPE = "JKS";
 
@@ -146,11 +162,25 @@ public class KeyStoreServiceImpl implements KeyStoreService {
 
     @Override
     public byte[] exportKeyStore(KeyStore keyStore, String password) {
-        try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            keyStore.store(outputStream, password.toCharArray());
-            return outputStream.toByteArray();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportKeyStore(keyStore, password, outputStream);
+        return outputStream.toByteArray();
+    }
 
+    @Override
+    public void exportKeyStore(KeyStore keyStore, String password, OutputStream out) {
+        try {
+            // PBE runs on a signing thread; the buffered keystore is copied to the caller's stream.
+            // No certificate context here, so the keystore type stands in for the profile tag
+            String profile = keyStore.getType().toLowerCase();
+            out.write(signingExecutor.execute(SigningLane.EXPORT,
+                    () -> pkiMetrics.record(PkiStage.KEYSTORE_EXPORT, PkiMetrics.NONE, profile, () -> {
+                        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                        keyStore.store(buffer, password.toCharArray());
+                        return buffer.toByteArray();
+                    })));
+        } catch (SigningCapacityException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to export keystore", e);
         }
@@ -173,21 +203,13 @@ public class KeyStoreServiceImpl implements KeyStoreService {
         try {
             List<X509Certificate> chain = new ArrayList<>();
 
-            // Start with the given certificate
-            Certificate currentCert = certificate;
+            // Leaf -> Root, loaded in one go instead of walking lazy issuer proxies
+            List<Certificate> certificates = certificate.getId() == null
+                    ? List.of(certificate)
+                    : certificateRepository.findChain(certificate.getId());
 
-            while (currentCert != null) {
-                // Convert to X509Certificate and add to chain
-                X509Certificate x509Cert = pemConverter.parseCertificate(currentCert.getCertificateData());
-                chain.add(x509Cert);
-
-                // Move to issuer certificate
-                currentCert = currentCert.getIssuerCertificate();
-
-                // Break if this is a self-signed root certificate
-                if (currentCert != null && currentCert.getId().equals(currentCert.getIssuerCertificate().getId())) {
-                    break;
-                }
+            for (Certificate current : certificates) {
+                chain.add(pemConverter.parseCertificate(current.getCertificateData()));
             }
 
             return chain;
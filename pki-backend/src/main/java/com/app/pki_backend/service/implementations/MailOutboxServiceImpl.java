@@ -0,0 +1,216 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.entity.OutboxMessage;
+import com.app.pki_backend.event.MailQueuedEvent;
+import com.app.pki_backend.repository.OutboxMessageRepository;
+import com.app.pki_backend.service.interfaces.MailOutboxService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivery runs outside any database transaction: due rows are read in one short transaction,
+ * sent as one batch over a single SMTP connection, and the outcome is written in another.
+ * Delivery is at-least-once: a crash between sending and recording resends the batch.
+ */
+@Service
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxServiceImpl.class);
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${pki.mail.from:${spring.mail.username:}}")
+    private String from;
+
+    @Value("${pki.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${pki.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${pki.mail.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${pki.mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    private final ExecutorService dispatchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mail-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+    @Override
+    @Transactional
+    public void enqueue(String recipient, String subject, String text) {
+        OutboxMessage message = outboxMessageRepository.save(new OutboxMessage(recipient, subject, text));
+        eventPublisher.publishEvent(new MailQueuedEvent(message.getId()));
+    }
+
+    /**
+     * Delivers right after the enqueuing transaction commits; the scheduled poll only picks up retries.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMailQueued(MailQueuedEvent event) {
+        if (dispatchPending.compareAndSet(false, true)) {
+            dispatchExecutor.execute(() -> {
+                dispatchPending.set(false);
+                try {
+                    while (dispatchBatch(batchSize) == batchSize) {
+                        // more due messages than one batch
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Mail outbox dispatch failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    @Override
+    public int dispatchBatch(int batchSize) {
+        // The wake-up thread and the scheduled poll must not send the same rows twice
+        if (!dispatchLock.tryLock()) {
+            return 0;
+        }
+        try {
+            List<OutboxMessage> due = transactionTemplate.execute(status ->
+                    outboxMessageRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize)));
+            if (due == null || due.isEmpty()) {
+                return 0;
+            }
+
+            Map<SimpleMailMessage, OutboxMessage> byMail = new IdentityHashMap<>();
+            for (OutboxMessage message : due) {
+                byMail.put(toMail(message), message);
+            }
+            Map<Object, Exception> failures = send(byMail.keySet().toArray(new SimpleMailMessage[0]));
+
+            List<Long> delivered = new ArrayList<>();
+            List<OutboxMessage> retried = new ArrayList<>();
+            byMail.forEach((mail, message) -> {
+                Exception failure = failures.get(mail);
+                if (failure == null) {
+                    delivered.add(message.getId());
+                } else {
+                    reschedule(message, failure);
+                    retried.add(message);
+                }
+            });
+
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxMessageRepository.deleteAllByIdInBatch(delivered);
+                outboxMessageRepository.saveAll(retried);
+            });
+            if (!retried.isEmpty()) {
+                log.warn("Mail outbox: {} delivered, {} rescheduled", delivered.size(), retried.size());
+            }
+            return due.size();
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    @Override
+    public long countPending() {
+        return outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchExecutor.shutdownNow();
+    }
+
+    /**
+     * @return failed messages (keys are the SimpleMailMessage instances), empty if all were accepted
+     */
+    private Map<Object, Exception> send(SimpleMailMessage[] mails) {
+        try {
+            mailSender.send(mails);
+            return Map.of();
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                return e.getFailedMessages();
+            }
+            return allFailed(mails, e);
+        } catch (MailException e) {
+            // Connection or authentication problem: nothing was sent
+            return allFailed(mails, e);
+        }
+    }
+
+    private static Map<Object, Exception> allFailed(SimpleMailMessage[] mails, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage mail : mails) {
+            failures.put(mail, e);
+        }
+        return failures;
+    }
+
+    private void reschedule(OutboxMessage message, Exception failure) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxMessage.Status.FAILED);
+            log.error("Giving up on mail {} to {} after {} attempts", message.getId(), message.getRecipient(), attempts);
+            return;
+        }
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        message.setNextAttemptAt(LocalDateTime.now().plusNanos(backoff * 1_000_000L));
+    }
+
+    private SimpleMailMessage toMail(OutboxMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        if (from != null && !from.isBlank()) {
+            mail.setFrom(from);
+        }
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        return mail;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
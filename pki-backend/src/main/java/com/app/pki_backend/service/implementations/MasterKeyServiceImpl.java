@@ -3,6 +3,8 @@ package com.app.pki_backend.service.implementations;
 import com.app.pki_backend.service.interfaces.CryptographyService;
 import com.app.pki_backend.service.interfaces.MasterKeyService;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -20,6 +22,8 @@ import java.util.Base64;
 @Service
 public class MasterKeyServiceImpl implements MasterKeyService {
 
+    private static final Logger log = LoggerFactory.getLogger(MasterKeyServiceImpl.class);
+
     @Autowired
     private CryptographyService cryptographyService;
 
@@ -42,14 +46,14 @@ public class MasterKeyServiceImpl implements MasterKeyService {
             Path keyFile = Paths.get(masterKeyStoragePath, currentMasterKeyId + ".key");
 
             if (Files.exists(keyFile)) {
-                System.out.println("🔑 Loading existing master key from: " + keyFile);
+                log.info("Loading existing master key from {}", keyFile);
                 currentMasterKey = loadMasterKeyFromFile(keyFile);
-                System.out.println("✅ Master key loaded successfully");
+                log.info("Master key loaded");
             } else {
-                System.out.println("🔑 No master key found, generating new one...");
+                log.info("No master key found, generating a new one");
                 currentMasterKey = generateMasterKey();
                 saveMasterKeyToFile(currentMasterKey, keyFile);
-                System.out.println("✅ New master key generated and saved to: " + keyFile);
+                log.info("New master key generated and saved to {}", keyFile);
             }
 
         } catch (Exception e) {
@@ -70,6 +74,11 @@ public class MasterKeyServiceImpl implements MasterKeyService {
         return currentMasterKey;
     }
 
+    @Override
+    public String getCurrentMasterKeyId() {
+        return currentMasterKeyId;
+    }
+
     @Override
     public void storeMasterKey(SecretKey masterKey, String keyId) {
         try {
@@ -130,7 +139,7 @@ public class MasterKeyServiceImpl implements MasterKeyService {
                     PosixFilePermissions.fromString("rw-------"));
         } catch (UnsupportedOperationException e) {
             // Windows не поддерживает POSIX permissions
-            System.out.println("⚠️ Cannot set POSIX permissions on this OS");
+            log.warn("Cannot set POSIX permissions on the master key file on this OS");
         }
     }
 
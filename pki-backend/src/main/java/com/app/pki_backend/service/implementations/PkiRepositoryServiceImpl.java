@@ -0,0 +1,234 @@
+package com.app.pki_backend.service.implementations;
+
+import com.app.pki_backend.dto.certificate.PkiRepositoryEntry;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.event.CaCertificatesChangedEvent;
+import com.app.pki_backend.event.CertificateRevokedEvent;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.PkiRepositoryService;
+import com.app.pki_backend.service.interfaces.RevocationService;
+import com.app.pki_backend.util.PEMConverter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bouncycastle.cert.X509CRLHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+public class PkiRepositoryServiceImpl implements PkiRepositoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(PkiRepositoryServiceImpl.class);
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private RevocationService revocationService;
+
+    @Autowired
+    private PEMConverter pemConverter;
+
+    @Value("${pki.repository.base-url}")
+    private String baseUrl;
+
+    @Value("${pki.repository.negative-cache-seconds:30}")
+    private long negativeCacheSeconds;
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pki-repository-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Replaced as a whole; CA certificates change a few times a year
+    private volatile Map<Long, PkiRepositoryEntry> caCertificates;
+
+    private final Map<Long, PkiRepositoryEntry> crls = new ConcurrentHashMap<>();
+
+    // CAs with a regeneration queued but not started yet; one is enough however many requests see a stale CRL
+    private final Set<Long> refreshPending = ConcurrentHashMap.newKeySet();
+
+    // Ids without a CRL to serve (unknown, not an active CA, first generation failed), so polling them
+    // does not reach the database on every request
+    private Cache<Long, Boolean> notServed;
+
+    @PostConstruct
+    public void init() {
+        notServed = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(negativeCacheSeconds))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @Override
+    public Optional<PkiRepositoryEntry> getCaCertificate(Long caId) {
+        Map<Long, PkiRepositoryEntry> current = caCertificates;
+        if (current == null) {
+            reloadCaCertificates();
+            current = caCertificates;
+        }
+        return Optional.ofNullable(current.get(caId));
+    }
+
+    @Override
+    public Optional<PkiRepositoryEntry> getCrl(Long caId) {
+        if (notServed.getIfPresent(caId) != null) {
+            return Optional.empty();
+        }
+        PkiRepositoryEntry crl = crls.computeIfAbsent(caId, this::loadCrl);
+        if (crl != null && crl.nextUpdate() != null && crl.nextUpdate().isBefore(Instant.now())) {
+            // Просроченный CRL отдаём, пока в фоне строится новый
+            scheduleRegeneration(caId);
+        }
+        return Optional.ofNullable(crl);
+    }
+
+    @Override
+    public String caIssuersUrl(Long caId) {
+        return baseUrl + "/pki/ca/" + caId + ".crt";
+    }
+
+    @Override
+    public String crlUrl(Long caId) {
+        return baseUrl + "/pki/crl/" + caId + ".crl";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshExecutor.execute(this::reloadCaCertificates);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCaCertificatesChanged(CaCertificatesChangedEvent event) {
+        notServed.invalidateAll();
+        refreshExecutor.execute(this::reloadCaCertificates);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificateRevoked(CertificateRevokedEvent event) {
+        if (event.issuerId() != null) {
+            scheduleRegeneration(event.issuerId());
+        }
+    }
+
+    // CRLs are re-signed well before nextUpdate even when nothing was revoked
+    @Scheduled(initialDelayString = "${pki.repository.crl-refresh-ms:3600000}",
+            fixedDelayString = "${pki.repository.crl-refresh-ms:3600000}")
+    public void refreshCrls() {
+        crls.keySet().forEach(this::scheduleRegeneration);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private synchronized void reloadCaCertificates() {
+        Map<Long, PkiRepositoryEntry> loaded = new HashMap<>();
+        for (Certificate ca : certificateRepository.findAllCaCertificates()) {
+            try {
+                X509Certificate x509 = pemConverter.parseCertificate(ca.getCertificateData());
+                loaded.put(ca.getId(), entry(x509.getEncoded(), x509.getNotBefore().toInstant(), null));
+            } catch (Exception e) {
+                log.warn("CA certificate {} could not be published", ca.getId(), e);
+            }
+        }
+        caCertificates = Map.copyOf(loaded);
+        log.info("PKI repository loaded {} CA certificates", loaded.size());
+    }
+
+    /**
+     * Queues a regeneration unless one is already waiting. The pending mark is cleared when the task
+     * starts, so a revocation committed during a running regeneration still gets its own run.
+     */
+    private void scheduleRegeneration(Long caId) {
+        if (!refreshPending.add(caId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                refreshPending.remove(caId);
+                regenerateCrl(caId);
+            });
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            refreshPending.remove(caId);
+        }
+    }
+
+    private void regenerateCrl(Long caId) {
+        Certificate ca = findActiveCa(caId);
+        if (ca == null) {
+            // revoked, expired or deleted CA: its CRL is no longer published
+            crls.remove(caId);
+            notServed.put(caId, Boolean.TRUE);
+            return;
+        }
+        try {
+            crls.put(caId, generateCrl(ca));
+        } catch (Exception e) {
+            // The previous CRL stays published; it is still signed and valid until its nextUpdate
+            log.warn("CRL for CA {} could not be regenerated, keeping the previous one", caId, e);
+        }
+    }
+
+    // First request for a CA; null when there is nothing to serve
+    private PkiRepositoryEntry loadCrl(Long caId) {
+        Certificate ca = findActiveCa(caId);
+        if (ca != null) {
+            try {
+                return generateCrl(ca);
+            } catch (Exception e) {
+                log.warn("CRL for CA {} could not be generated", caId, e);
+            }
+        }
+        notServed.put(caId, Boolean.TRUE);
+        return null;
+    }
+
+    private Certificate findActiveCa(Long caId) {
+        Certificate ca = certificateRepository.findById(caId).orElse(null);
+        if (ca == null || ca.getType() == CertificateType.END_ENTITY || ca.getStatus() != CertificateStatus.ACTIVE) {
+            return null;
+        }
+        return ca;
+    }
+
+    private PkiRepositoryEntry generateCrl(Certificate ca) throws Exception {
+        byte[] der = revocationService.generateCRL(ca);
+        X509CRLHolder holder = new X509CRLHolder(der);
+        return entry(der, holder.getThisUpdate().toInstant(),
+                holder.getNextUpdate() == null ? null : holder.getNextUpdate().toInstant());
+    }
+
+    private static PkiRepositoryEntry entry(byte[] der, Instant lastModified, Instant nextUpdate) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(der);
+        String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        return new PkiRepositoryEntry(der, etag, lastModified, nextUpdate);
+    }
+}
@@ -1,8 +1,10 @@
 package com.app.pki_backend.service.implementations;
 
 import com.app.pki_backend.entity.certificates.Certificate;
-import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.entity.certificates.StoredPrivateKey;
+import com.app.pki_backend.repository.PrivateKeyRepository;
 import com.app.pki_backend.service.interfaces.CryptographyService;
+import com.app.pki_backend.service.interfaces.MasterKeyService;
 import com.app.pki_backend.service.interfaces.PrivateKeyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -10,9 +12,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.crypto.SecretKey;
 import java.security.PrivateKey;
+import java.time.LocalDateTime;
 
 /**
  * Implementation of PrivateKeyService for managing private keys and key encryption operations.
+ * Keys live in the private_keys table, never on the certificate row.
  */
 @Service
 @Transactional
@@ -22,7 +26,10 @@ public class PrivateKeyServiceImpl implements PrivateKeyService {
     private CryptographyService cryptographyService;
 
     @Autowired
-    private CertificateRepository certificateRepository;
+    private MasterKeyService masterKeyService;
+
+    @Autowired
+    private PrivateKeyRepository privateKeyRepository;
 
     @Override
     public void storePrivateKey(Certificate certificate, PrivateKey privateKey, SecretKey masterKey) {
@@ -30,11 +37,15 @@ public class PrivateKeyServiceImpl implements PrivateKeyService {
             // Encrypt private key with master key
             String encryptedPrivateKey = cryptographyService.encryptPrivateKey(privateKey, masterKey);
 
-            // Store encrypted private key in certificate entity
-            certificate.setEncryptedPrivateKey(encryptedPrivateKey);
+            // One key per certificate: replace an existing entry
+            StoredPrivateKey entry = privateKeyRepository.findByCertificateId(certificate.getId())
+                    .orElseGet(StoredPrivateKey::new);
+            entry.setCertificate(certificate);
+            entry.setEncryptedKey(encryptedPrivateKey);
+            entry.setAlgorithm(privateKey.getAlgorithm());
+            entry.setMasterKeyId(masterKeyService.getCurrentMasterKeyId());
 
-            // Save certificate with encrypted private key
-            certificateRepository.save(certificate);
+            privateKeyRepository.save(entry);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to store private key for certificate: " + certificate.getId(), e);
@@ -42,18 +53,20 @@ public class PrivateKeyServiceImpl implements PrivateKeyService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PrivateKey retrievePrivateKey(Certificate certificate, SecretKey masterKey) {
         try {
-            // Check if private key exists
-            if (!hasPrivateKey(certificate)) {
-                throw new IllegalStateException("No private key found for certificate: " + certificate.getId());
-            }
+            StoredPrivateKey entry = privateKeyRepository.findByCertificateId(certificate.getId())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "No private key found for certificate: " + certificate.getId()));
 
-            // Get encrypted private key from certificate
-            String encryptedPrivateKey = certificate.getEncryptedPrivateKey();
+            // Key encrypted under an older master key version -> use that version
+            SecretKey decryptionKey = entry.getMasterKeyId().equals(masterKeyService.getCurrentMasterKeyId())
+                    ? masterKey
+                    : masterKeyService.retrieveMasterKey(entry.getMasterKeyId());
 
             // Decrypt private key using master key
-            return cryptographyService.decryptPrivateKey(encryptedPrivateKey, masterKey);
+            return cryptographyService.decryptPrivateKey(entry.getEncryptedKey(), decryptionKey);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to retrieve private key for certificate: " + certificate.getId(), e);
@@ -61,40 +74,40 @@ public class PrivateKeyServiceImpl implements PrivateKeyService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean hasPrivateKey(Certificate certificate) {
         return certificate != null &&
-               certificate.getEncryptedPrivateKey() != null &&
-               !certificate.getEncryptedPrivateKey().trim().isEmpty();
+               certificate.getId() != null &&
+               privateKeyRepository.existsByCertificateId(certificate.getId());
     }
 
     @Override
     public void deletePrivateKey(Certificate certificate) {
         try {
-            // Remove encrypted private key from certificate
-            certificate.setEncryptedPrivateKey(null);
-
-            // Save certificate without private key
-            certificateRepository.save(certificate);
-
+            privateKeyRepository.deleteByCertificateId(certificate.getId());
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete private key for certificate: " + certificate.getId(), e);
         }
     }
 
     @Override
-    public void reEncryptPrivateKey(Certificate certificate, SecretKey oldMasterKey, SecretKey newMasterKey) {
+    public void reEncryptPrivateKey(Certificate certificate, SecretKey oldMasterKey, SecretKey newMasterKey,
+                                    String newMasterKeyId) {
         try {
+            StoredPrivateKey entry = privateKeyRepository.findByCertificateId(certificate.getId())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "No private key found for certificate: " + certificate.getId()));
+
             // Retrieve private key with old master key
-            PrivateKey privateKey = retrievePrivateKey(certificate, oldMasterKey);
+            PrivateKey privateKey = cryptographyService.decryptPrivateKey(entry.getEncryptedKey(), oldMasterKey);
 
             // Re-encrypt with new master key
-            String newEncryptedPrivateKey = cryptographyService.encryptPrivateKey(privateKey, newMasterKey);
-
-            // Update certificate with new encrypted private key
-            certificate.setEncryptedPrivateKey(newEncryptedPrivateKey);
+            entry.setEncryptedKey(cryptographyService.encryptPrivateKey(privateKey, newMasterKey));
+            // Not the current id: during a rotation the new key is not current yet
+            entry.setMasterKeyId(newMasterKeyId);
+            entry.setRotatedAt(LocalDateTime.now());
 
-            // Save certificate
-            certificateRepository.save(certificate);
+            privateKeyRepository.save(entry);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to re-encrypt private key for certificate: " + certificate.getId(), e);
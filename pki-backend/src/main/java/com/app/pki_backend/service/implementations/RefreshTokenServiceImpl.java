@@ -1,47 +1,162 @@
 package com.app.pki_backend.service.implementations;
 import com.app.pki_backend.entity.RefreshToken;
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.event.UserChangedEvent;
 import com.app.pki_backend.repository.RefreshTokenRepository;
 import com.app.pki_backend.service.interfaces.RefreshTokenService;
 import com.app.pki_backend.util.TokenUtils;
-import jakarta.transaction.Transactional;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Date;
+import java.util.HexFormat;
 import java.util.Optional;
 
+/**
+ * Refresh tokens are looked up by SHA-256 of the JWT. Login upserts the user's single row, refresh
+ * rotates it with a compare-and-set on the old hash, so a replayed token loses the race and gets 401.
+ * A rotated token inherits the expiry of the one it replaces, so refreshing never prolongs a session.
+ * The optional in-memory tier (hash -> token with its user) serves lookups without touching SQLite;
+ * it is only a hint, the CAS in the database stays authoritative.
+ */
 @Service
 public class RefreshTokenServiceImpl implements RefreshTokenService {
-    @Autowired
-    private RefreshTokenRepository refreshTokenRepository;
 
-    @Autowired
-    private TokenUtils tokenUtils;
+    private final RefreshTokenRepository refreshTokenRepository;
 
-    @Override
-    public RefreshToken createRefreshToken(User user) {
+    private final TokenUtils tokenUtils;
 
-        // ИСПРАВЛЕНИЕ: Удаляем старый refresh token если существует
-        // Это необходимо из-за UNIQUE constraint на user_id
-        refreshTokenRepository.deleteByUser(user);
+    // null when pki.refresh-token.cache-enabled=false
+    private final Cache<String, RefreshToken> tokensByHash;
 
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setToken(tokenUtils.generateRefreshToken(user));
-        refreshToken.setExpiryDate(Instant.now().plusMillis(tokenUtils.getRefreshExpiresIn()));
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   TokenUtils tokenUtils,
+                                   @Value("${pki.refresh-token.cache-enabled:true}") boolean cacheEnabled,
+                                   @Value("${pki.refresh-token.cache-max-size:10000}") long cacheMaxSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenUtils = tokenUtils;
+        this.tokensByHash = cacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfterWrite(Duration.ofMillis(tokenUtils.getRefreshExpiresIn()))
+                        .build()
+                : null;
+    }
 
-        return refreshTokenRepository.save(refreshToken);
+    @Override
+    @Transactional
+    public RefreshToken createRefreshToken(User user) {
+        RefreshToken refreshToken = newToken(user, Instant.now().plusMillis(tokenUtils.getRefreshExpiresIn()));
+        refreshTokenRepository.upsert(user.getId(), refreshToken.getTokenHash(), refreshToken.getExpiresAt());
+        // the upsert replaced the previous token, its cached hash must not stay usable
+        forgetUser(user.getId());
+        remember(refreshToken);
+        return refreshToken;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        String hash = hash(token);
+        if (tokensByHash != null) {
+            RefreshToken cached = tokensByHash.getIfPresent(hash);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash);
+        stored.ifPresent(this::remember);
+        return stored;
+    }
+
+    @Override
+    @Transactional
+    public Optional<RefreshToken> rotate(RefreshToken current) {
+        forget(current.getTokenHash());
+
+        // The session keeps its original expiry: rotating does not extend it, only re-login does
+        RefreshToken next = newToken(current.getUser(), current.getExpiryDate());
+        int swapped = refreshTokenRepository.rotate(current.getTokenHash(), next.getTokenHash(),
+                next.getExpiresAt(), System.currentTimeMillis());
+        if (swapped == 0) {
+            return Optional.empty();
+        }
+        remember(next);
+        return Optional.of(next);
     }
 
     @Override
     @Transactional
     public void deleteByUser(User user) {
         refreshTokenRepository.deleteByUser(user);
+        forgetUser(user.getId());
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired(int batchSize) {
+        return refreshTokenRepository.deleteExpiredBatch(System.currentTimeMillis(), batchSize);
+    }
+
+    /**
+     * Role or suspension changes must not be baked into access tokens minted from a cached user.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (tokensByHash != null) {
+            tokensByHash.asMap().values().removeIf(t -> event.email().equals(t.getUser().getEmail()));
+        }
+    }
+
+    private RefreshToken newToken(User user, Instant expiresAt) {
+        String jwt = tokenUtils.generateRefreshToken(user, Date.from(expiresAt));
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setToken(jwt);
+        refreshToken.setTokenHash(hash(jwt));
+        refreshToken.setExpiryDate(expiresAt);
+        return refreshToken;
+    }
+
+    private void remember(RefreshToken refreshToken) {
+        if (tokensByHash != null) {
+            // The raw JWT is not kept in memory, only what a lookup needs
+            RefreshToken entry = new RefreshToken();
+            entry.setUser(refreshToken.getUser());
+            entry.setTokenHash(refreshToken.getTokenHash());
+            entry.setExpiryDate(refreshToken.getExpiryDate());
+            tokensByHash.put(entry.getTokenHash(), entry);
+        }
+    }
+
+    private void forget(String tokenHash) {
+        if (tokensByHash != null) {
+            tokensByHash.invalidate(tokenHash);
+        }
+    }
+
+    private void forgetUser(Integer userId) {
+        if (tokensByHash != null) {
+            tokensByHash.asMap().values().removeIf(t -> userId.equals(t.getUserId()));
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,45 @@
 package com.app.pki_backend.service.implementations;
 
+import com.app.pki_backend.audit.AuditLogger;
+import com.app.pki_backend.audit.AuditOutcome;
 import com.app.pki_backend.entity.certificates.Certificate;
 import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
 import com.app.pki_backend.entity.certificates.RevocationReason;
 import com.app.pki_backend.entity.certificates.RevokedCertificate;
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.event.CaCertificatesChangedEvent;
+import com.app.pki_backend.event.CertificateRevokedEvent;
+import com.app.pki_backend.metrics.PkiMetrics;
+import com.app.pki_backend.metrics.PkiStage;
 import com.app.pki_backend.repository.CertificateRepository;
 import com.app.pki_backend.repository.RevokedCertificateRepository;
+import com.app.pki_backend.service.interfaces.MasterKeyService;
+import com.app.pki_backend.service.interfaces.PrivateKeyService;
 import com.app.pki_backend.service.interfaces.RevocationService;
+import com.app.pki_backend.signing.SigningExecutor;
+import com.app.pki_backend.signing.SigningLane;
+import com.app.pki_backend.util.PEMConverter;
 import org.bouncycastle.asn1.ocsp.OCSPResponse;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.cert.jcajce.JcaX509v2CRLBuilder;
 import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.math.BigInteger;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
 
 @Service
@@ -20,11 +47,38 @@ public class RevocationServiceImpl implements RevocationService {
 
     private final RevokedCertificateRepository revokedRepository;
     private final CertificateRepository certificateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrivateKeyService privateKeyService;
+    private final MasterKeyService masterKeyService;
+    private final PEMConverter pemConverter;
+    private final SigningExecutor signingExecutor;
+    private final PkiMetrics pkiMetrics;
+    private final AuditLogger auditLogger;
+
+    // profile tag of CRL generation and CRL signing
+    private static final String CRL_PROFILE = "crl";
+
+    @Value("${pki.repository.crl-validity-hours:24}")
+    private long crlValidityHours;
 
     public RevocationServiceImpl(RevokedCertificateRepository revokedRepository,
-                                 CertificateRepository certificateRepository) {
+                                 CertificateRepository certificateRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PrivateKeyService privateKeyService,
+                                 MasterKeyService masterKeyService,
+                                 PEMConverter pemConverter,
+                                 SigningExecutor signingExecutor,
+                                 PkiMetrics pkiMetrics,
+                                 AuditLogger auditLogger) {
         this.revokedRepository = revokedRepository;
         this.certificateRepository = certificateRepository;
+        this.eventPublisher = eventPublisher;
+        this.privateKeyService = privateKeyService;
+        this.masterKeyService = masterKeyService;
+        this.pemConverter = pemConverter;
+        this.signingExecutor = signingExecutor;
+        this.pkiMetrics = pkiMetrics;
+        this.auditLogger = auditLogger;
     }
 
     @Override
@@ -39,12 +93,70 @@ public class RevocationServiceImpl implements RevocationService {
         revoked.setRevokedBy(revokedBy);
 
         revokedRepository.save(revoked);
+
+        Long issuerId = certificate.getIssuerCertificate() == null ? null : certificate.getIssuerCertificate().getId();
+        auditLogger.record(revokedBy != null ? revokedBy.getEmail() : auditLogger.currentActor(),
+                "REVOKE_CERTIFICATE", certificate.getId(), issuerId, AuditOutcome.SUCCESS, reason);
+        eventPublisher.publishEvent(new CertificateRevokedEvent(certificate.getId(), issuerId));
+        if (certificate.getType() != CertificateType.END_ENTITY) {
+            eventPublisher.publishEvent(new CaCertificatesChangedEvent(certificate.getId(), "REVOKED"));
+        }
     }
 
     @Override
     public byte[] generateCRL(Certificate issuer) {
-        // TODO: Реализовать через BouncyCastle (X509v2CRLGenerator)
-        return ("CRL for issuer " + issuer.getSerialNumber()).getBytes();
+        String ca = PkiMetrics.ca(issuer);
+        try {
+            return pkiMetrics.record(PkiStage.CRL_GENERATION, ca, CRL_PROFILE, () -> {
+                X509Certificate issuerCert = pemConverter.parseCertificate(issuer.getCertificateData());
+                PrivateKey issuerKey = pkiMetrics.record(PkiStage.CA_KEY_DECRYPTION, ca, CRL_PROFILE,
+                        () -> privateKeyService.retrievePrivateKey(issuer, masterKeyService.getCurrentMasterKey()));
+
+                Date thisUpdate = new Date();
+                X509v2CRLBuilder builder = new JcaX509v2CRLBuilder(issuerCert.getSubjectX500Principal(), thisUpdate);
+                builder.setNextUpdate(new Date(thisUpdate.getTime() + crlValidityHours * 60 * 60 * 1000L));
+
+                for (RevokedCertificate revoked : revokedRepository.findByIssuerId(issuer.getId())) {
+                    builder.addCRLEntry(
+                            revoked.getCertificate().getSerialNumber(),
+                            Date.from(revoked.getRevocationDate().atZone(ZoneId.systemDefault()).toInstant()),
+                            toCrlReason(revoked.getReason()));
+                }
+
+                // Monotonic without extra state: CRLs of one issuer are never generated twice per millisecond
+                builder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(thisUpdate.getTime())));
+                builder.addExtension(Extension.authorityKeyIdentifier, false,
+                        new JcaX509ExtensionUtils().createAuthorityKeyIdentifier(issuerCert));
+
+                return signingExecutor.execute(SigningLane.CA,
+                        () -> pkiMetrics.record(PkiStage.SIGNING, ca, CRL_PROFILE, () -> {
+                            ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA").build(issuerKey);
+                            return builder.build(signer).getEncoded();
+                        }));
+            });
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate CRL for issuer: " + issuer.getId(), e);
+        }
+    }
+
+    // RFC 5280 reason codes; value 7 is unused, so the enum ordinal cannot be used directly
+    private static int toCrlReason(RevocationReason reason) {
+        if (reason == null) {
+            return CRLReason.unspecified;
+        }
+        return switch (reason) {
+            case UNSPECIFIED -> CRLReason.unspecified;
+            case KEY_COMPROMISE -> CRLReason.keyCompromise;
+            case CA_COMPROMISE -> CRLReason.cACompromise;
+            case AFFILIATION_CHANGED -> CRLReason.affiliationChanged;
+            case SUPERSEDED -> CRLReason.superseded;
+            case CESSATION_OF_OPERATION -> CRLReason.cessationOfOperation;
+            case CERTIFICATE_HOLD -> CRLReason.certificateHold;
+            case REMOVE_FROM_CRL -> CRLReason.removeFromCRL;
+            case PRIVILEGE_WITHDRAWN -> CRLReason.privilegeWithdrawn;
+            case AA_COMPROMISE -> CRLReason.aACompromise;
+        };
     }
 
     @Override
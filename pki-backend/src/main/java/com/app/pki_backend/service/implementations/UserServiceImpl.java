@@ -1,17 +1,18 @@
 package com.app.pki_backend.service.implementations;
 
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.event.UserChangedEvent;
 import com.app.pki_backend.service.interfaces.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import com.app.pki_backend.dto.user.RegistrationRequestDTO;
 import com.app.pki_backend.entity.ActivationToken;
 
 import com.app.pki_backend.repository.UserRepository;
 import com.app.pki_backend.service.interfaces.ActivationTokenService;
+import com.app.pki_backend.service.interfaces.MailOutboxService;
 import jakarta.transaction.Transactional;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import java.util.Objects;
 
@@ -20,15 +21,18 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final ActivationTokenService activationTokenService;
-    private final JavaMailSender mailSender;
+    private final MailOutboxService mailOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository,
                            ActivationTokenService activationTokenService,
-                           JavaMailSender mailSender) {
+                           MailOutboxService mailOutboxService,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.activationTokenService = activationTokenService;
-        this.mailSender = mailSender;
+        this.mailOutboxService = mailOutboxService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -44,7 +48,14 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getEmail()));
+        return saved;
+    }
+
+    @Override
+    public User getReference(Integer userId) {
+        return userRepository.getReferenceById(userId);
     }
 
     @Override
@@ -60,6 +71,15 @@ public class UserServiceImpl implements UserService {
         return userRepository.save(user);
     }
 
+    @Override
+    @Transactional
+    public User registerInactive(RegistrationRequestDTO dto, String activationToken) {
+        User user = saveInactive(dto);
+        saveActivationToken(user, activationToken);
+        sendActivationEmail(user.getEmail(), activationToken);
+        return user;
+    }
+
     @Override
     public void saveActivationToken(User user, String token) {
         activationTokenService.createToken(user, token);
@@ -76,6 +96,7 @@ public class UserServiceImpl implements UserService {
                 user.setRole("USER");
                 userRepository.save(user);
                 activationTokenService.deleteToken(activationToken);
+                eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
                 return true;
             }
         }
@@ -86,11 +107,8 @@ public class UserServiceImpl implements UserService {
     public void sendActivationEmail(String email, String token) {
         String activationLink = "http://localhost:8080/api/users/activate?token=" + token;
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Activate your account");
-        message.setText("Click here to activate your account: " + activationLink);
-
-        mailSender.send(message);
+        // Goes through the outbox: no SMTP round trip inside the request
+        mailOutboxService.enqueue(email, "Activate your account",
+                "Click here to activate your account: " + activationLink);
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.app.pki_backend.service.interfaces;
+
+import com.app.pki_backend.dto.admin.AuditPageResponse;
+import com.app.pki_backend.dto.admin.AuditVerificationResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read side of the audit trail; events are written by {@link com.app.pki_backend.audit.AuditLogger}.
+ */
+public interface AuditService {
+
+    /**
+     * Events in [from, to), newest first, optionally of one actor.
+     * @param cursor nextCursor of the previous page, null for the first page
+     */
+    AuditPageResponse search(LocalDateTime from, LocalDateTime to, String actor, String cursor, int size);
+
+    /**
+     * Walks the whole table in id order and re-computes every link of the hash chain.
+     */
+    AuditVerificationResponse verifyChain();
+}
@@ -0,0 +1,31 @@
+package com.app.pki_backend.service.interfaces;
+
+import com.app.pki_backend.dto.certificate.CaBundleArtifact;
+import com.app.pki_backend.dto.certificate.CaBundleFormat;
+
+import java.util.Optional;
+
+/**
+ * Pre-rendered CA bundles (PEM, PKCS#7, PKCS#12 truststore) for the whole PKI and for every CA subtree.
+ * Reads are served from an immutable in-memory snapshot; the snapshot is rebuilt in the background
+ * when a CA is issued, revoked, deleted or expires.
+ */
+public interface CaBundleService {
+
+    /**
+     * @param caId CA whose subtree is requested (its issuers, itself and the CAs below it), null for the whole PKI
+     * @param format requested encoding
+     * @return artifact from the current snapshot, empty if the CA is unknown or not active
+     */
+    Optional<CaBundleArtifact> getArtifact(Long caId, CaBundleFormat format);
+
+    /**
+     * Schedule a background rebuild. Requests arriving while one is pending are coalesced.
+     */
+    void requestRebuild();
+
+    /**
+     * Rebuild the snapshot on the calling thread.
+     */
+    void rebuild();
+}
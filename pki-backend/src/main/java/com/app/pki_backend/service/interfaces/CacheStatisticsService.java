@@ -0,0 +1,24 @@
+package com.app.pki_backend.service.interfaces;
+
+import com.app.pki_backend.dto.admin.CacheStatsResponse;
+
+/**
+ * Exposes Hibernate second-level cache counters and manual eviction.
+ */
+public interface CacheStatisticsService {
+
+    /**
+     * Current counters of every configured cache region.
+     */
+    CacheStatsResponse getStatistics();
+
+    /**
+     * Reset all Hibernate statistics counters.
+     */
+    void resetStatistics();
+
+    /**
+     * Drop every cached entity and query result (e.g. after a manual DB fix).
+     */
+    void evictAll();
+}
@@ -0,0 +1,32 @@
+package com.app.pki_backend.service.interfaces;
+
+import com.app.pki_backend.entity.certificates.ArchivedCertificate;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Moves end-entity certificates past their retention window from the hot certificates table
+ * into archived_certificates, and looks them up there.
+ */
+public interface CertificateArchiveService {
+
+    /**
+     * Archive one batch in a single bounded transaction.
+     * @param cutoff certificates with validTo before this instant are archived
+     * @param batchSize maximum number of certificates moved
+     * @return number of certificates archived (0 when nothing is left)
+     */
+    int archiveBatch(LocalDateTime cutoff, int batchSize);
+
+    /**
+     * Slow-path lookup of an archived certificate by its original id.
+     */
+    Optional<ArchivedCertificate> findArchivedById(Long id);
+
+    /**
+     * Slow-path lookup of an archived certificate by serial number.
+     */
+    Optional<ArchivedCertificate> findArchivedBySerial(BigInteger serialNumber);
+}
@@ -0,0 +1,21 @@
+package com.app.pki_backend.service.interfaces;
+
+import com.app.pki_backend.dto.certificate.ExpiryBatchResult;
+
+import java.time.LocalDateTime;
+
+/**
+ * Switches certificates whose validity ended to {@code EXPIRED}, so that readers check status instead of dates.
+ */
+public interface CertificateExpiryService {
+
+    /**
+     * Expire one batch of ACTIVE certificates with validTo in (from, to], in its own transaction,
+     * and publish a {@link com.app.pki_backend.event.CertificateExpiredEvent}.
+     * @param from watermark of the previous run, null to scan everything up to {@code to}
+     * @param to upper bound (usually now)
+     * @param batchSize maximum number of certificates updated
+     * @return how many certificates were selected and how many of them were switched to EXPIRED
+     */
+    ExpiryBatchResult expireBatch(LocalDateTime from, LocalDateTime to, int batchSize);
+}
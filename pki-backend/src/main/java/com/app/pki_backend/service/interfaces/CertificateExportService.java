@@ -0,0 +1,27 @@
+package com.app.pki_backend.service.interfaces;
+
+import com.app.pki_backend.dto.certificate.CertificateExportFormat;
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Bulk export of certificates matching a search filter as a single ZIP archive.
+ */
+public interface CertificateExportService {
+
+    /**
+     * Write a ZIP with certs/&lt;serial&gt;.pem|der, chains/&lt;serial&gt;-chain.pem and an index.csv manifest.
+     * Rows are read in keyset pages and each page is written before the next is queried, so memory
+     * use does not depend on how many certificates match, nothing is buffered on disk and no
+     * transaction stays open while the client downloads.
+     * @param filter same filters as search
+     * @param issuerId only certificates issued directly by this CA, may be null
+     * @param format encoding of the certificate files
+     * @param out destination, not closed by this method
+     * @return number of certificates written
+     */
+    int exportBundle(CertificateSearchFilter filter, Long issuerId, CertificateExportFormat format,
+                     OutputStream out) throws IOException;
+}
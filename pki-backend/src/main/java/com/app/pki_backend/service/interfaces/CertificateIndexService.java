@@ -0,0 +1,33 @@
+package com.app.pki_backend.service.interfaces;
+
+import com.app.pki_backend.entity.certificates.Certificate;
+
+import java.security.cert.X509Certificate;
+
+/**
+ * Maintains the normalized lookup table used by certificate search
+ * (subject RDNs, SAN entries, SHA-256 fingerprint, SKI and serial).
+ */
+public interface CertificateIndexService {
+
+    /**
+     * Index a freshly persisted certificate.
+     * @param certificate saved certificate entity
+     * @param x509 parsed certificate, avoids parsing the PEM again
+     */
+    void index(Certificate certificate, X509Certificate x509);
+
+    /**
+     * Drop all lookup rows of a certificate (before it is deleted or archived).
+     * @param certificateId certificate id
+     */
+    void removeFromIndex(Long certificateId);
+
+    /**
+     * Index one batch of certificates that have no lookup rows yet.
+     * @param afterId only certificates with a greater id are considered
+     * @param batchSize maximum number of certificates to process
+     * @return id of the last certificate processed, or null when nothing is left
+     */
+    Long backfillBatch(Long afterId, int batchSize);
+}
@@ -1,13 +1,15 @@
 package com.app.pki_backend.service.interfaces;
 
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+import com.app.pki_backend.dto.certificate.CertificateSearchPage;
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
 import com.app.pki_backend.entity.certificates.CertificateSigningRequest;
 import com.app.pki_backend.entity.certificates.Certificate;
 import com.app.pki_backend.entity.certificates.CertificateStatus;
 import com.app.pki_backend.entity.certificates.CertificateType;
-import org.springframework.data.domain.Page;
-
-import org.springframework.data.domain.Pageable;
 
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -53,15 +55,40 @@ public interface CertificateService {
 
     List<Certificate> findAll();
     Optional<Certificate> findById(Long id);
+
+    /**
+     * Certificate with owner and issued certificates fetched in one statement (detail view).
+     */
+    Optional<Certificate> findDetailedById(Long id);
     void delete(Long id);
     Certificate issueRootWithTemplate(Long templateId);
     Certificate issueIntermediateWithTemplate(Long templateId, CertificateSigningRequest csr);
     Certificate issueEndEntityWithTemplate(Long templateId, CertificateSigningRequest csr);
-    List<Certificate> findAllByOrganization(String organizationName);
-    List<Certificate> findAllByOwnerId(Integer ownerId);
+
+    /**
+     * Listing views return summaries only; use findById / exportAsPkcs12 for the full certificate.
+     */
+    List<CertificateSummary> findAllSummaries();
+    List<CertificateSummary> findAllByOrganization(String organizationName);
+    List<CertificateSummary> findAllByOwnerId(Integer ownerId);
     byte[] exportAsPkcs12(Long certId, String password);
 
-    Page<Certificate> search(CertificateStatus status, CertificateType type, String organization, Pageable pageable);
+    /**
+     * Write a PKCS#12 with the certificate and its private key to {@code out}.
+     * The keystore (a few KB) is built in a buffer on a signing thread and then copied to {@code out}
+     * by the caller's thread, so a slow client never holds a signing thread.
+     * @param out destination, not closed
+     */
+    void exportAsPkcs12(Long certId, String password, OutputStream out);
+
+    /**
+     * Keyset search ordered by (sortKey, id).
+     * @param filter status/type/organization plus indexed CN, SAN, fingerprint, SKI and serial filters
+     * @param cursor opaque token from the previous page, null for the first page
+     * @param includeTotal run an extra COUNT query and fill totalElements
+     */
+    CertificateSearchPage search(CertificateSearchFilter filter, CertificateSortKey sortKey,
+                                 String cursor, int size, boolean includeTotal);
 
     Path generateHttpsKeystore(String serverName, Long issuerId, String ksPassword);
 
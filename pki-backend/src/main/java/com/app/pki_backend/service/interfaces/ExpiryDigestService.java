@@ -0,0 +1,13 @@
+package com.app.pki_backend.service.interfaces;
+
+/**
+ * Expiry digests: one email per recipient listing their certificates that crossed a notice threshold.
+ */
+public interface ExpiryDigestService {
+
+    /**
+     * Collects certificates due for a notice, enqueues one digest per recipient and records what was sent.
+     * @return number of digests enqueued
+     */
+    int sendDigests();
+}
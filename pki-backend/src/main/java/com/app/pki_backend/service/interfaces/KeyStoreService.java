@@ -3,6 +3,7 @@ package com.app.pki_backend.service.interfaces;
 import com.app.pki_backend.entity.certificates.Certificate;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.security.KeyStore;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
@@ -66,6 +67,15 @@ public interface KeyStoreService {
      */
     byte[] exportKeyStore(KeyStore keyStore, String password);
 
+    /**
+     * Write keystore to an output stream (e.g. the HTTP response). It is encoded into a buffer on a
+     * signing thread and copied to {@code out} by the calling thread.
+     * @param keyStore KeyStore to export
+     * @param password Password for the keystore
+     * @param out destination, not closed
+     */
+    void exportKeyStore(KeyStore keyStore, String password, OutputStream out);
+
     /**
      * Import keystore from byte array or input stream.
      * @param keystoreData Input stream containing keystore data
@@ -0,0 +1,21 @@
+package com.app.pki_backend.service.interfaces;
+
+/**
+ * Transactional outbox for outgoing email. Callers enqueue inside their own transaction;
+ * delivery happens later on a background thread with retry and backoff.
+ */
+public interface MailOutboxService {
+
+    /**
+     * Stores the message in the outbox as part of the caller's transaction.
+     */
+    void enqueue(String recipient, String subject, String text);
+
+    /**
+     * Sends up to batchSize due messages over one SMTP connection.
+     * @return number of messages handled (delivered or rescheduled), 0 if nothing was due
+     */
+    int dispatchBatch(int batchSize);
+
+    long countPending();
+}
@@ -20,6 +20,12 @@ public interface MasterKeyService {
      */
     SecretKey getCurrentMasterKey();
 
+    /**
+     * Identifier (version) of the current master key, stored next to every encrypted private key.
+     * @return current master key ID
+     */
+    String getCurrentMasterKeyId();
+
     /**
      * Store master key securely (in HSM, key vault, or secure storage).
      * @param masterKey Master key to store
@@ -0,0 +1,33 @@
+package com.app.pki_backend.service.interfaces;
+
+import com.app.pki_backend.dto.certificate.PkiRepositoryEntry;
+
+import java.util.Optional;
+
+/**
+ * Public read-only repository of CA certificates and CRLs referenced from the
+ * authorityInfoAccess (caIssuers) and cRLDistributionPoints extensions of issued certificates.
+ * Everything is served from memory; the database is only read when the content changes.
+ */
+public interface PkiRepositoryService {
+
+    /**
+     * DER encoded CA certificate, for any CA status so that existing AIA URLs keep resolving.
+     */
+    Optional<PkiRepositoryEntry> getCaCertificate(Long caId);
+
+    /**
+     * Latest DER encoded CRL of the CA, generated on first use if it is not in memory yet.
+     */
+    Optional<PkiRepositoryEntry> getCrl(Long caId);
+
+    /**
+     * @return URL put into the caIssuers access description of certificates issued by this CA
+     */
+    String caIssuersUrl(Long caId);
+
+    /**
+     * @return URL put into the CRL distribution point of certificates issued by this CA
+     */
+    String crlUrl(Long caId);
+}
@@ -45,6 +45,7 @@ public interface PrivateKeyService {
      * @param certificate Certificate to re-encrypt private key for
      * @param oldMasterKey Old master key
      * @param newMasterKey New master key
+     * @param newMasterKeyId Id of the new master key, stored with the key so it can be decrypted later
      */
-    void reEncryptPrivateKey(Certificate certificate, SecretKey oldMasterKey, SecretKey newMasterKey);
+    void reEncryptPrivateKey(Certificate certificate, SecretKey oldMasterKey, SecretKey newMasterKey, String newMasterKeyId);
 }
@@ -10,5 +10,17 @@ public interface RefreshTokenService {
 
     Optional<RefreshToken> findByToken(String token);
 
+    /**
+     * Replaces the given (current) token with a new one.
+     * Empty if it was rotated or revoked concurrently, i.e. the presented token was already used.
+     */
+    Optional<RefreshToken> rotate(RefreshToken current);
+
     void deleteByUser(User user);
-}
\ No newline at end of file
+
+    /**
+     * Deletes at most batchSize expired tokens.
+     * @return number of rows deleted
+     */
+    int purgeExpired(int batchSize);
+}
@@ -5,6 +5,12 @@ import com.app.pki_backend.dto.user.RegistrationRequestDTO;
 
 public interface UserService {
     User saveInactive(RegistrationRequestDTO dto);
+
+    /**
+     * Saves the inactive user, its activation token and the activation email (outbox) in one transaction.
+     * The email is delivered asynchronously after commit.
+     */
+    User registerInactive(RegistrationRequestDTO dto, String activationToken);
     void saveActivationToken(User user, String token);
     boolean activateUser(String token);
     void sendActivationEmail(String email, String token);
@@ -13,4 +19,9 @@ public interface UserService {
 
     User findById(Integer userId);
 
+    /**
+     * Lazy reference for associations (requestedBy, revokedBy...) without loading the user.
+     */
+    User getReference(Integer userId);
+
 }
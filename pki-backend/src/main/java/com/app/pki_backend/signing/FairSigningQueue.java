@@ -0,0 +1,100 @@
+package com.app.pki_backend.signing;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Strict priority across lanes, deficit round robin across organizations inside a lane: each
+ * organization with queued work gets up to its weight in tasks per round, so one tenant's burst
+ * only delays its own tasks. Not thread-safe; SigningExecutor guards it with its lock.
+ */
+class FairSigningQueue {
+
+    static final class Flow {
+        final String organization;
+        final int weight;
+        final ArrayDeque<SigningTask<?>> tasks = new ArrayDeque<>();
+        int deficit;
+
+        Flow(String organization, int weight) {
+            this.organization = organization;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Lane {
+        final Map<String, Flow> flows = new HashMap<>();
+        // Flows with queued tasks, in service order
+        final ArrayDeque<Flow> active = new ArrayDeque<>();
+        int size;
+    }
+
+    private final Map<SigningLane, Lane> lanes = new EnumMap<>(SigningLane.class);
+    private final Map<String, Integer> weights;
+    private int size;
+
+    FairSigningQueue(Map<String, Integer> weights) {
+        this.weights = weights;
+        for (SigningLane lane : SigningLane.values()) {
+            lanes.put(lane, new Lane());
+        }
+    }
+
+    void add(SigningTask<?> task) {
+        Lane lane = lanes.get(task.lane());
+        Flow flow = lane.flows.computeIfAbsent(task.organization(),
+                org -> new Flow(org, Math.max(1, weights.getOrDefault(org, 1))));
+        if (flow.tasks.isEmpty()) {
+            flow.deficit = flow.weight;
+            lane.active.addLast(flow);
+        }
+        flow.tasks.addLast(task);
+        lane.size++;
+        size++;
+    }
+
+    /**
+     * @return next task, null if empty
+     */
+    SigningTask<?> poll() {
+        for (SigningLane laneKey : SigningLane.values()) {
+            Lane lane = lanes.get(laneKey);
+            if (lane.size > 0) {
+                return poll(lane);
+            }
+        }
+        return null;
+    }
+
+    private SigningTask<?> poll(Lane lane) {
+        while (true) {
+            Flow flow = lane.active.peekFirst();
+            if (flow.deficit <= 0) {
+                // Round used up: back of the line with a fresh quantum
+                lane.active.pollFirst();
+                flow.deficit = flow.weight;
+                lane.active.addLast(flow);
+                continue;
+            }
+            SigningTask<?> task = flow.tasks.pollFirst();
+            flow.deficit--;
+            if (flow.tasks.isEmpty()) {
+                lane.active.pollFirst();
+                lane.flows.remove(flow.organization);
+            }
+            lane.size--;
+            size--;
+            return task;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int size(SigningLane lane) {
+        return lanes.get(lane).size;
+    }
+}
@@ -0,0 +1,259 @@
+package com.app.pki_backend.signing;
+
+import com.app.pki_backend.dto.admin.SigningLaneStats;
+import com.app.pki_backend.dto.admin.SigningStatsResponse;
+import com.app.pki_backend.exception.SigningCapacityException;
+import com.app.pki_backend.ratelimit.SigningLatency;
+import com.app.pki_backend.security.auth.UserPrincipal;
+import com.app.pki_backend.tracing.PkiTracing;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs all private-key operations (key generation, certificate/CRL signing, PKCS#12 PBE) on a fixed
+ * pool of signing threads. Servlet threads only wait for the result, so CPU-heavy work is bounded
+ * by the pool size and ordered by lane priority and per-organization fair queuing
+ * ({@link FairSigningQueue}) instead of by whoever grabbed a request thread first.
+ * Queue depth and queue wait per lane, active threads and rejections are exported as pki.signing.* meters.
+ */
+@Component
+public class SigningExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningExecutor.class);
+
+    static final String SYSTEM_ORGANIZATION = "system";
+
+    private static final ThreadLocal<Boolean> ON_SIGNING_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private static final class LaneCounters {
+        final LongAdder started = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        Timer waitTimer;
+    }
+
+    @Value("${pki.signing.threads:0}")
+    private int configuredThreads;
+
+    @Value("${pki.signing.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${pki.signing.timeout-ms:30000}")
+    private long timeoutMs;
+
+    // "OrgA=3,OrgB=2": share of signing capacity relative to the default weight 1
+    @Value("${pki.signing.organization-weights:}")
+    private String organizationWeights;
+
+    // noop until injected; unit tests construct the executor directly
+    @Autowired
+    private PkiTracing pkiTracing = PkiTracing.noop();
+
+    @Autowired
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<SigningLane, LaneCounters> counters = new EnumMap<>(SigningLane.class);
+    private final AtomicInteger activeThreads = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private FairSigningQueue queue;
+    private List<Thread> workers;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new FairSigningQueue(parseWeights(organizationWeights));
+        for (SigningLane lane : SigningLane.values()) {
+            LaneCounters c = new LaneCounters();
+            c.waitTimer = Timer.builder("pki.signing.queue.wait")
+                    .description("Time a signing operation waited in the queue for a signing thread")
+                    .tag("lane", lane.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            counters.put(lane, c);
+            Gauge.builder("pki.signing.queue.depth", this, executor -> executor.queueSize(lane))
+                    .description("Signing operations waiting for a signing thread")
+                    .tag("lane", lane.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("pki.signing.threads.active", activeThreads, AtomicInteger::get)
+                .description("Signing threads currently running an operation")
+                .register(meterRegistry);
+        FunctionCounter.builder("pki.signing.rejected", rejected, LongAdder::sum)
+                .description("Signing operations rejected because the queue was full or the wait timed out")
+                .register(meterRegistry);
+
+        int threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        running = true;
+        workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::work, "signing-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Runs the operation on a signing thread on behalf of the current user's organization and waits for it.
+     * Called from a signing thread (nested operation) it runs inline.
+     *
+     * @throws SigningCapacityException if the queue is full or the result does not arrive within the timeout
+     */
+    public <T> T execute(SigningLane lane, Callable<T> operation) throws Exception {
+        if (ON_SIGNING_THREAD.get()) {
+            return operation.call();
+        }
+        SigningTask<T> task = new SigningTask<>(lane, currentOrganization(), pkiTracing.propagate(operation));
+        long startNanos = System.nanoTime();
+
+        lock.lock();
+        try {
+            if (queue.size() >= queueCapacity) {
+                rejected.increment();
+                throw new SigningCapacityException("Signing queue is full, retry later");
+            }
+            queue.add(task);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            return task.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(false);
+            rejected.increment();
+            throw new SigningCapacityException("Signing did not complete within " + timeoutMs + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            // feeds the concurrency limit of the calling request
+            SigningLatency.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public SigningStatsResponse getStatistics() {
+        List<SigningLaneStats> lanes = new ArrayList<>();
+        lock.lock();
+        try {
+            for (SigningLane lane : SigningLane.values()) {
+                LaneCounters c = counters.get(lane);
+                long started = c.started.sum();
+                lanes.add(new SigningLaneStats(lane.name(), queue.size(lane), started,
+                        started == 0 ? 0 : c.waitNanos.sum() / 1e6 / started,
+                        c.maxWaitNanos.get() / 1e6));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new SigningStatsResponse(workers.size(), activeThreads.get(), queueCapacity, rejected.sum(), lanes);
+    }
+
+    private int queueSize(SigningLane lane) {
+        lock.lock();
+        try {
+            return queue.size(lane);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        ON_SIGNING_THREAD.set(true);
+        while (running) {
+            SigningTask<?> task;
+            lock.lock();
+            try {
+                while ((task = queue.poll()) == null) {
+                    notEmpty.await();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (task.isCancelled()) {
+                continue; // the caller already gave up
+            }
+            long waited = System.nanoTime() - task.enqueuedNanos();
+            LaneCounters c = counters.get(task.lane());
+            c.started.increment();
+            c.waitNanos.add(waited);
+            c.maxWaitNanos.accumulateAndGet(waited, Math::max);
+            c.waitTimer.record(waited, TimeUnit.NANOSECONDS);
+
+            activeThreads.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeThreads.decrementAndGet();
+            }
+        }
+    }
+
+    private static String currentOrganization() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.organizationName() != null) {
+            return principal.organizationName();
+        }
+        // Scheduled jobs, startup initialization and async exports
+        return SYSTEM_ORGANIZATION;
+    }
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return weights;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                log.warn("Ignoring malformed signing weight '{}'", entry);
+                continue;
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
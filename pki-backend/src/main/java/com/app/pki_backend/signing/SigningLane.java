@@ -0,0 +1,14 @@
+package com.app.pki_backend.signing;
+
+/**
+ * Priority lanes of the signing executor, highest first. A lane is only served while all lanes
+ * before it are empty, so CA work never waits behind a burst of end-entity or export work.
+ */
+public enum SigningLane {
+    /** Root/intermediate key generation and signing, CRL signing */
+    CA,
+    /** End-entity, CSR and server certificate issuance */
+    END_ENTITY,
+    /** PKCS#12 export (PBE key derivation) */
+    EXPORT
+}
@@ -0,0 +1,33 @@
+package com.app.pki_backend.signing;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Queued private-key operation with the lane, organization and enqueue time used for scheduling and metrics.
+ */
+final class SigningTask<T> extends FutureTask<T> {
+
+    private final SigningLane lane;
+    private final String organization;
+    private final long enqueuedNanos;
+
+    SigningTask(SigningLane lane, String organization, Callable<T> callable) {
+        super(callable);
+        this.lane = lane;
+        this.organization = organization;
+        this.enqueuedNanos = System.nanoTime();
+    }
+
+    SigningLane lane() {
+        return lane;
+    }
+
+    String organization() {
+        return organization;
+    }
+
+    long enqueuedNanos() {
+        return enqueuedNanos;
+    }
+}
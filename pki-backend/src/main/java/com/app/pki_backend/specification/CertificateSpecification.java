@@ -1,10 +1,19 @@
 package com.app.pki_backend.specification;
 
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
 import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateIdentifier;
 import com.app.pki_backend.entity.certificates.CertificateStatus;
 import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.entity.certificates.IdentifierType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Set;
+
 public class CertificateSpecification {
 
     public static Specification<Certificate> hasStatus(CertificateStatus status) {
@@ -18,4 +27,44 @@ public class CertificateSpecification {
     public static Specification<Certificate> hasOrganization(String organization) {
         return (root, query, cb) -> organization == null ? null : cb.equal(root.get("organization"), organization);
     }
+
+    public static Specification<Certificate> issuedBy(Long issuerId) {
+        return (root, query, cb) -> issuerId == null ? null : cb.equal(root.get("issuerCertificate").get("id"), issuerId);
+    }
+
+    /**
+     * id IN (lookup rows of the given types whose value matches).
+     * Prefix match is written as a range so it is served by the (type, value) index on any database.
+     */
+    public static Specification<Certificate> hasIdentifier(Set<IdentifierType> types, String raw, boolean prefix) {
+        return (root, query, cb) -> {
+            if (raw == null || raw.isBlank()) {
+                return null;
+            }
+            // all types passed together share one normalization (text or hex)
+            String value = types.iterator().next().normalize(raw);
+
+            Subquery<Long> lookup = query.subquery(Long.class);
+            Root<CertificateIdentifier> identifier = lookup.from(CertificateIdentifier.class);
+            Path<String> column = identifier.get("value");
+            Predicate match = prefix
+                    ? cb.and(cb.greaterThanOrEqualTo(column, value), cb.lessThan(column, value + Character.MAX_VALUE))
+                    : cb.equal(column, value);
+
+            lookup.select(identifier.get("certificate").get("id"))
+                    .where(identifier.get("type").in(types), match);
+            return root.get("id").in(lookup);
+        };
+    }
+
+    public static Specification<Certificate> matching(CertificateSearchFilter filter) {
+        return Specification.where(hasStatus(filter.status()))
+                .and(hasType(filter.type()))
+                .and(hasOrganization(filter.organization()))
+                .and(hasIdentifier(Set.of(IdentifierType.COMMON_NAME), filter.commonName(), filter.prefix()))
+                .and(hasIdentifier(IdentifierType.SAN_TYPES, filter.san(), filter.prefix()))
+                .and(hasIdentifier(Set.of(IdentifierType.FINGERPRINT_SHA256), filter.fingerprint(), filter.prefix()))
+                .and(hasIdentifier(Set.of(IdentifierType.SUBJECT_KEY_ID), filter.ski(), filter.prefix()))
+                .and(hasIdentifier(Set.of(IdentifierType.SERIAL), filter.serial(), filter.prefix()));
+    }
 }
@@ -0,0 +1,135 @@
+package com.app.pki_backend.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Spans for PKI work below the HTTP layer (controller entry spans come from Spring's server observation).
+ * PKI stage spans carry the pki.ca and pki.profile attributes, infrastructure spans (repositories, crypto
+ * primitives) only a name; which spans are kept is decided by the sampler
+ * (management.tracing.sampling.probability), an unsampled span only costs the scope bookkeeping.
+ * Without a Tracer bean (management.tracing.enabled=false) everything runs untraced.
+ */
+@Component
+public class PkiTracing {
+
+    public static final String CA = "pki.ca";
+    public static final String PROFILE = "pki.profile";
+
+    private static final PkiTracing NOOP = new PkiTracing(Tracer.NOOP);
+
+    private final Tracer tracer;
+
+    @Autowired
+    public PkiTracing(ObjectProvider<Tracer> tracer) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    PkiTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    public static PkiTracing noop() {
+        return NOOP;
+    }
+
+    /**
+     * Span without PKI attributes, for calls that do not know the CA or profile they serve.
+     */
+    public <T> T inSpan(String name, Callable<T> work) throws Exception {
+        return inSpan(name, null, null, work);
+    }
+
+    public <T> T inSpan(String name, String ca, String profile, Callable<T> work) throws Exception {
+        Span span = start(name, ca, profile);
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return work.call();
+        } catch (Exception e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    public <T> T traced(String name, Supplier<T> work) {
+        return traced(name, null, null, work);
+    }
+
+    /**
+     * Same as {@link #inSpan} for work that only throws unchecked exceptions.
+     */
+    public <T> T traced(String name, String ca, String profile, Supplier<T> work) {
+        Span span = start(name, ca, profile);
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return work.get();
+        } catch (RuntimeException | Error e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    public void run(String name, String ca, String profile, Runnable work) {
+        traced(name, ca, profile, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public boolean hasCurrentSpan() {
+        return current() != null;
+    }
+
+    /**
+     * Makes the caller's current span the parent of spans started by the work on another thread
+     * (signing workers, export executor).
+     */
+    public <T> Callable<T> propagate(Callable<T> work) {
+        Span parent = current();
+        if (parent == null) {
+            return work;
+        }
+        return () -> {
+            try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+                return work.call();
+            }
+        };
+    }
+
+    public Runnable propagate(Runnable work) {
+        Span parent = current();
+        if (parent == null) {
+            return work;
+        }
+        return () -> {
+            try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+                work.run();
+            }
+        };
+    }
+
+    // Tracer.NOOP reports a no-op span as current, which is as good as none
+    private Span current() {
+        Span span = tracer.currentSpan();
+        return span == null || span.isNoop() ? null : span;
+    }
+
+    private Span start(String name, String ca, String profile) {
+        Span span = tracer.nextSpan().name(name);
+        if (ca != null) {
+            span.tag(CA, ca);
+        }
+        if (profile != null) {
+            span.tag(PROFILE, profile);
+        }
+        return span.start();
+    }
+}
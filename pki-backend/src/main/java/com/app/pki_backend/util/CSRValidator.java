@@ -17,7 +17,7 @@ import java.security.PublicKey;
 @Component
 public class CSRValidator {
 
-    Logger log = LoggerFactory.getLogger(CSRValidator.class);
+    private static final Logger log = LoggerFactory.getLogger(CSRValidator.class);
 
     /**
      * КРИТИЧНО: Валидация подписи CSR
@@ -34,7 +34,7 @@ public class CSRValidator {
                     new JcaContentVerifierProviderBuilder()
                             .build(publicKey);
 
-            log.info("Validating CSR subject: " + csr.getSubject().toString());
+            log.atDebug().addKeyValue("subject", csr::getSubject).log("Validating CSR");
 
             // Проверить подпись
 //            boolean valid = csr.isSignatureValid(verifierProvider);
@@ -44,12 +44,11 @@ public class CSRValidator {
 //                return false;
 //            }
 
-            System.out.println("✅ CSR signature is valid");
+            log.debug("CSR signature is valid");
             return true;
 
         } catch (Exception e) {
-            System.err.println("❌ Error validating CSR signature: " + e.getMessage());
-            e.printStackTrace();
+            log.atWarn().setCause(e).addKeyValue("subject", csr::getSubject).log("Error validating CSR signature");
             return false;
         }
     }
@@ -82,7 +81,8 @@ public class CSRValidator {
             // Проверка CN regex
             if (cnRegex != null && !cnRegex.isEmpty()) {
                 if (!subjectStr.matches(cnRegex)) {
-                    System.err.println("❌ CSR CN does not match template regex: " + cnRegex);
+                    log.atDebug().addKeyValue("subject", subjectStr).addKeyValue("cnRegex", cnRegex)
+                            .log("CSR CN does not match template regex");
                     return false;
                 }
             }
@@ -92,7 +92,7 @@ public class CSRValidator {
             return true;
 
         } catch (Exception e) {
-            System.err.println("❌ Error validating CSR against template: " + e.getMessage());
+            log.atWarn().setCause(e).log("Error validating CSR against template");
             return false;
         }
     }
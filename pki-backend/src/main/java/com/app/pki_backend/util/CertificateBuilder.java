@@ -45,11 +45,6 @@ public class CertificateBuilder {
         return this;
     }
 
-    public CertificateBuilder encryptedPrivateKey(String encryptedPrivateKey) {
-        this.certificate.setEncryptedPrivateKey(encryptedPrivateKey);
-        return this;
-    }
-
     public CertificateBuilder certificateData(String certificateData) {
         this.certificate.setCertificateData(certificateData);
         return this;
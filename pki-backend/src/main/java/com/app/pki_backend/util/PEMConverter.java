@@ -5,6 +5,8 @@ import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
 import org.bouncycastle.openssl.PEMParser;
 import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
 import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -20,6 +22,8 @@ import java.security.cert.X509Certificate;
 @Component
 public class PEMConverter {
 
+    private static final Logger log = LoggerFactory.getLogger(PEMConverter.class);
+
     @Autowired
     private CSRValidator csrValidator;
 
@@ -77,13 +81,12 @@ public class PEMConverter {
                 );
             }
 
-            // 4️⃣ Логирование для отладки
-            System.out.println("=== CSR Parsing Debug ===");
-            System.out.println("CSR Length: " + normalizedCSR.length());
-            System.out.println("First 100 chars: " +
-                    normalizedCSR.substring(0, Math.min(100, normalizedCSR.length())));
-            System.out.println("Last 100 chars: " +
-                    normalizedCSR.substring(Math.max(0, normalizedCSR.length() - 100)));
+            // 4️⃣ Логирование для отладки (DEBUG/TRACE, включается через /actuator/loggers)
+            log.atDebug().addKeyValue("csrLength", normalizedCSR.length()).log("Parsing CSR");
+            log.atTrace()
+                    .addKeyValue("head", () -> normalizedCSR.substring(0, Math.min(100, normalizedCSR.length())))
+                    .addKeyValue("tail", () -> normalizedCSR.substring(Math.max(0, normalizedCSR.length() - 100)))
+                    .log("CSR content");
 
             // 5️⃣ Парсинг CSR
             try (StringReader stringReader = new StringReader(normalizedCSR);
@@ -0,0 +1,38 @@
+package com.app.pki_backend.util;
+
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key plus the (value, id) of the last row returned.
+ * Encoded as URL-safe Base64 so clients cannot rely on its layout.
+ */
+public record SearchCursor(CertificateSortKey sortKey, LocalDateTime value, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token, CertificateSortKey expectedSortKey) {
+        SearchCursor cursor;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\|");
+            cursor = new SearchCursor(CertificateSortKey.valueOf(parts[0]),
+                    LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed search cursor", e);
+        }
+        if (cursor.sortKey() != expectedSortKey) {
+            throw new IllegalArgumentException("Search cursor was issued for sort=" + cursor.sortKey());
+        }
+        return cursor;
+    }
+}
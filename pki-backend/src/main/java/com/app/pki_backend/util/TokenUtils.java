@@ -1,14 +1,19 @@
 package com.app.pki_backend.util;
 
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.security.auth.TokenBasedAuthentication;
 import com.app.pki_backend.service.interfaces.UserService;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +22,7 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class TokenUtils {
@@ -43,8 +49,21 @@ public class TokenUtils {
 
     private SignatureAlgorithm SIGNATURE_ALGORITHM = SignatureAlgorithm.HS512;
 
+    // Key and parser are immutable and thread-safe, built once instead of per call
+    private Key signingKey;
+
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public String generateToken(User user) {
@@ -62,12 +81,20 @@ public class TokenUtils {
     }
 
     public String generateRefreshToken(User user) {
+        return generateRefreshToken(user, generateRefreshExpirationDate());
+    }
+
+    /**
+     * Refresh token with a given expiry; rotation keeps the expiry of the session it continues.
+     */
+    public String generateRefreshToken(User user, Date expiresAt) {
         return Jwts.builder()
                 .setIssuer(APP_NAME)
                 .setSubject(user.getEmail())
                 .setIssuedAt(new Date())
+                .setId(UUID.randomUUID().toString()) // two logins in the same second must not yield the same hash
                 .claim("type", "refresh")
-                .setExpiration(generateRefreshExpirationDate())
+                .setExpiration(expiresAt)
                 .signWith(getSigningKey(), SIGNATURE_ALGORITHM)
                 .compact();
     }
@@ -77,7 +104,7 @@ public class TokenUtils {
     }
     public boolean isAccessToken(String token) {
         try {
-            return "access".equals(getAllClaimsFromToken(token).get("type"));
+            return "access".equals(getClaims(token).get("type"));
         } catch (Exception e) {
             return false;
         }
@@ -85,7 +112,7 @@ public class TokenUtils {
 
     public boolean isRefreshToken(String token) {
         try {
-            return "refresh".equals(getAllClaimsFromToken(token).get("type"));
+            return "refresh".equals(getClaims(token).get("type"));
         } catch (Exception e) {
             return false;
         }
@@ -112,7 +139,7 @@ public class TokenUtils {
         String email;
 
         try {
-            final Claims claims = this.getAllClaimsFromToken(token);
+            final Claims claims = this.getClaims(token);
             email = claims.getSubject();
         } catch (ExpiredJwtException ex) {
             throw ex;
@@ -126,7 +153,7 @@ public class TokenUtils {
     public Date getIssuedAtDateFromToken(String token) {
         Date issueAt;
         try {
-            final Claims claims = this.getAllClaimsFromToken(token);
+            final Claims claims = this.getClaims(token);
             issueAt = claims.getIssuedAt();
         } catch (ExpiredJwtException ex) {
             throw ex;
@@ -140,7 +167,7 @@ public class TokenUtils {
     public Date getExpirationDateFromToken(String token) {
         Date expiration;
         try {
-            final Claims claims = this.getAllClaimsFromToken(token);
+            final Claims claims = this.getClaims(token);
             expiration = claims.getExpiration();
         } catch (ExpiredJwtException ex) {
             throw ex;
@@ -152,21 +179,48 @@ public class TokenUtils {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verify the signature and expiry of the token and return its claims.
+     * This is the only place where a token is actually parsed.
+     * @throws ExpiredJwtException if the token is expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or the signature does not match
+     */
+    public Claims parseClaims(String token) {
+        return getAllClaimsFromToken(token);
+    }
+
+    /**
+     * Claims of a token, reusing the ones already validated by TokenAuthenticationFilter
+     * when the token is the one of the current request.
+     */
+    public Claims getClaims(String token) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof TokenBasedAuthentication tokenAuthentication
+                && tokenAuthentication.getClaims() != null
+                && token != null && token.equals(tokenAuthentication.getToken())) {
+            return tokenAuthentication.getClaims();
+        }
+        return getAllClaimsFromToken(token);
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        User user = (User) userDetails;
-        final String email = getUsernameFromToken(token);
-        final Date created = getIssuedAtDateFromToken(token);
+        return validateToken(parseClaims(token), userDetails);
+    }
+
+    /**
+     * Same checks as {@link #validateToken(String, UserDetails)} on claims that were already parsed.
+     */
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String email = claims.getSubject();
+        final Date expiration = claims.getExpiration();
 
         return (email != null
                 && email.equals(userDetails.getUsername())
-                && getExpirationDateFromToken(token).after(Date.from(Instant.now())));
+                && expiration != null
+                && expiration.after(Date.from(Instant.now())));
     }
 
     private Boolean isCreatedBeforeLastPasswordReset(Date created, Date lastPasswordReset) {
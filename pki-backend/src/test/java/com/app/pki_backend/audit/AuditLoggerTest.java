@@ -0,0 +1,137 @@
+package com.app.pki_backend.audit;
+
+import com.app.pki_backend.dto.admin.AuditVerificationResponse;
+import com.app.pki_backend.service.interfaces.AuditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writer thread to database to chain verification. The tiny buffer and zero offer timeout make
+ * producers spill to the overflow file, which has to end up in the same unbroken chain.
+ */
+@SpringBootTest(properties = {
+        "pki.audit.buffer-size=4",
+        "pki.audit.batch-size=2",
+        "pki.audit.offer-timeout-ms=0",
+        "pki.audit.overflow-file=target/audit-test/overflow.jsonl"
+})
+class AuditLoggerTest {
+
+    @Autowired
+    private AuditLogger auditLogger;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writtenEvents_verifyAsUnbrokenChain() throws Exception {
+        String action = uniqueAction();
+        for (int i = 0; i < 200; i++) {
+            auditLogger.log(action, "tester-" + i);
+        }
+
+        waitUntil(() -> count(action, AuditOutcome.SUCCESS) == 200);
+
+        AuditVerificationResponse verification = auditService.verifyChain();
+        assertTrue(verification.valid(), "chain broken at id " + verification.firstInvalidId());
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_events", Long.class),
+                verification.checked());
+    }
+
+    @Test
+    void eventInTransaction_isWrittenOnlyAfterCommit() throws Exception {
+        String action = uniqueAction();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLogger.success(action, 1L, null, null);
+            sleep(500);
+            assertEquals(0, count(action, AuditOutcome.SUCCESS));
+        });
+
+        waitUntil(() -> count(action, AuditOutcome.SUCCESS) == 1);
+    }
+
+    @Test
+    void eventInRolledBackTransaction_isRecordedAsFailure() throws Exception {
+        String action = uniqueAction();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLogger.success(action, 1L, null, "details");
+            status.setRollbackOnly();
+        });
+
+        waitUntil(() -> count(action, AuditOutcome.FAILURE) == 1);
+        assertEquals(0, count(action, AuditOutcome.SUCCESS));
+        assertEquals("details; transaction rolled back", jdbcTemplate.queryForObject(
+                "SELECT details FROM audit_events WHERE action = ?", String.class, action));
+    }
+
+    @Test
+    void overflowFile_returnsSpilledEventsUntilCommitted(@TempDir Path dir) throws Exception {
+        Path path = dir.resolve("overflow.jsonl");
+        AuditOverflowFile overflow = new AuditOverflowFile(path, objectMapper);
+        AuditRecord record = new AuditRecord(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS), "tester",
+                "SPILL", 7L, null, AuditOutcome.SUCCESS, "line\nbreak");
+
+        overflow.append(record);
+        assertTrue(overflow.hasPending());
+        assertEquals(List.of(record), overflow.take());
+
+        // Not committed: a restart replays the same events
+        assertTrue(new AuditOverflowFile(path, objectMapper).hasPending());
+        assertEquals(List.of(record), overflow.take());
+
+        overflow.committed();
+        assertFalse(overflow.hasPending());
+        assertTrue(overflow.take().isEmpty());
+        assertFalse(Files.exists(path));
+    }
+
+    private long count(String action, AuditOutcome outcome) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_events WHERE action = ? AND outcome = ?",
+                Long.class, action, outcome.name());
+    }
+
+    private static String uniqueAction() {
+        return "TEST_" + UUID.randomUUID();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 10s");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.app.pki_backend.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void offer_rejectsWhenFullAndAcceptsAgainAfterDrain() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of(0, 1), drained);
+        assertTrue(buffer.offer(4));
+        assertTrue(buffer.offer(5));
+
+        buffer.drainTo(drained, 10);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void constructor_rejectsNonPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer<>(100));
+    }
+
+    @Test
+    void concurrentProducers_loseNothingAndKeepPerProducerOrder() throws Exception {
+        int producers = 8;
+        int perProducer = 20_000;
+        AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                pool.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(new long[]{producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+
+            Map<Long, Long> nextExpected = new HashMap<>();
+            List<long[]> batch = new ArrayList<>();
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * perProducer) {
+                assertTrue(System.nanoTime() < deadline, "Consumer timed out");
+                batch.clear();
+                received += buffer.drainTo(batch, 256);
+                for (long[] element : batch) {
+                    long expected = nextExpected.getOrDefault(element[0], 0L);
+                    assertEquals(expected, element[1], "Out of order for producer " + element[0]);
+                    nextExpected.put(element[0], expected + 1);
+                }
+            }
+
+            assertEquals(producers, nextExpected.size());
+            nextExpected.values().forEach(n -> assertEquals(perProducer, n));
+            assertTrue(buffer.isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void hashChain_detectsTampering() {
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 12, 0, 0);
+        String first = AuditHash.chain(AuditHash.GENESIS, at, "admin@pki.local", "REVOKE_CERTIFICATE",
+                10L, 1L, AuditOutcome.SUCCESS, "KEY_COMPROMISE");
+        String second = AuditHash.chain(first, at, "admin@pki.local", "DELETE_CERTIFICATE",
+                10L, null, AuditOutcome.SUCCESS, null);
+
+        assertEquals(first, AuditHash.chain(AuditHash.GENESIS, at, "admin@pki.local", "REVOKE_CERTIFICATE",
+                10L, 1L, AuditOutcome.SUCCESS, "KEY_COMPROMISE"));
+        assertNotEquals(first, AuditHash.chain(AuditHash.GENESIS, at, "admin@pki.local", "REVOKE_CERTIFICATE",
+                11L, 1L, AuditOutcome.SUCCESS, "KEY_COMPROMISE"));
+        assertNotEquals(second, AuditHash.chain(AuditHash.GENESIS, at, "admin@pki.local", "DELETE_CERTIFICATE",
+                10L, null, AuditOutcome.SUCCESS, null));
+    }
+}
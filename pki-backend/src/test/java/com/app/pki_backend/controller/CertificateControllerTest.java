@@ -1,5 +1,9 @@
 package com.app.pki_backend.controller;
 
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+import com.app.pki_backend.dto.certificate.CertificateSearchPage;
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
 import com.app.pki_backend.entity.certificates.CertificateSigningRequest;
 import com.app.pki_backend.entity.certificates.Certificate;
 import com.app.pki_backend.entity.certificates.CertificateStatus;
@@ -8,6 +12,7 @@ import com.app.pki_backend.entity.certificates.CertificateType;
 import com.app.pki_backend.entity.user.Admin;
 import com.app.pki_backend.entity.user.CAUser;
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.security.auth.UserPrincipal;
 import com.app.pki_backend.service.implementations.CertificateServiceImpl;
 import com.app.pki_backend.service.implementations.CertificateTemplateServiceImpl;
 import com.app.pki_backend.service.implementations.RevocationServiceImpl;
@@ -23,14 +28,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -40,12 +48,12 @@ import java.util.Optional;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
-import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 /**
  * Controller-layer tests for CertificateController WITHOUT @MockBean.
  * Mocks are provided via @TestConfiguration beans.
@@ -120,8 +128,21 @@ class CertificateControllerTest {
         return c;
     }
 
-    private UsernamePasswordAuthenticationToken auth(User u) {
-        return new UsernamePasswordAuthenticationToken(u, null, u.getAuthorities());
+    private CertificateSummary sampleSummary(Long id, CertificateType type, String org, Integer ownerId) {
+        return new CertificateSummary(id, new BigInteger("123456789"), "CN=example.com,O=" + org, "CN=issuer",
+                1L, type, CertificateStatus.ACTIVE, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(365), org, ownerId, LocalDateTime.now());
+    }
+
+    // Same principal type TokenAuthenticationFilter puts into the security context;
+    // filters are off in this slice, so it goes straight into the test security context
+    private RequestPostProcessor as(User u) {
+        UserPrincipal principal = UserPrincipal.of(u);
+        return request -> {
+            TestSecurityContextHolder.setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            return request;
+        };
     }
 
     @BeforeEach
@@ -163,36 +184,30 @@ class CertificateControllerTest {
     @DisplayName("Admin sees all certs")
     void getAll_asAdmin() throws Exception {
         var list = List.of(
-                sampleCert(10L, CertificateType.INTERMEDIATE_CA, "OrgA", null),
-                sampleCert(11L, CertificateType.END_ENTITY, "Client-Org", 3)
+                sampleSummary(10L, CertificateType.INTERMEDIATE_CA, "OrgA", null),
+                sampleSummary(11L, CertificateType.END_ENTITY, "Client-Org", 3)
         );
-        given(certificateService.findAll()).willReturn(list);
-
-        given(tokenUtils.getToken(any())).willReturn("admintoken");
-        given(tokenUtils.getUsernameFromToken("admintoken")).willReturn("admin@pki.local");
-        given(userService.findByEmail("admin@pki.local")).willReturn(admin);
+        given(certificateService.findAllSummaries()).willReturn(list);
 
         mockMvc.perform(get("/api/certificates")
-                        .header("Authorization", "Bearer admintoken"))
+                        .with(as(admin)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)));
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].certificateData").doesNotExist())
+                .andExpect(jsonPath("$[0].publicKey").doesNotExist());
     }
 
     @Test
     @DisplayName("CA user sees only org chain")
     void getAll_asCAUser() throws Exception {
         var list = List.of(
-                sampleCert(20L, CertificateType.INTERMEDIATE_CA, "OrgA", null),
-                sampleCert(21L, CertificateType.END_ENTITY, "OrgA", 5)
+                sampleSummary(20L, CertificateType.INTERMEDIATE_CA, "OrgA", null),
+                sampleSummary(21L, CertificateType.END_ENTITY, "OrgA", 5)
         );
         given(certificateService.findAllByOrganization("OrgA")).willReturn(list);
 
-        given(tokenUtils.getToken(any())).willReturn("faketoken");
-        given(tokenUtils.getUsernameFromToken("faketoken")).willReturn("ca@pki.local");
-        given(userService.findByEmail("ca@pki.local")).willReturn(caUser);
-
         mockMvc.perform(get("/api/certificates")
-                        .header("Authorization", "Bearer faketoken"))
+                        .with(as(caUser)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[*].organization", everyItem(is("OrgA"))));
     }
@@ -201,15 +216,11 @@ class CertificateControllerTest {
     @Test
     @DisplayName("Regular user sees only own EE certs")
     void getAll_asUser() throws Exception {
-        var list = List.of(sampleCert(30L, CertificateType.END_ENTITY, "Client-Org", 3));
+        var list = List.of(sampleSummary(30L, CertificateType.END_ENTITY, "Client-Org", 3));
         given(certificateService.findAllByOwnerId(3)).willReturn(list);
 
-        given(tokenUtils.getToken(any())).willReturn("faketoken");
-        given(tokenUtils.getUsernameFromToken("faketoken")).willReturn("user@pki.local");
-        given(userService.findByEmail("user@pki.local")).willReturn(regularUser);
-
         mockMvc.perform(get("/api/certificates")
-                        .header("Authorization", "Bearer faketoken"))
+                        .with(as(regularUser)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].type", is("END_ENTITY")));
     }
@@ -218,18 +229,18 @@ class CertificateControllerTest {
     @Test
     void getById_found() throws Exception {
         var cert = sampleCert(42L, CertificateType.END_ENTITY, "X", 3);
-        given(certificateService.findById(42L)).willReturn(Optional.of(cert));
+        given(certificateService.findDetailedById(42L)).willReturn(Optional.of(cert));
 
-        mockMvc.perform(get("/api/certificates/42").with(authentication(auth(admin))))
+        mockMvc.perform(get("/api/certificates/42").with(as(admin)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(42)));
     }
 
     @Test
     void getById_notFound() throws Exception {
-        given(certificateService.findById(99L)).willReturn(Optional.empty());
+        given(certificateService.findDetailedById(99L)).willReturn(Optional.empty());
 
-        mockMvc.perform(get("/api/certificates/99").with(authentication(auth(admin))))
+        mockMvc.perform(get("/api/certificates/99").with(as(admin)))
                 .andExpect(status().isNotFound());
     }
 
@@ -237,7 +248,7 @@ class CertificateControllerTest {
     void delete_ok() throws Exception {
         given(certificateService.findById(50L)).willReturn(Optional.of(sampleCert(50L, CertificateType.END_ENTITY, "X", 1)));
 
-        mockMvc.perform(delete("/api/certificates/50").with(authentication(auth(admin))))
+        mockMvc.perform(delete("/api/certificates/50").with(as(admin)))
                 .andExpect(status().isNoContent());
         verify(certificateService).delete(50L);
     }
@@ -246,7 +257,7 @@ class CertificateControllerTest {
     void delete_notFound() throws Exception {
         given(certificateService.findById(77L)).willReturn(Optional.empty());
 
-        mockMvc.perform(delete("/api/certificates/77").with(authentication(auth(admin))))
+        mockMvc.perform(delete("/api/certificates/77").with(as(admin)))
                 .andExpect(status().isNotFound());
     }
 
@@ -256,7 +267,7 @@ class CertificateControllerTest {
 //        var created = sampleCert(100L, CertificateType.ROOT_CA, "PKI Root CA", null);
 //        given(certificateService.issueRootCertificate()).willReturn(created);
 //
-//        mockMvc.perform(post("/api/certificates/issue/root").with(authentication(auth(admin))))
+//        mockMvc.perform(post("/api/certificates/issue/root").with(as(admin)))
 //                .andExpect(status().isCreated())
 //                .andExpect(jsonPath("$.type", is("ROOT_CA")));
 //    }
@@ -274,7 +285,7 @@ class CertificateControllerTest {
         mockMvc.perform(post("/api/certificates/issue/intermediate/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body)
-                        .with(authentication(auth(admin))))
+                        .with(as(admin)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.type", is("INTERMEDIATE_CA")));
     }
@@ -292,7 +303,7 @@ class CertificateControllerTest {
         mockMvc.perform(post("/api/certificates/issue/ee/2")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body)
-                        .with(authentication(auth(caUser))))
+                        .with(as(caUser)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.type", is("END_ENTITY")));
     }
@@ -304,7 +315,7 @@ class CertificateControllerTest {
 //        given(certificateService.issueRootWithTemplate(5L)).willReturn(created);
 //
 //        mockMvc.perform(post("/api/certificates/issue/root/template/5")
-//                        .with(authentication(auth(admin))))
+//                        .with(as(admin)))
 //                .andExpect(status().isCreated());
 //    }
 
@@ -318,7 +329,7 @@ class CertificateControllerTest {
         mockMvc.perform(post("/api/certificates/issue/intermediate/template/7")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body)
-                        .with(authentication(auth(caUser))))
+                        .with(as(caUser)))
                 .andExpect(status().isCreated());
     }
 
@@ -332,7 +343,7 @@ class CertificateControllerTest {
         mockMvc.perform(post("/api/certificates/issue/ee/template/8")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body)
-                        .with(authentication(auth(regularUser))))
+                        .with(as(regularUser)))
                 .andExpect(status().isCreated());
     }
 
@@ -349,7 +360,7 @@ class CertificateControllerTest {
         mockMvc.perform(post("/api/certificates/templates")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body)
-                        .with(authentication(auth(caUser))))
+                        .with(as(caUser)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id", is(1)));
     }
@@ -361,7 +372,7 @@ class CertificateControllerTest {
         given(templateService.getAllTemplates()).willReturn(List.of(t));
 
         mockMvc.perform(get("/api/certificates/templates")
-                        .with(authentication(auth(caUser))))
+                        .with(as(caUser)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name", is("Web")));
     }
@@ -369,7 +380,7 @@ class CertificateControllerTest {
     @Test
     void deleteTemplate_ok() throws Exception {
         mockMvc.perform(delete("/api/certificates/templates/9")
-                        .with(authentication(auth(admin))))
+                        .with(as(admin)))
                 .andExpect(status().isOk());
         verify(templateService).deleteTemplate(9);
     }
@@ -378,22 +389,61 @@ class CertificateControllerTest {
     @Test
     void download_pkcs12_ok() throws Exception {
         byte[] bytes = "PKCS12".getBytes(StandardCharsets.UTF_8);
-        given(certificateService.exportAsPkcs12(123L, "pass")).willReturn(bytes);
-
-        mockMvc.perform(get("/api/certificates/123/download")
+        given(certificateService.findById(123L))
+                .willReturn(Optional.of(sampleCert(123L, CertificateType.END_ENTITY, "X", 3)));
+        Mockito.doAnswer(inv -> {
+            inv.getArgument(2, OutputStream.class).write(bytes);
+            return null;
+        }).when(certificateService).exportAsPkcs12(eq(123L), eq("pass"), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/certificates/123/download")
                         .param("password", "pass")
-                        .with(authentication(auth(regularUser))))
+                        .with(as(regularUser)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Disposition", containsString("certificate_123.p12")))
                 .andExpect(content().bytes(bytes));
     }
 
+    @Test
+    void download_pkcs12_notFound() throws Exception {
+        given(certificateService.findById(124L)).willReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/certificates/124/download")
+                        .with(as(regularUser)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // MockMvc does not dispatch an async result set while the request thread is still inside the
+    // handler (rejected submission) nor on a simulated timeout, so the exceptions are raised directly
+    @Test
+    void download_exportExecutorSaturated_serviceUnavailable() throws Exception {
+        given(certificateService.findById(125L)).willThrow(new TaskRejectedException("export executor full"));
+
+        mockMvc.perform(get("/api/certificates/125/download")
+                        .with(as(regularUser)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.httpStatus").value(503));
+    }
+
+    @Test
+    void download_asyncTimeout_serviceUnavailable() throws Exception {
+        given(certificateService.findById(126L)).willThrow(new AsyncRequestTimeoutException());
+
+        mockMvc.perform(get("/api/certificates/126/download")
+                        .with(as(regularUser)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
     // --- CSR Upload ---
     @Test
     void uploadCsr_created() throws Exception {
-        given(tokenUtils.getToken(any())).willReturn("Bearer token");
-        given(tokenUtils.getUsernameFromToken("Bearer token")).willReturn("user@pki.local");
-        given(userService.findByEmail("user@pki.local")).willReturn(regularUser);
+        given(userService.getReference(3)).willReturn(regularUser);
 
         var issuer = sampleCert(2L, CertificateType.INTERMEDIATE_CA, "OrgA", null);
         given(certificateService.findById(2L)).willReturn(Optional.of(issuer));
@@ -408,29 +458,72 @@ class CertificateControllerTest {
 
         mockMvc.perform(multipart("/api/certificates/csr/upload/2")
                         .file(file)
-                        .with(authentication(auth(regularUser))))
+                        .with(as(regularUser)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id", is(300)));
     }
 
-    // --- Search with paging ---
+    // --- Search with keyset paging ---
     @Test
     void search_ok() throws Exception {
-        Page<Certificate> page = new PageImpl<>(
-                List.of(sampleCert(400L, CertificateType.END_ENTITY, "OrgA", 3)),
-                PageRequest.of(0, 10), 1
+        CertificateSearchPage page = new CertificateSearchPage(
+                List.of(sampleSummary(400L, CertificateType.END_ENTITY, "OrgA", 3)),
+                10, true, "next-token", null
         );
-        given(certificateService.search(eq(CertificateStatus.ACTIVE), eq(CertificateType.END_ENTITY), eq("OrgA"), any()))
+        given(certificateService.search(
+                eq(CertificateSearchFilter.of(CertificateStatus.ACTIVE, CertificateType.END_ENTITY, "OrgA")),
+                eq(CertificateSortKey.CREATED_AT), isNull(), eq(10), eq(false)))
                 .willReturn(page);
 
         mockMvc.perform(get("/api/certificates/search")
                         .param("status","ACTIVE")
                         .param("type","END_ENTITY")
                         .param("organization","OrgA")
-                        .param("page","0").param("size","10")
-                        .with(authentication(auth(admin))))
+                        .param("size","10")
+                        .with(as(admin)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].type", is("END_ENTITY")))
-                .andExpect(jsonPath("$.totalElements", is(1)));
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("next-token")))
+                .andExpect(jsonPath("$.totalElements").value(nullValue()))
+                .andExpect(jsonPath("$.content[0].certificateData").doesNotExist());
+    }
+
+    @Test
+    void search_withCursorAndTotal() throws Exception {
+        CertificateSearchPage page = new CertificateSearchPage(
+                List.of(sampleSummary(401L, CertificateType.END_ENTITY, "OrgA", 3)),
+                5, false, null, 6L
+        );
+        given(certificateService.search(eq(CertificateSearchFilter.of(null, null, null)),
+                eq(CertificateSortKey.VALID_TO), eq("abc"), eq(5), eq(true)))
+                .willReturn(page);
+
+        mockMvc.perform(get("/api/certificates/search")
+                        .param("sort", "VALID_TO")
+                        .param("cursor", "abc")
+                        .param("size", "5")
+                        .param("includeTotal", "true")
+                        .with(as(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.totalElements", is(6)));
+    }
+
+    @Test
+    void search_byIndexedIdentifiers() throws Exception {
+        var filter = new CertificateSearchFilter(null, null, null,
+                "example", "www.example.com", null, null, null, true);
+        given(certificateService.search(eq(filter), eq(CertificateSortKey.CREATED_AT), isNull(), eq(10), eq(false)))
+                .willReturn(new CertificateSearchPage(
+                        List.of(sampleSummary(402L, CertificateType.END_ENTITY, "OrgA", 3)), 10, false, null, null));
+
+        mockMvc.perform(get("/api/certificates/search")
+                        .param("commonName", "example")
+                        .param("san", "www.example.com")
+                        .param("prefix", "true")
+                        .with(as(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(402)));
     }
-}
\ No newline at end of file
+}
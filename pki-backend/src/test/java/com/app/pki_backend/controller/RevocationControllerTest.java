@@ -5,10 +5,10 @@ import com.app.pki_backend.entity.certificates.CertificateStatus;
 import com.app.pki_backend.entity.certificates.RevokedCertificate;
 import com.app.pki_backend.entity.certificates.RevocationReason;
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.security.auth.UserPrincipal;
 import com.app.pki_backend.service.implementations.CertificateServiceImpl;
 import com.app.pki_backend.service.implementations.RevocationServiceImpl;
 import com.app.pki_backend.service.interfaces.UserService;
-import com.app.pki_backend.util.TokenUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.BDDMockito;
@@ -19,7 +19,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
 import java.math.BigInteger;
 import java.time.LocalDateTime;
@@ -45,7 +48,6 @@ class RevocationControllerTest {
 
     @MockBean RevocationServiceImpl revocationService;
     @MockBean CertificateServiceImpl certificateService;
-    @MockBean TokenUtils tokenUtils;
     @MockBean UserService userService;
 
     // ===== helpers =====
@@ -82,6 +84,16 @@ class RevocationControllerTest {
         return u;
     }
 
+    // Filters are off in this slice, so the principal goes straight into the test security context
+    private RequestPostProcessor as(User u) {
+        UserPrincipal principal = UserPrincipal.of(u);
+        return request -> {
+            TestSecurityContextHolder.setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            return request;
+        };
+    }
+
     // ===== tests =====
 
     @Test
@@ -90,14 +102,12 @@ class RevocationControllerTest {
         var c = cert(42L);
         var actor = user(7, "actor@pki.local");
 
-        given(tokenUtils.getToken(any())).willReturn("tok");
-        given(tokenUtils.getUsernameFromToken("tok")).willReturn("actor@pki.local");
-        given(userService.findByEmail("actor@pki.local")).willReturn(actor);
+        given(userService.getReference(7)).willReturn(actor);
         given(certificateService.findById(42L)).willReturn(Optional.of(c));
 
         mockMvc.perform(post("/api/revocations/{id}/revoke", 42L)
                         .param("reason", "KEY_COMPROMISE")
-                        .header("Token", "Bearer tok") // не обязателен, т.к. getToken замокан
+                        .with(as(actor))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("Certificate 42 revoked")));
@@ -108,8 +118,6 @@ class RevocationControllerTest {
     @Test
     @DisplayName("POST /api/revocations/{id}/revoke — 401 без токена")
     void revoke_unauthorized_when_no_token() throws Exception {
-        given(tokenUtils.getToken(any())).willReturn(null);
-
         mockMvc.perform(post("/api/revocations/{id}/revoke", 1L)
                         .param("reason", "KEY_COMPROMISE"))
                 .andExpect(status().isUnauthorized())
@@ -121,13 +129,11 @@ class RevocationControllerTest {
     void revoke_cert_not_found() throws Exception {
         var actor = user(7, "actor@pki.local");
 
-        given(tokenUtils.getToken(any())).willReturn("tok");
-        given(tokenUtils.getUsernameFromToken("tok")).willReturn("actor@pki.local");
-        given(userService.findByEmail("actor@pki.local")).willReturn(actor);
         given(certificateService.findById(999L)).willReturn(Optional.empty());
 
         mockMvc.perform(post("/api/revocations/{id}/revoke", 999L)
-                        .param("reason", "KEY_COMPROMISE"))
+                        .param("reason", "KEY_COMPROMISE")
+                        .with(as(actor)))
                 // если GlobalExceptionHandler мапит IllegalArgumentException -> 400:
                 .andExpect(status().isBadRequest());
     }
@@ -5,6 +5,7 @@ import com.app.pki_backend.dto.user.RegistrationRequestDTO;
 import com.app.pki_backend.dto.user.TokenDTO;
 import com.app.pki_backend.entity.RefreshToken;
 import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.security.auth.UserPrincipal;
 import com.app.pki_backend.service.interfaces.RefreshTokenService;
 import com.app.pki_backend.service.interfaces.UserService;
 import com.app.pki_backend.util.TokenUtils;
@@ -21,6 +22,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
@@ -29,6 +31,7 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -85,8 +88,7 @@ class UserControllerTest {
         User saved = new User();
         setUser(saved, 10, "new@pki.local", "User", false, "OrgX");
 
-        given(userService.saveInactive(any(RegistrationRequestDTO.class))).willReturn(saved);
-        // doNothing().when(userService).saveActivationToken(eq(saved), anyString());
+        given(userService.registerInactive(any(RegistrationRequestDTO.class), anyString())).willReturn(saved);
 
         mockMvc.perform(post("/api/users/register")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -204,13 +206,35 @@ class UserControllerTest {
         rt.setUser(activeUser);
         rt.setExpiryDate(Instant.now().plus(1, ChronoUnit.DAYS));
 
+        RefreshToken rotated = new RefreshToken();
+        rotated.setToken("r1-next");
+        rotated.setUser(activeUser);
+        rotated.setExpiryDate(Instant.now().plus(7, ChronoUnit.DAYS));
+
         given(refreshTokenService.findByToken("r1")).willReturn(Optional.of(rt));
+        given(refreshTokenService.rotate(rt)).willReturn(Optional.of(rotated));
         given(tokenUtils.generateToken(activeUser)).willReturn("new-access");
 
         mockMvc.perform(post("/api/users/refresh").param("refreshToken", "r1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accessToken").value("new-access"))
-                .andExpect(jsonPath("$.refreshToken").value("r1"));
+                .andExpect(jsonPath("$.refreshToken").value("r1-next"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/refresh — 401 already rotated")
+    void refresh_reused() throws Exception {
+        RefreshToken rt = new RefreshToken();
+        rt.setToken("r3");
+        rt.setUser(activeUser);
+        rt.setExpiryDate(Instant.now().plus(1, ChronoUnit.DAYS));
+
+        given(refreshTokenService.findByToken("r3")).willReturn(Optional.of(rt));
+        given(refreshTokenService.rotate(rt)).willReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/users/refresh").param("refreshToken", "r3"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("already used")));
     }
 
     @Test
@@ -242,34 +266,23 @@ class UserControllerTest {
     @Test
     @DisplayName("POST /api/users/logout — 200 OK")
     void logout_ok() throws Exception {
-        given(tokenUtils.getToken(any())).willReturn("access");
-        given(tokenUtils.getUsernameFromToken("access")).willReturn(activeUser.getEmail());
-        given(userService.findByEmail(activeUser.getEmail())).willReturn(activeUser);
+        UserPrincipal principal = UserPrincipal.of(activeUser);
+        given(userService.getReference(1)).willReturn(activeUser);
+        // Filters are off in this slice, so the principal goes straight into the test security context
+        TestSecurityContextHolder.setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
 
         mockMvc.perform(post("/api/users/logout"))
                 .andExpect(status().isOk())
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("Logged out successfully")));
+        verify(refreshTokenService).deleteByUser(activeUser);
     }
 
     @Test
     @DisplayName("POST /api/users/logout — 401")
     void logout_unauthorized() throws Exception {
-        given(tokenUtils.getToken(any())).willReturn(null);
-
         mockMvc.perform(post("/api/users/logout"))
                 .andExpect(status().isUnauthorized())
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("No token provided")));
     }
-
-    @Test
-    @DisplayName("POST /api/users/logout — 404")
-    void logout_user_not_found() throws Exception {
-        given(tokenUtils.getToken(any())).willReturn("access");
-        given(tokenUtils.getUsernameFromToken("access")).willReturn("ghost@pki.local");
-        given(userService.findByEmail("ghost@pki.local")).willReturn(null);
-
-        mockMvc.perform(post("/api/users/logout"))
-                .andExpect(status().isNotFound())
-                .andExpect(content().string(org.hamcrest.Matchers.containsString("User not found")));
-    }
 }
@@ -0,0 +1,37 @@
+package com.app.pki_backend.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PkiMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final PkiMetrics metrics = new PkiMetrics(registry);
+
+    @Test
+    void record_tagsOutcomeAndRethrowsFailures() throws Exception {
+        assertEquals("ok", metrics.record(PkiStage.SIGNING, "7", "end_entity", () -> "ok"));
+        assertThrows(IllegalStateException.class, () -> metrics.run(PkiStage.SIGNING, "7", "end_entity", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        Timer success = registry.get("pki.sign")
+                .tags("ca", "7", "profile", "end_entity", "outcome", "success").timer();
+        Timer failure = registry.get("pki.sign")
+                .tags("ca", "7", "profile", "end_entity", "outcome", "failure").timer();
+        assertEquals(1, success.count());
+        assertEquals(1, failure.count());
+    }
+
+    @Test
+    void start_stop_recordsForCallersWithoutCallable() {
+        Timer.Sample sample = metrics.start();
+        metrics.stop(sample, PkiStage.JWT_VALIDATION, PkiMetrics.NONE, PkiMetrics.NONE, false);
+
+        assertEquals(1, registry.get("pki.jwt.validate").tag("outcome", "failure").timer().count());
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.pki_backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_shedsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("issuance", 2, 1, 10);
+
+        assertEquals(1, limiter.tryAcquire());
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+
+        limiter.onIgnore();
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(3, limiter.getAccepted());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void limit_growsWhileLatencyIsFlatAndShrinksWhenItClimbs() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("issuance", 2, 1, 20);
+
+        for (int i = 0; i < 50; i++) {
+            int inFlight = limiter.tryAcquire();
+            limiter.onSuccess(MS, Math.max(inFlight, limiter.getLimit()));
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 2, "limit should grow under flat latency, was " + grown);
+
+        for (int i = 0; i < 50; i++) {
+            int inFlight = limiter.tryAcquire();
+            limiter.onSuccess(20 * MS, Math.max(inFlight, limiter.getLimit()));
+        }
+        assertTrue(limiter.getLimit() < grown, "limit should shrink when latency climbs");
+        assertTrue(limiter.getLimit() >= 1);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_staysPutWhenMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("download", 8, 2, 64);
+
+        for (int i = 0; i < 50; i++) {
+            int inFlight = limiter.tryAcquire();
+            limiter.onSuccess(MS * (i % 2 == 0 ? 1 : 30), inFlight);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+}
@@ -0,0 +1,107 @@
+package com.app.pki_backend.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AdaptiveConcurrencyLimiter limiter = spy(new AdaptiveConcurrencyLimiter("ISSUANCE", 4, 1, 10));
+    private final ConcurrencyLimiters limiters = mock(ConcurrencyLimiters.class);
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limiters);
+
+    {
+        when(limiters.get(EndpointClass.ISSUANCE)).thenReturn(limiter);
+    }
+
+    @Test
+    void sample_isSigningTimeNotRequestTime() throws Exception {
+        MockHttpServletRequest request = issueRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        SigningLatency.record(3 * MS);
+        // work outside the signing executor does not count
+        Thread.sleep(20);
+        SigningLatency.record(2 * MS);
+        interceptor.afterCompletion(request, response, null, null);
+
+        verify(limiter).onSuccess(5 * MS, 1);
+        verify(limiter, never()).onIgnore();
+    }
+
+    @Test
+    void clientError_isIgnored() throws Exception {
+        MockHttpServletRequest request = issueRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        SigningLatency.record(MS);
+        response.setStatus(400);
+        interceptor.afterCompletion(request, response, null, null);
+
+        verify(limiter).onIgnore();
+        verify(limiter, never()).onSuccess(anyLong(), anyInt());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void requestWithoutSigning_isIgnored() throws Exception {
+        MockHttpServletRequest request = issueRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        verify(limiter).onIgnore();
+        verify(limiter, never()).onSuccess(anyLong(), anyInt());
+    }
+
+    @Test
+    void signingOnAnotherThread_isAttributedThroughPropagate() throws Exception {
+        MockHttpServletRequest request = issueRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        Thread export = new Thread(SigningLatency.propagate(() -> SigningLatency.record(7 * MS)));
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        export.start();
+        export.join();
+        interceptor.afterCompletion(request, response, null, null);
+
+        verify(limiter).onSuccess(eq(7 * MS), eq(1));
+    }
+
+    @Test
+    void meters_reportLimitInFlightAndOutcomes() {
+        ConcurrencyLimiters real = new ConcurrencyLimiters(1, 1, 4, EndpointClass.ISSUANCE);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        real.bindTo(registry);
+
+        AdaptiveConcurrencyLimiter issuance = real.get(EndpointClass.ISSUANCE);
+        assertEquals(1, issuance.tryAcquire());
+        assertEquals(-1, issuance.tryAcquire());
+
+        assertEquals(1, registry.get("pki.concurrency.limit").tag("endpoint_class", "ISSUANCE").gauge().value());
+        assertEquals(1, registry.get("pki.concurrency.in_flight").tag("endpoint_class", "ISSUANCE").gauge().value());
+        assertEquals(1, registry.get("pki.concurrency.requests")
+                .tags("endpoint_class", "ISSUANCE", "outcome", "accepted").functionCounter().count());
+        assertEquals(1, registry.get("pki.concurrency.requests")
+                .tags("endpoint_class", "ISSUANCE", "outcome", "rejected").functionCounter().count());
+    }
+
+    private static MockHttpServletRequest issueRequest() {
+        return new MockHttpServletRequest("POST", "/api/certificates/issue/root");
+    }
+}
@@ -0,0 +1,86 @@
+package com.app.pki_backend.ratelimit;
+
+import com.app.pki_backend.dto.admin.RateLimitClassStats;
+import com.app.pki_backend.security.auth.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void tokenBucket_allowsBurstThenAsksToWaitOneInterval() {
+        TokenBucket bucket = new TokenBucket(3, MINUTE, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(MINUTE / 3, bucket.tryAcquire(0));
+
+        // One interval later exactly one token is back
+        assertEquals(0, bucket.tryAcquire(MINUTE / 3));
+        assertTrue(bucket.tryAcquire(MINUTE / 3) > 0);
+        assertFalse(bucket.isIdle(MINUTE / 3));
+        assertTrue(bucket.isIdle(2 * MINUTE));
+    }
+
+    @Test
+    void tryAcquire_organizationQuotaIsSharedAndRefundsUserToken() {
+        RateLimitProperties.Limit userLimit = new RateLimitProperties.Limit(2, Duration.ofMinutes(1));
+        RateLimitProperties.Limit orgLimit = new RateLimitProperties.Limit(3, Duration.ofMinutes(1));
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties(true, Map.of(EndpointClass.ISSUANCE,
+                new RateLimitProperties.ClassLimits(Map.of("user", userLimit), orgLimit))));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        UserPrincipal alice = new UserPrincipal(1, "alice@acme.test", "USER", "Acme", true, false);
+        UserPrincipal bob = new UserPrincipal(2, "bob@acme.test", "USER", "Acme", true, false);
+
+        assertTrue(limiter.tryAcquire(EndpointClass.ISSUANCE, alice).allowed());
+        assertTrue(limiter.tryAcquire(EndpointClass.ISSUANCE, alice).allowed());
+        RateLimiter.Decision userRejected = limiter.tryAcquire(EndpointClass.ISSUANCE, alice);
+        assertFalse(userRejected.allowed());
+        assertEquals(RateLimiter.Scope.USER, userRejected.rejectedBy());
+        assertTrue(userRejected.retryAfterNanos() > 0);
+
+        assertTrue(limiter.tryAcquire(EndpointClass.ISSUANCE, bob).allowed());
+        RateLimiter.Decision orgRejected = limiter.tryAcquire(EndpointClass.ISSUANCE, bob);
+        assertEquals(RateLimiter.Scope.ORGANIZATION, orgRejected.rejectedBy());
+
+        RateLimitClassStats stats = limiter.getStatistics().classes().stream()
+                .filter(s -> s.endpointClass().equals("ISSUANCE")).findFirst().orElseThrow();
+        assertEquals(3, stats.allowed());
+        assertEquals(1, stats.rejectedByUser());
+        assertEquals(1, stats.rejectedByOrganization());
+        assertEquals(3, registry.get("pki.rate_limit.requests")
+                .tags("endpoint_class", "ISSUANCE", "outcome", "allowed").functionCounter().count());
+        assertEquals(1, registry.get("pki.rate_limit.requests")
+                .tags("endpoint_class", "ISSUANCE", "outcome", "rejected_user").functionCounter().count());
+        assertEquals(1, registry.get("pki.rate_limit.requests")
+                .tags("endpoint_class", "ISSUANCE", "outcome", "rejected_organization").functionCounter().count());
+        // alice, bob and Acme
+        assertEquals(3, registry.get("pki.rate_limit.buckets").gauge().value());
+
+        // Classes without limits are not throttled
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(EndpointClass.DOWNLOAD, alice).allowed());
+        }
+    }
+
+    @Test
+    void endpointClass_matchesLimitedRoutesOnly() {
+        assertEquals(EndpointClass.ISSUANCE, EndpointClass.of("POST", "/api/certificates/issue/intermediate/4"));
+        assertEquals(EndpointClass.ISSUANCE, EndpointClass.of("POST", "/api/certificates/csr/upload/2"));
+        assertEquals(EndpointClass.DOWNLOAD, EndpointClass.of("GET", "/api/certificates/9/download"));
+        assertEquals(EndpointClass.REVOCATION, EndpointClass.of("POST", "/api/revocations/9/revoke"));
+        assertNull(EndpointClass.of("GET", "/api/certificates/9"));
+        assertNull(EndpointClass.of("GET", "/api/certificates/issue/intermediate/4"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.entity.certificates.Certificate;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Number of SQL statements per endpoint with lazy associations and explicit fetch plans.
+ * Second-level cache is off so every statement is counted.
+ */
+@SpringBootTest(properties = {"pki.cache.enabled=false", "pki.persistence.statistics-enabled=true"})
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(roles = "ADMIN")
+class CertificateFetchPlanTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void certificateDetail_usesSingleStatement() throws Exception {
+        Long rootId = certificateRepository.findActiveCaCertificates().get(0).getId();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/certificates/" + rootId))
+                .andExpect(status().isOk());
+
+        // owner + issuedCertificates come from the entity graph; nothing is loaded during serialization
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void templateList_usesSingleStatement() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/certificates/templates"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void revocationList_usesSingleStatement() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/revocations"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void chain_isLoadedWithTwoStatementsRegardlessOfDepth() {
+        for (Certificate ca : certificateRepository.findActiveCaCertificates()) {
+            statistics.clear();
+            List<Certificate> chain = certificateRepository.findChain(ca.getId());
+
+            assertEquals(2, statistics.getPrepareStatementCount());
+            assertEquals(ca.getId(), chain.get(0).getId());
+            assertNull(chain.get(chain.size() - 1).getIssuerCertificate());
+        }
+    }
+
+    @Test
+    void chain_ofUnknownCertificate_isEmpty() {
+        statistics.clear();
+        assertTrue(certificateRepository.findChain(-1L).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
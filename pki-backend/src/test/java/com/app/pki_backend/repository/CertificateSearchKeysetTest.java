@@ -0,0 +1,103 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.util.SearchCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset pages over rows that tie on the sort column across page boundaries: every row comes back
+ * exactly once and in (key, id) order.
+ */
+@SpringBootTest(properties = "pki.expiry.enabled=false")
+@Transactional
+class CertificateSearchKeysetTest {
+
+    private static final String ORGANIZATION = "Keyset Test";
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    private final Specification<Certificate> spec = (root, query, cb) -> cb.equal(root.get("organization"), ORGANIZATION);
+
+    private List<Certificate> saved;
+
+    @BeforeEach
+    void setUp() {
+        // Groups of 3 equal values with a page size of 2: every group straddles a boundary
+        saved = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            saved.add(certificateRepository.save(certificate(i, BASE.plusMinutes(i / 3), BASE.plusDays(2 - i / 3))));
+        }
+    }
+
+    @Test
+    void createdAt_descendingPagesReturnEveryRowOnce() {
+        List<Long> expected = saved.stream()
+                .sorted(Comparator.comparing(Certificate::getCreatedAt).thenComparing(Certificate::getId).reversed())
+                .map(Certificate::getId)
+                .toList();
+
+        assertEquals(expected, pageThrough(CertificateSortKey.CREATED_AT, CertificateSummary::createdAt));
+    }
+
+    @Test
+    void validTo_ascendingPagesReturnEveryRowOnce() {
+        List<Long> expected = saved.stream()
+                .sorted(Comparator.comparing(Certificate::getValidTo).thenComparing(Certificate::getId))
+                .map(Certificate::getId)
+                .toList();
+
+        assertEquals(expected, pageThrough(CertificateSortKey.VALID_TO, CertificateSummary::validTo));
+    }
+
+    private List<Long> pageThrough(CertificateSortKey sortKey, Function<CertificateSummary, LocalDateTime> value) {
+        List<Long> ids = new ArrayList<>();
+        SearchCursor cursor = null;
+        List<CertificateSummary> page;
+        do {
+            page = certificateRepository.searchSummaries(spec, sortKey, cursor, 2);
+            page.forEach(row -> ids.add(row.id()));
+            if (!page.isEmpty()) {
+                CertificateSummary last = page.get(page.size() - 1);
+                // through the token, as the client would send it back
+                cursor = SearchCursor.decode(new SearchCursor(sortKey, value.apply(last), last.id()).encode(), sortKey);
+            }
+        } while (page.size() == 2);
+        return ids;
+    }
+
+    private static Certificate certificate(int index, LocalDateTime createdAt, LocalDateTime validTo) {
+        Certificate certificate = new Certificate();
+        certificate.setSerialNumber(BigInteger.valueOf(910_000_000L + index));
+        certificate.setSubject("CN=keyset-test-" + index);
+        certificate.setIssuer("CN=PKI Intermediate CA");
+        certificate.setPublicKey("test");
+        certificate.setCertificateData("test");
+        certificate.setValidFrom(BASE.minusYears(1));
+        certificate.setValidTo(validTo);
+        certificate.setCreatedAt(createdAt);
+        certificate.setType(CertificateType.END_ENTITY);
+        certificate.setStatus(CertificateStatus.ACTIVE);
+        certificate.setOrganization(ORGANIZATION);
+        return certificate;
+    }
+}
@@ -0,0 +1,96 @@
+package com.app.pki_backend.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts JDBC statements around repeated lookups to show what the
+ * second-level cache saves (users, CA certificates, templates).
+ */
+@SpringBootTest(properties = "pki.persistence.statistics-enabled=true")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private CertificateTemplateRepository templateRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void userLookupByEmail_isServedFromCache() {
+        assertTrue(userRepository.findByEmail("admin@pki.local").isPresent());
+        long cold = statistics.getPrepareStatementCount();
+        assertTrue(cold > 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(userRepository.findByEmail("admin@pki.local").isPresent());
+        }
+
+        // 10 lookups without a single additional query
+        assertEquals(cold, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() >= 10);
+    }
+
+    @Test
+    void activeCaCertificates_areServedFromCache() {
+        int count = certificateRepository.findActiveCaCertificates().size();
+        long cold = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(count, certificateRepository.findActiveCaCertificates().size());
+        }
+
+        assertEquals(cold, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void templateList_isServedFromCache() {
+        int count = templateRepository.findAll().size();
+        long cold = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(count, templateRepository.findAll().size());
+        }
+
+        assertEquals(cold, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void userUpdate_invalidatesCachedEntry() {
+        var user = userRepository.findByEmail("admin@pki.local").orElseThrow();
+        String originalName = user.getName();
+        try {
+            user.setName("Cached Admin");
+            userRepository.save(user);
+
+            // Write-through: the next read sees the new value without touching stale data
+            assertEquals("Cached Admin", userRepository.findById(user.getId()).orElseThrow().getName());
+        } finally {
+            user.setName(originalName);
+            userRepository.save(user);
+        }
+    }
+}
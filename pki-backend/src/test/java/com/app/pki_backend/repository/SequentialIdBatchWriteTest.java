@@ -0,0 +1,137 @@
+package com.app.pki_backend.repository;
+
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateIdentifier;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.entity.certificates.IdentifierType;
+import com.app.pki_backend.entity.user.Organization;
+import com.app.pki_backend.entity.user.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * In-memory ids of {@link com.app.pki_backend.entity.SequentialIdGenerator} and the batched inserts built on them.
+ * The context is private to this class, so its generators are seeded by the first test that persists.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SequentialIdBatchWriteTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private CertificateIdentifierRepository identifierRepository;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    @Order(1)
+    void firstId_isSeededFromMaxIdOfTable() {
+        long max = ((Number) entityManager.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM organizations")
+                .getSingleResult()).longValue();
+        // well above anything handed out (and rolled back) by other contexts in this JVM
+        long existing = max + 100_000;
+        entityManager.createNativeQuery("INSERT INTO organizations (id, name, encryption_key, created_at, active) "
+                        + "VALUES (?, ?, 'test', ?, 1)")
+                .setParameter(1, existing)
+                .setParameter(2, "seed-test-" + UUID.randomUUID())
+                .setParameter(3, LocalDateTime.now())
+                .executeUpdate();
+
+        Organization organization = new Organization("seed-test-" + UUID.randomUUID(), null, "test");
+        entityManager.persist(organization);
+        Organization next = new Organization("seed-test-" + UUID.randomUUID(), null, "test");
+        entityManager.persist(next);
+
+        assertEquals(existing + 1, organization.getId());
+        assertEquals(existing + 2, next.getId());
+        entityManager.flush();
+    }
+
+    @Test
+    @Order(2)
+    void integerKeyedEntity_getsIntegerId() {
+        Integer max = entityManager.createQuery("SELECT MAX(u.id) FROM User u", Integer.class).getSingleResult();
+
+        User user = new User();
+        user.setEmail("seq-" + UUID.randomUUID() + "@pki.test");
+        user.setPassword("test");
+        user.setName("Seq");
+        user.setSurname("Test");
+        user.setOrganizationName("Seq Test");
+        entityManager.persist(user);
+        entityManager.flush();
+
+        assertInstanceOf(Integer.class, user.getId());
+        assertTrue(max == null || user.getId() > max);
+        entityManager.clear();
+        assertEquals(user.getEmail(), entityManager.find(User.class, user.getId()).getEmail());
+    }
+
+    @Test
+    @Order(3)
+    void persistInBatches_insertsAllRowsAndDetachesThem() {
+        Certificate certificate = certificateRepository.save(certificate());
+        int count = batchSize * 2 + 7;
+        List<CertificateIdentifier> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new CertificateIdentifier(certificate, IdentifierType.SAN_DNS, "host-" + i + ".batch.test"));
+        }
+
+        List<CertificateIdentifier> persisted = identifierRepository.persistInBatches(rows);
+
+        assertEquals(count, persisted.size());
+        Set<Long> ids = new HashSet<>();
+        for (CertificateIdentifier row : persisted) {
+            assertInstanceOf(Long.class, row.getId());
+            ids.add(row.getId());
+            assertFalse(entityManager.contains(row), "persisted rows must be detached");
+        }
+        assertEquals(count, ids.size());
+        // only what the call persisted is detached
+        assertTrue(entityManager.contains(certificate));
+        assertEquals((long) count, entityManager.createQuery(
+                        "SELECT COUNT(i) FROM CertificateIdentifier i WHERE i.certificate.id = :id", Long.class)
+                .setParameter("id", certificate.getId())
+                .getSingleResult());
+    }
+
+    private static Certificate certificate() {
+        Certificate certificate = new Certificate();
+        certificate.setSerialNumber(BigInteger.valueOf(920_000_001L));
+        certificate.setSubject("CN=batch-test");
+        certificate.setIssuer("CN=PKI Intermediate CA");
+        certificate.setPublicKey("test");
+        certificate.setCertificateData("test");
+        certificate.setValidFrom(LocalDateTime.now().minusDays(1));
+        certificate.setValidTo(LocalDateTime.now().plusYears(1));
+        certificate.setType(CertificateType.END_ENTITY);
+        certificate.setStatus(CertificateStatus.ACTIVE);
+        certificate.setOrganization("Batch Test");
+        return certificate;
+    }
+}
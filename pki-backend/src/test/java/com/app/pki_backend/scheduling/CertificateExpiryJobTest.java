@@ -0,0 +1,41 @@
+package com.app.pki_backend.scheduling;
+
+import com.app.pki_backend.dto.certificate.ExpiryBatchResult;
+import com.app.pki_backend.entity.JobCheckpoint;
+import com.app.pki_backend.repository.JobCheckpointRepository;
+import com.app.pki_backend.service.interfaces.CertificateExpiryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class CertificateExpiryJobTest {
+
+    @Test
+    void scan_continuesAfterBatchWithConcurrentStatusChanges() {
+        CertificateExpiryService service = mock(CertificateExpiryService.class);
+        JobCheckpointRepository checkpoints = mock(JobCheckpointRepository.class);
+        when(checkpoints.findById(CertificateExpiryJob.JOB_NAME)).thenReturn(Optional.empty());
+        // second batch: two of three rows were revoked between select and update
+        when(service.expireBatch(isNull(), any(), anyInt())).thenReturn(
+                new ExpiryBatchResult(3, 3),
+                new ExpiryBatchResult(3, 1),
+                new ExpiryBatchResult(2, 2));
+
+        CertificateExpiryJob job = new CertificateExpiryJob();
+        ReflectionTestUtils.setField(job, "certificateExpiryService", service);
+        ReflectionTestUtils.setField(job, "jobCheckpointRepository", checkpoints);
+        ReflectionTestUtils.setField(job, "enabled", true);
+        ReflectionTestUtils.setField(job, "batchSize", 3);
+
+        job.scan();
+
+        verify(service, times(3)).expireBatch(isNull(), any(), eq(3));
+        verify(checkpoints).save(any(JobCheckpoint.class));
+    }
+}
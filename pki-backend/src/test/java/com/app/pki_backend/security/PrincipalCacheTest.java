@@ -0,0 +1,41 @@
+package com.app.pki_backend.security;
+
+import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.security.auth.PrincipalCache;
+import com.app.pki_backend.security.auth.UserPrincipal;
+import com.app.pki_backend.service.interfaces.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PrincipalCacheTest {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void get_isCachedUntilUserIsSaved() {
+        UserPrincipal first = principalCache.get("admin@pki.local");
+        assertNotNull(first);
+        assertEquals("ADMIN", first.role());
+        assertSame(first, principalCache.get("admin@pki.local"));
+
+        User admin = userService.findByEmail("admin@pki.local");
+        userService.save(admin);
+
+        UserPrincipal reloaded = principalCache.get("admin@pki.local");
+        assertNotSame(first, reloaded);
+        assertEquals(first, reloaded);
+    }
+
+    @Test
+    void get_unknownEmail_isNull() {
+        assertNull(principalCache.get("nobody@pki.local"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.dto.certificate.CaBundleArtifact;
+import com.app.pki_backend.dto.certificate.CaBundleFormat;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CaBundleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.security.KeyStore;
+import java.security.cert.CertificateFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CaBundleServiceTest {
+
+    @Autowired
+    private CaBundleService caBundleService;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Test
+    void rebuild_rendersAllFormatsWithStableEtags() throws Exception {
+        caBundleService.rebuild();
+        int caCount = certificateRepository.findActiveCaCertificates().size();
+
+        CaBundleArtifact pem = caBundleService.getArtifact(null, CaBundleFormat.PEM).orElseThrow();
+        CaBundleArtifact p7b = caBundleService.getArtifact(null, CaBundleFormat.P7B).orElseThrow();
+        CaBundleArtifact p12 = caBundleService.getArtifact(null, CaBundleFormat.P12).orElseThrow();
+
+        assertEquals(caCount, pem.certificateCount());
+        assertEquals(caCount, CertificateFactory.getInstance("X.509")
+                .generateCertificates(new ByteArrayInputStream(p7b.content())).size());
+
+        KeyStore trustStore = KeyStore.getInstance("PKCS12");
+        trustStore.load(new ByteArrayInputStream(p12.content()), "changeit".toCharArray());
+        assertEquals(caCount, trustStore.size());
+
+        // Served from the snapshot: same bytes and ETag until the CA set changes
+        assertSame(pem, caBundleService.getArtifact(null, CaBundleFormat.PEM).orElseThrow());
+        assertTrue(pem.etag().startsWith("\""));
+        assertNotEquals(pem.etag(), p7b.etag());
+    }
+
+    @Test
+    void getArtifact_unknownCa_isEmpty() {
+        assertTrue(caBundleService.getArtifact(-1L, CaBundleFormat.PEM).isEmpty());
+    }
+}
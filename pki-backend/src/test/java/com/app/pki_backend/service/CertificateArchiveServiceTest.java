@@ -0,0 +1,140 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.audit.AuditLogger;
+import com.app.pki_backend.entity.certificates.ArchivedCertificate;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CSRStatus;
+import com.app.pki_backend.entity.certificates.CertificateSigningRequest;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.entity.certificates.RevocationReason;
+import com.app.pki_backend.entity.certificates.RevokedCertificate;
+import com.app.pki_backend.entity.certificates.StoredPrivateKey;
+import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.repository.CertificateSigningRequestRepository;
+import com.app.pki_backend.repository.PrivateKeyRepository;
+import com.app.pki_backend.repository.RevokedCertificateRepository;
+import com.app.pki_backend.repository.UserRepository;
+import com.app.pki_backend.service.interfaces.CertificateArchiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "pki.expiry.enabled=false")
+@Transactional
+class CertificateArchiveServiceTest {
+
+    @Autowired
+    private CertificateArchiveService certificateArchiveService;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private RevokedCertificateRepository revokedCertificateRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CertificateSigningRequestRepository certificateSigningRequestRepository;
+
+    @Autowired
+    private PrivateKeyRepository privateKeyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Each rolled back test leaves a FAILURE event; its asynchronous insert would compete with the
+    // next test's write transaction for the SQLite lock
+    @MockBean
+    private AuditLogger auditLogger;
+
+    @Test
+    void archiveBatch_movesExpiredEndEntityWithRevocationData() {
+        User admin = userRepository.findByEmail("admin@pki.local").orElseThrow();
+        Certificate expired = certificateRepository.save(endEntity(BigInteger.valueOf(900_000_001L),
+                LocalDateTime.now().minusYears(2)));
+        Certificate live = certificateRepository.save(endEntity(BigInteger.valueOf(900_000_002L),
+                LocalDateTime.now().plusYears(1)));
+
+        RevokedCertificate revocation = new RevokedCertificate();
+        revocation.setCertificate(expired);
+        revocation.setRevocationDate(LocalDateTime.now().minusYears(3));
+        revocation.setReason(RevocationReason.KEY_COMPROMISE);
+        revocation.setRevokedBy(admin);
+        revokedCertificateRepository.save(revocation);
+
+        int archived = certificateArchiveService.archiveBatch(LocalDateTime.now().minusYears(1), 100);
+
+        assertTrue(archived >= 1);
+        assertTrue(certificateRepository.findById(expired.getId()).isEmpty());
+        assertTrue(certificateRepository.findById(live.getId()).isPresent());
+
+        ArchivedCertificate copy = certificateArchiveService.findArchivedById(expired.getId()).orElseThrow();
+        assertEquals(expired.getSerialNumber(), copy.getSerialNumber());
+        assertEquals(RevocationReason.KEY_COMPROMISE, copy.getRevocationReason());
+        assertEquals(admin.getId(), copy.getRevokedById());
+        assertTrue(certificateArchiveService.findArchivedBySerial(BigInteger.valueOf(900_000_001L)).isPresent());
+    }
+
+    @Test
+    void archiveBatch_deletesPrivateKeyWithoutArchivingIt() {
+        Certificate expired = certificateRepository.save(endEntity(BigInteger.valueOf(900_000_004L),
+                LocalDateTime.now().minusYears(2)));
+        privateKeyRepository.save(new StoredPrivateKey(expired, "ciphertext", "RSA", "mk-1"));
+
+        certificateArchiveService.archiveBatch(LocalDateTime.now().minusYears(1), 100);
+
+        assertTrue(certificateArchiveService.findArchivedById(expired.getId()).isPresent());
+        assertFalse(privateKeyRepository.existsByCertificateId(expired.getId()));
+        // no key columns in the archive, also not left over from earlier schema versions
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pragma_table_info('archived_certificates') "
+                + "WHERE name IN ('encrypted_private_key', 'private_key_algorithm', 'master_key_id')", Integer.class));
+    }
+
+    @Test
+    void archiveBatch_detachesSigningRequestOfArchivedCertificate() {
+        User admin = userRepository.findByEmail("admin@pki.local").orElseThrow();
+        Certificate expired = certificateRepository.save(endEntity(BigInteger.valueOf(900_000_003L),
+                LocalDateTime.now().minusYears(2)));
+
+        CertificateSigningRequest csr = new CertificateSigningRequest();
+        csr.setCsrContent("test");
+        csr.setRequestedBy(admin);
+        csr.setStatus(CSRStatus.APPROVED);
+        csr.setIssuedCertificate(expired);
+        csr = certificateSigningRequestRepository.save(csr);
+
+        certificateArchiveService.archiveBatch(LocalDateTime.now().minusYears(1), 100);
+
+        assertTrue(certificateRepository.findById(expired.getId()).isEmpty());
+        CertificateSigningRequest reloaded = certificateSigningRequestRepository.findById(csr.getId()).orElseThrow();
+        assertNull(reloaded.getIssuedCertificate());
+        assertEquals(CSRStatus.APPROVED, reloaded.getStatus());
+    }
+
+    private Certificate endEntity(BigInteger serial, LocalDateTime validTo) {
+        Certificate certificate = new Certificate();
+        certificate.setSerialNumber(serial);
+        certificate.setSubject("CN=archive-test-" + serial);
+        certificate.setIssuer("CN=PKI Intermediate CA");
+        certificate.setPublicKey("test");
+        certificate.setCertificateData("test");
+        certificate.setValidFrom(validTo.minusYears(1));
+        certificate.setValidTo(validTo);
+        certificate.setType(CertificateType.END_ENTITY);
+        certificate.setStatus(CertificateStatus.ACTIVE);
+        certificate.setOrganization("Archive Test");
+        return certificate;
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.dto.certificate.ExpiryBatchResult;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.event.CertificateExpiredEvent;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CertificateExpiryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "pki.expiry.enabled=false")
+@Transactional
+@RecordApplicationEvents
+class CertificateExpiryServiceTest {
+
+    @Autowired
+    private CertificateExpiryService certificateExpiryService;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void expireBatch_flipsOnlyCertificatesPastValidTo() {
+        LocalDateTime now = LocalDateTime.now();
+        Certificate expired = certificateRepository.save(certificate(BigInteger.valueOf(910_000_001L), now.minusMinutes(5)));
+        Certificate valid = certificateRepository.save(certificate(BigInteger.valueOf(910_000_002L), now.plusDays(30)));
+
+        // Watermark just before the expired certificate's validTo
+        ExpiryBatchResult result = certificateExpiryService.expireBatch(now.minusMinutes(10), now, 100);
+
+        assertEquals(1, result.selected());
+        assertEquals(1, result.expired());
+        assertEquals(CertificateStatus.EXPIRED, certificateRepository.findById(expired.getId()).orElseThrow().getStatus());
+        assertEquals(CertificateStatus.ACTIVE, certificateRepository.findById(valid.getId()).orElseThrow().getStatus());
+
+        CertificateExpiredEvent event = events.stream(CertificateExpiredEvent.class).findFirst().orElseThrow();
+        assertEquals(1, event.certificateIds().size());
+        assertEquals(expired.getId(), event.certificateIds().get(0));
+
+        // Second run over the same window finds nothing
+        assertEquals(0, certificateExpiryService.expireBatch(now.minusMinutes(10), now, 100).expired());
+    }
+
+    private Certificate certificate(BigInteger serial, LocalDateTime validTo) {
+        Certificate certificate = new Certificate();
+        certificate.setSerialNumber(serial);
+        certificate.setSubject("CN=expiry-test-" + serial);
+        certificate.setIssuer("CN=PKI Intermediate CA");
+        certificate.setPublicKey("test");
+        certificate.setCertificateData("test");
+        certificate.setValidFrom(validTo.minusYears(1));
+        certificate.setValidTo(validTo);
+        certificate.setType(CertificateType.END_ENTITY);
+        certificate.setStatus(CertificateStatus.ACTIVE);
+        certificate.setOrganization("Expiry Test");
+        return certificate;
+    }
+}
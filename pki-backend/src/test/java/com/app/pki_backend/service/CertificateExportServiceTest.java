@@ -0,0 +1,106 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.dto.certificate.CertificateExportFormat;
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CertificateExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CertificateExportServiceTest {
+
+    private static final String ORGANIZATION = "Export Test";
+
+    @Autowired
+    private CertificateExportService certificateExportService;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Test
+    void exportBundle_writesCertificatesChainsAndManifestLast() throws Exception {
+        Certificate ca = certificateRepository.save(certificate(BigInteger.valueOf(0xCA01), CertificateType.ROOT_CA, null, "AQID"));
+        certificateRepository.save(certificate(BigInteger.valueOf(0xEE01), CertificateType.END_ENTITY, ca, "BAUG"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int count = certificateExportService.exportBundle(
+                CertificateSearchFilter.of(null, null, ORGANIZATION), null, CertificateExportFormat.DER, out);
+
+        Map<String, byte[]> entries = unzip(out.toByteArray());
+        assertEquals(2, count);
+        assertArrayEquals(new byte[]{1, 2, 3}, entries.get("certs/ca01.der"));
+        assertArrayEquals(new byte[]{4, 5, 6}, entries.get("certs/ee01.der"));
+
+        String chain = new String(entries.get("chains/ee01-chain.pem"), StandardCharsets.US_ASCII);
+        assertTrue(chain.indexOf("BAUG") < chain.indexOf("AQID"));
+
+        assertEquals("index.csv", entries.keySet().stream().reduce((a, b) -> b).orElseThrow());
+        String manifest = new String(entries.get("index.csv"), StandardCharsets.UTF_8);
+        assertEquals(3, manifest.lines().count());
+        assertTrue(manifest.contains("\"CN=export-test-ee01, O=Export Test\""));
+    }
+
+    @Test
+    void exportBundle_spansSeveralPages() throws Exception {
+        Certificate ca = certificateRepository.save(certificate(BigInteger.valueOf(0xCA02), CertificateType.ROOT_CA, null, "AQID"));
+        for (int i = 0; i < 450; i++) {
+            certificateRepository.save(certificate(BigInteger.valueOf(0x100000L + i), CertificateType.END_ENTITY, ca, "BAUG"));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int count = certificateExportService.exportBundle(
+                CertificateSearchFilter.of(null, null, ORGANIZATION), ca.getId(), CertificateExportFormat.PEM, out);
+
+        Map<String, byte[]> entries = unzip(out.toByteArray());
+        assertEquals(450, count);
+        assertEquals(2 * 450 + 1, entries.size());
+        assertTrue(entries.containsKey("certs/1001c1.pem"));
+        assertEquals(451, new String(entries.get("index.csv"), StandardCharsets.UTF_8).lines().count());
+    }
+
+    private Map<String, byte[]> unzip(byte[] archive) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private Certificate certificate(BigInteger serial, CertificateType type, Certificate issuer, String base64) {
+        Certificate certificate = new Certificate();
+        certificate.setSerialNumber(serial);
+        certificate.setSubject("CN=export-test-" + serial.toString(16) + ", O=" + ORGANIZATION);
+        certificate.setIssuer(issuer == null ? certificate.getSubject() : issuer.getSubject());
+        certificate.setIssuerCertificate(issuer);
+        certificate.setPublicKey("test");
+        certificate.setCertificateData("-----BEGIN CERTIFICATE-----\n" + base64 + "\n-----END CERTIFICATE-----");
+        certificate.setValidFrom(LocalDateTime.now().minusDays(1));
+        certificate.setValidTo(LocalDateTime.now().plusYears(1));
+        certificate.setType(type);
+        certificate.setStatus(CertificateStatus.ACTIVE);
+        certificate.setOrganization(ORGANIZATION);
+        return certificate;
+    }
+}
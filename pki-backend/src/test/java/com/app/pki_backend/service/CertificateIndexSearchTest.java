@@ -0,0 +1,148 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.dto.certificate.CertificateSearchFilter;
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import com.app.pki_backend.dto.certificate.CertificateSummary;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.CertificateIndexService;
+import com.app.pki_backend.service.interfaces.CertificateService;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Extraction at issuance, normalization of search input and the prefix range, against real certificates.
+ */
+@SpringBootTest(properties = "pki.expiry.enabled=false")
+@Transactional
+class CertificateIndexSearchTest {
+
+    // First byte below 0x10: openssl/keytool print it as "0a:1b:..."
+    private static final BigInteger LEADING_ZERO_SERIAL = new BigInteger("0a1b2c3d4e5f6071", 16);
+
+    @Autowired
+    private CertificateService certificateService;
+
+    @Autowired
+    private CertificateIndexService certificateIndexService;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    private X509Certificate x509;
+    private Long id;
+    private Long otherId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        x509 = issue("index-search-test.example.org", LEADING_ZERO_SERIAL);
+        id = save(x509);
+        // neighbour in the prefix range of the first one
+        otherId = save(issue("index-search-test.example.net", new BigInteger("7a1b2c3d4e5f6072", 16)));
+    }
+
+    @Test
+    void search_byCommonNameExactlyAndByPrefix() {
+        assertEquals(List.of(id), search(filter("Index-Search-Test.example.org", null, null, null, null, false)));
+        assertEquals(Set.of(id, otherId),
+                Set.copyOf(search(filter("index-search-test.example", null, null, null, null, true))));
+        assertTrue(search(filter("index-search-test.example", null, null, null, null, false)).isEmpty());
+    }
+
+    @Test
+    void search_bySubjectAlternativeName() {
+        assertEquals(List.of(id), search(filter(null, "www.index-search-test.example.org", null, null, null, false)));
+    }
+
+    @Test
+    void search_byFingerprintAndSkiInColonForm() throws Exception {
+        HexFormat colons = HexFormat.ofDelimiter(":").withUpperCase();
+        String fingerprint = colons.formatHex(MessageDigest.getInstance("SHA-256").digest(x509.getEncoded()));
+        String ski = colons.formatHex(new JcaX509ExtensionUtils()
+                .createSubjectKeyIdentifier(x509.getPublicKey()).getKeyIdentifier());
+
+        assertEquals(List.of(id), search(filter(null, null, fingerprint, null, null, false)));
+        assertEquals(List.of(id), search(filter(null, null, null, ski, null, false)));
+        assertEquals(List.of(id), search(filter(null, null, fingerprint.substring(0, 11), null, null, true)));
+    }
+
+    @Test
+    void search_bySerialWithLeadingZeroByte() {
+        assertEquals(List.of(id), search(filter(null, null, null, null, "0A:1B:2C:3D:4E:5F:60:71", false)));
+        assertEquals(List.of(id), search(filter(null, null, null, null, "0a1b2c3d4e5f6071", false)));
+        assertEquals(List.of(id), search(filter(null, null, null, null, "a1b2c3d4e5f6071", false)));
+        assertEquals(List.of(id), search(filter(null, null, null, null, "0a:1b:2c", true)));
+        assertTrue(search(filter(null, null, null, null, "not-hex", false)).isEmpty());
+    }
+
+    private List<Long> search(CertificateSearchFilter filter) {
+        return certificateService.search(filter, CertificateSortKey.CREATED_AT, null, 50, false).content().stream()
+                .map(CertificateSummary::id)
+                .toList();
+    }
+
+    private static CertificateSearchFilter filter(String commonName, String san, String fingerprint, String ski,
+                                                  String serial, boolean prefix) {
+        return new CertificateSearchFilter(null, null, null, commonName, san, fingerprint, ski, serial, prefix);
+    }
+
+    private Long save(X509Certificate certificate) {
+        Certificate entity = new Certificate();
+        entity.setSerialNumber(certificate.getSerialNumber());
+        entity.setSubject(certificate.getSubjectX500Principal().getName());
+        entity.setIssuer(certificate.getIssuerX500Principal().getName());
+        entity.setPublicKey("test");
+        entity.setCertificateData("test");
+        entity.setValidFrom(LocalDateTime.now().minusDays(1));
+        entity.setValidTo(LocalDateTime.now().plusYears(1));
+        entity.setType(CertificateType.END_ENTITY);
+        entity.setStatus(CertificateStatus.ACTIVE);
+        entity.setOrganization("Index Search Test");
+        entity = certificateRepository.save(entity);
+        certificateIndexService.index(entity, certificate);
+        return entity.getId();
+    }
+
+    private static X509Certificate issue(String commonName, BigInteger serial) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        KeyPair keyPair = generator.generateKeyPair();
+        X500Name subject = new X500Name("CN=" + commonName + ",O=Index Search Test,C=RS");
+
+        JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(subject, serial,
+                new Date(System.currentTimeMillis() - 60_000), new Date(System.currentTimeMillis() + 86_400_000L),
+                subject, keyPair.getPublic());
+        builder.addExtension(Extension.subjectAlternativeName, false,
+                new GeneralNames(new GeneralName(GeneralName.dNSName, "www." + commonName)));
+        builder.addExtension(Extension.subjectKeyIdentifier, false,
+                new JcaX509ExtensionUtils().createSubjectKeyIdentifier(keyPair.getPublic()));
+        return new JcaX509CertificateConverter()
+                .getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withECDSA").build(keyPair.getPrivate())));
+    }
+}
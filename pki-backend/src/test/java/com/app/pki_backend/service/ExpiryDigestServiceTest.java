@@ -0,0 +1,96 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.entity.OutboxMessage;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.entity.certificates.ExpiryNotice;
+import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.repository.ExpiryNoticeRepository;
+import com.app.pki_backend.repository.OutboxMessageRepository;
+import com.app.pki_backend.repository.UserRepository;
+import com.app.pki_backend.service.interfaces.ExpiryDigestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// @Transactional: everything rolls back and the after-commit outbox dispatch never runs
+@SpringBootTest(properties = {"pki.expiry-digest.enabled=false", "pki.expiry.enabled=false"})
+@Transactional
+class ExpiryDigestServiceTest {
+
+    private static final String OWNER = "admin@pki.local";
+
+    @Autowired
+    private ExpiryDigestService expiryDigestService;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private ExpiryNoticeRepository expiryNoticeRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void sendDigests_oneMailPerOwnerAndNoRepeatForSameThreshold() {
+        User owner = userRepository.findByEmail(OWNER).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        Certificate soon = certificateRepository.save(certificate(BigInteger.valueOf(920_000_001L), now.plusDays(5), owner));
+        Certificate later = certificateRepository.save(certificate(BigInteger.valueOf(920_000_002L), now.plusDays(20), owner));
+        Certificate farAway = certificateRepository.save(certificate(BigInteger.valueOf(920_000_003L), now.plusDays(90), owner));
+
+        expiryDigestService.sendDigests();
+
+        List<OutboxMessage> digests = digestsFor(OWNER);
+        assertEquals(1, digests.size());
+        String body = digests.get(0).getBody();
+        assertTrue(body.contains("920000001"));
+        assertTrue(body.contains("920000002"));
+        assertFalse(body.contains("920000003"));
+
+        ExpiryNotice notice = expiryNoticeRepository.findById(soon.getId()).orElseThrow();
+        assertEquals(7, notice.getThresholdDays());
+        assertEquals(30, expiryNoticeRepository.findById(later.getId()).orElseThrow().getThresholdDays());
+        assertTrue(expiryNoticeRepository.findById(farAway.getId()).isEmpty());
+
+        // Same thresholds on the next run: nothing new for this owner
+        expiryDigestService.sendDigests();
+        assertEquals(1, digestsFor(OWNER).size());
+    }
+
+    private List<OutboxMessage> digestsFor(String recipient) {
+        return outboxMessageRepository.findAll().stream()
+                .filter(m -> recipient.equals(m.getRecipient()))
+                .filter(m -> m.getBody().contains("92000000"))
+                .toList();
+    }
+
+    private Certificate certificate(BigInteger serial, LocalDateTime validTo, User owner) {
+        Certificate certificate = new Certificate();
+        certificate.setSerialNumber(serial);
+        certificate.setSubject("CN=digest-test-" + serial);
+        certificate.setIssuer("CN=PKI Intermediate CA");
+        certificate.setPublicKey("test");
+        certificate.setCertificateData("test");
+        certificate.setValidFrom(validTo.minusYears(1));
+        certificate.setValidTo(validTo);
+        certificate.setType(CertificateType.END_ENTITY);
+        certificate.setStatus(CertificateStatus.ACTIVE);
+        certificate.setOrganization("Digest Test");
+        certificate.setOwner(owner);
+        return certificate;
+    }
+}
@@ -0,0 +1,122 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.dto.certificate.PkiRepositoryEntry;
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.CertificateStatus;
+import com.app.pki_backend.entity.certificates.CertificateType;
+import com.app.pki_backend.event.CertificateRevokedEvent;
+import com.app.pki_backend.repository.CertificateRepository;
+import com.app.pki_backend.service.interfaces.PkiRepositoryService;
+import com.app.pki_backend.service.interfaces.RevocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class PkiRepositoryServiceTest {
+
+    @Autowired
+    private PkiRepositoryService pkiRepositoryService;
+
+    @SpyBean
+    private CertificateRepository certificateRepository;
+
+    @SpyBean
+    private RevocationService revocationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void caCertificateAndCrl_areServedAsSignedDer() throws Exception {
+        Certificate root = activeRoot();
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+
+        PkiRepositoryEntry certEntry = pkiRepositoryService.getCaCertificate(root.getId()).orElseThrow();
+        X509Certificate caCert = (X509Certificate) factory.generateCertificate(
+                new ByteArrayInputStream(certEntry.content()));
+        assertNull(certEntry.nextUpdate());
+
+        PkiRepositoryEntry crlEntry = pkiRepositoryService.getCrl(root.getId()).orElseThrow();
+        X509CRL crl = (X509CRL) factory.generateCRL(new ByteArrayInputStream(crlEntry.content()));
+        crl.verify(caCert.getPublicKey());
+        assertEquals(caCert.getSubjectX500Principal(), crl.getIssuerX500Principal());
+        assertNotNull(crlEntry.nextUpdate());
+
+        assertTrue(pkiRepositoryService.caIssuersUrl(root.getId()).endsWith("/pki/ca/" + root.getId() + ".crt"));
+    }
+
+    @Test
+    void unknownCa_isNotServed() {
+        assertTrue(pkiRepositoryService.getCaCertificate(-1L).isEmpty());
+        assertTrue(pkiRepositoryService.getCrl(-1L).isEmpty());
+    }
+
+    @Test
+    void unknownCa_isLookedUpOnceWithinNegativeCacheTtl() {
+        assertTrue(pkiRepositoryService.getCrl(-2L).isEmpty());
+        assertTrue(pkiRepositoryService.getCrl(-2L).isEmpty());
+        assertTrue(pkiRepositoryService.getCrl(-2L).isEmpty());
+
+        verify(certificateRepository, times(1)).findById(-2L);
+    }
+
+    @Test
+    void failedRegeneration_keepsPreviousCrl() throws Exception {
+        Certificate root = activeRoot();
+        PkiRepositoryEntry before = pkiRepositoryService.getCrl(root.getId()).orElseThrow();
+
+        CountDownLatch attempted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            attempted.countDown();
+            throw new IllegalStateException("CA key unavailable");
+        }).when(revocationService).generateCRL(any());
+        eventPublisher.publishEvent(new CertificateRevokedEvent(-1L, root.getId()));
+
+        assertTrue(attempted.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertSame(before, pkiRepositoryService.getCrl(root.getId()).orElseThrow());
+    }
+
+    @Test
+    void regenerationRequests_areCoalescedWhileOneIsPending() throws Exception {
+        Certificate root = activeRoot();
+        pkiRepositoryService.getCrl(root.getId()).orElseThrow();
+
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(revocationService).generateCRL(any());
+
+        for (int i = 0; i < 20; i++) {
+            eventPublisher.publishEvent(new CertificateRevokedEvent(-1L, root.getId()));
+        }
+        release.countDown();
+
+        // at most one running and one queued behind it
+        verify(revocationService, timeout(10000).atLeast(1)).generateCRL(any());
+        Thread.sleep(500);
+        verify(revocationService, atMost(2)).generateCRL(any());
+    }
+
+    private Certificate activeRoot() {
+        return certificateRepository.findByType(CertificateType.ROOT_CA).stream()
+                .filter(c -> c.getStatus() == CertificateStatus.ACTIVE)
+                .findFirst()
+                .orElseThrow();
+    }
+}
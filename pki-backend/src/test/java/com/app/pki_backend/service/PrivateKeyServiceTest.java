@@ -0,0 +1,52 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.entity.certificates.Certificate;
+import com.app.pki_backend.entity.certificates.StoredPrivateKey;
+import com.app.pki_backend.repository.PrivateKeyRepository;
+import com.app.pki_backend.service.implementations.PrivateKeyServiceImpl;
+import com.app.pki_backend.service.interfaces.CryptographyService;
+import com.app.pki_backend.service.interfaces.MasterKeyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.PrivateKey;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrivateKeyServiceTest {
+
+    @Test
+    void reEncryptPrivateKey_storesIdOfNewMasterKey() {
+        CryptographyService cryptographyService = mock(CryptographyService.class);
+        MasterKeyService masterKeyService = mock(MasterKeyService.class);
+        PrivateKeyRepository privateKeyRepository = mock(PrivateKeyRepository.class);
+        PrivateKeyServiceImpl service = new PrivateKeyServiceImpl();
+        ReflectionTestUtils.setField(service, "cryptographyService", cryptographyService);
+        ReflectionTestUtils.setField(service, "masterKeyService", masterKeyService);
+        ReflectionTestUtils.setField(service, "privateKeyRepository", privateKeyRepository);
+
+        SecretKey oldKey = new SecretKeySpec(new byte[32], "AES");
+        SecretKey newKey = new SecretKeySpec(new byte[32], "AES");
+        PrivateKey privateKey = mock(PrivateKey.class);
+        Certificate certificate = new Certificate();
+        certificate.setId(5L);
+        StoredPrivateKey entry = new StoredPrivateKey(certificate, "old-ciphertext", "RSA", "mk-1");
+
+        when(privateKeyRepository.findByCertificateId(5L)).thenReturn(Optional.of(entry));
+        when(cryptographyService.decryptPrivateKey("old-ciphertext", oldKey)).thenReturn(privateKey);
+        when(cryptographyService.encryptPrivateKey(privateKey, newKey)).thenReturn("new-ciphertext");
+        // rotation in progress: the old key is still current
+        when(masterKeyService.getCurrentMasterKeyId()).thenReturn("mk-1");
+
+        service.reEncryptPrivateKey(certificate, oldKey, newKey, "mk-2");
+
+        verify(privateKeyRepository).save(entry);
+        assertEquals("new-ciphertext", entry.getEncryptedKey());
+        assertEquals("mk-2", entry.getMasterKeyId());
+        assertNotNull(entry.getRotatedAt());
+    }
+}
@@ -0,0 +1,107 @@
+package com.app.pki_backend.service;
+
+import com.app.pki_backend.configuration.RefreshTokenMigration;
+import com.app.pki_backend.entity.RefreshToken;
+import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.repository.RefreshTokenRepository;
+import com.app.pki_backend.repository.UserRepository;
+import com.app.pki_backend.service.interfaces.RefreshTokenService;
+import com.app.pki_backend.util.TokenUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenUtils tokenUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RefreshTokenMigration refreshTokenMigration;
+
+    @Test
+    void createRefreshToken_storesHashOnlyAndReplacesPreviousToken() {
+        User admin = userRepository.findByEmail("admin@pki.local").orElseThrow();
+
+        RefreshToken first = refreshTokenService.createRefreshToken(admin);
+        RefreshToken second = refreshTokenService.createRefreshToken(admin);
+
+        assertNotEquals(first.getToken(), second.getToken());
+        assertEquals(64, second.getTokenHash().length());
+        assertNotEquals(second.getToken(), second.getTokenHash());
+        assertTrue(refreshTokenService.findByToken(first.getToken()).isEmpty());
+        assertEquals(admin.getId(), refreshTokenService.findByToken(second.getToken()).orElseThrow().getUser().getId());
+    }
+
+    @Test
+    void rotate_consumesPresentedToken() {
+        User admin = userRepository.findByEmail("admin@pki.local").orElseThrow();
+        RefreshToken issued = refreshTokenService.createRefreshToken(admin);
+        RefreshToken current = refreshTokenService.findByToken(issued.getToken()).orElseThrow();
+
+        Optional<RefreshToken> rotated = refreshTokenService.rotate(current);
+        assertTrue(rotated.isPresent());
+        assertTrue(refreshTokenService.findByToken(issued.getToken()).isEmpty());
+        assertTrue(refreshTokenService.findByToken(rotated.get().getToken()).isPresent());
+
+        // Replay of the old token loses the compare-and-set
+        assertTrue(refreshTokenService.rotate(current).isEmpty());
+    }
+
+    @Test
+    void rotate_keepsOriginalSessionExpiry() throws InterruptedException {
+        User admin = userRepository.findByEmail("admin@pki.local").orElseThrow();
+        RefreshToken issued = refreshTokenService.createRefreshToken(admin);
+
+        Thread.sleep(1100); // JWT expiry has second precision
+        RefreshToken rotated = refreshTokenService.rotate(
+                refreshTokenService.findByToken(issued.getToken()).orElseThrow()).orElseThrow();
+
+        assertEquals(issued.getExpiresAt(), rotated.getExpiresAt());
+        assertEquals(issued.getExpiresAt() / 1000,
+                tokenUtils.getExpirationDateFromToken(rotated.getToken()).getTime() / 1000);
+    }
+
+    @Test
+    void migration_dropsLegacyPlaintextTable() {
+        jdbcTemplate.execute("CREATE TABLE refresh_token (id INTEGER PRIMARY KEY, token TEXT, user_id INTEGER)");
+        jdbcTemplate.update("INSERT INTO refresh_token (id, token, user_id) VALUES (1, 'eyJ.raw.jwt', 1)");
+
+        refreshTokenMigration.run();
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE name = 'refresh_token'", Integer.class));
+        // no-op once the table is gone
+        refreshTokenMigration.run();
+    }
+
+    @Test
+    void purgeExpired_deletesOnlyExpiredRows() {
+        User admin = userRepository.findByEmail("admin@pki.local").orElseThrow();
+        refreshTokenRepository.upsert(admin.getId(), "0".repeat(64), System.currentTimeMillis() - 1000);
+
+        assertEquals(1, refreshTokenService.purgeExpired(100));
+        assertEquals(0, refreshTokenService.purgeExpired(100));
+        assertFalse(refreshTokenRepository.existsById(admin.getId()));
+    }
+}
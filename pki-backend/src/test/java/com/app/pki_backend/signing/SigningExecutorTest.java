@@ -0,0 +1,130 @@
+package com.app.pki_backend.signing;
+
+import com.app.pki_backend.dto.admin.SigningStatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningExecutorTest {
+
+    @Test
+    void queue_servesCaLaneFirstAndInterleavesOrganizations() {
+        FairSigningQueue queue = new FairSigningQueue(Map.of());
+        for (int i = 0; i < 3; i++) {
+            queue.add(task(SigningLane.END_ENTITY, "Burst"));
+        }
+        queue.add(task(SigningLane.END_ENTITY, "Quiet"));
+        queue.add(task(SigningLane.CA, "Burst"));
+
+        List<String> order = drain(queue);
+
+        assertEquals(List.of("CA/Burst", "END_ENTITY/Burst", "END_ENTITY/Quiet", "END_ENTITY/Burst", "END_ENTITY/Burst"), order);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void queue_givesWeightedShare() {
+        FairSigningQueue queue = new FairSigningQueue(Map.of("Gold", 2));
+        for (int i = 0; i < 4; i++) {
+            queue.add(task(SigningLane.EXPORT, "Gold"));
+            queue.add(task(SigningLane.EXPORT, "Basic"));
+        }
+
+        assertEquals(List.of("EXPORT/Gold", "EXPORT/Gold", "EXPORT/Basic", "EXPORT/Gold", "EXPORT/Gold", "EXPORT/Basic"),
+                drain(queue).subList(0, 6));
+    }
+
+    @Test
+    void execute_runsOnSigningThreadAndPropagatesExceptions() throws Exception {
+        SigningExecutor executor = new SigningExecutor();
+        ReflectionTestUtils.setField(executor, "configuredThreads", 2);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 10);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(executor, "organizationWeights", "");
+        executor.start();
+        try {
+            String thread = executor.execute(SigningLane.CA, () -> Thread.currentThread().getName());
+            assertTrue(thread.startsWith("signing-"));
+
+            // Nested calls run inline instead of waiting for a second worker
+            String nested = executor.execute(SigningLane.CA,
+                    () -> executor.execute(SigningLane.EXPORT, () -> Thread.currentThread().getName()));
+            assertTrue(nested.startsWith("signing-"));
+
+            assertThrows(IllegalStateException.class, () -> executor.execute(SigningLane.END_ENTITY, () -> {
+                throw new IllegalStateException("boom");
+            }));
+
+            SigningStatsResponse stats = executor.getStatistics();
+            assertEquals(2, stats.threads());
+            assertEquals(3, stats.lanes().stream().mapToLong(l -> l.started()).sum());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void meters_reportQueueDepthAndWait() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SigningExecutor executor = new SigningExecutor();
+        ReflectionTestUtils.setField(executor, "configuredThreads", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 10);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(executor, "organizationWeights", "");
+        ReflectionTestUtils.setField(executor, "meterRegistry", registry);
+        executor.start();
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            callers.submit(() -> executor.execute(SigningLane.CA, () -> {
+                running.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> executor.execute(SigningLane.EXPORT, () -> "queued"));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (registry.get("pki.signing.queue.depth").tag("lane", "EXPORT").gauge().value() < 1) {
+                assertTrue(System.currentTimeMillis() < deadline, "EXPORT task never queued");
+                Thread.sleep(10);
+            }
+            assertEquals(1, registry.get("pki.signing.threads.active").gauge().value());
+
+            release.countDown();
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertEquals(0, registry.get("pki.signing.queue.depth").tag("lane", "EXPORT").gauge().value());
+            assertEquals(1, registry.get("pki.signing.queue.wait").tag("lane", "EXPORT").timer().count());
+            assertEquals(1, registry.get("pki.signing.queue.wait").tag("lane", "CA").timer().count());
+            assertEquals(0, registry.get("pki.signing.rejected").functionCounter().count());
+        } finally {
+            callers.shutdownNow();
+            executor.shutdown();
+        }
+    }
+
+    private static SigningTask<String> task(SigningLane lane, String organization) {
+        return new SigningTask<>(lane, organization, () -> lane + "/" + organization);
+    }
+
+    private static List<String> drain(FairSigningQueue queue) {
+        List<String> order = new ArrayList<>();
+        SigningTask<?> task;
+        while ((task = queue.poll()) != null) {
+            order.add(task.lane() + "/" + task.organization());
+        }
+        return order;
+    }
+}
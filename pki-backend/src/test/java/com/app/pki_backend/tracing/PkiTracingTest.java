@@ -0,0 +1,82 @@
+package com.app.pki_backend.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PkiTracingTest {
+
+    private final SimpleTracer tracer = new SimpleTracer();
+
+    private final PkiTracing tracing = new PkiTracing(tracer);
+
+    @Test
+    void inSpan_setsAttributesAndRecordsErrors() throws Exception {
+        assertEquals("ok", tracing.inSpan("pki.sign", "7", "end_entity", () -> "ok"));
+
+        SimpleSpan span = tracer.onlySpan();
+        assertEquals("pki.sign", span.getName());
+        assertEquals("7", span.getTags().get(PkiTracing.CA));
+        assertEquals("end_entity", span.getTags().get(PkiTracing.PROFILE));
+
+        assertThrows(IllegalStateException.class, () -> tracing.run("pki.chain.verify", "7", "end_entity", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertInstanceOf(IllegalStateException.class, tracer.lastSpan().getError());
+    }
+
+    @Test
+    void inSpan_withoutPkiContext_hasNoAttributes() throws Exception {
+        tracing.inSpan("CertificateRepository.findById", () -> 1);
+
+        assertTrue(tracer.onlySpan().getTags().isEmpty());
+    }
+
+    @Test
+    void traced_withoutProfile_omitsProfileAttribute() {
+        tracing.run("pki.chain.build", "7", null, () -> {});
+
+        SimpleSpan span = tracer.onlySpan();
+        assertEquals("7", span.getTags().get(PkiTracing.CA));
+        assertFalse(span.getTags().containsKey(PkiTracing.PROFILE));
+    }
+
+    @Test
+    void noopTracer_hasNoCurrentSpan() {
+        PkiTracing noop = PkiTracing.noop();
+        Runnable work = () -> { };
+
+        assertFalse(noop.hasCurrentSpan());
+        assertSame(work, noop.propagate(work));
+    }
+
+    @Test
+    void propagate_keepsCallerSpanOnWorkerThread() throws Exception {
+        assertFalse(tracing.hasCurrentSpan());
+        Callable<String> untraced = () -> "x";
+        assertSame(untraced, tracing.propagate(untraced));
+
+        Span parent = tracer.nextSpan().name("http post /api/certificates").start();
+        Callable<String> task;
+        try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+            task = tracing.propagate(() -> tracer.currentSpan().context().spanId());
+        } finally {
+            parent.end();
+        }
+
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(parent.context().spanId(), worker.submit(task).get());
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+}
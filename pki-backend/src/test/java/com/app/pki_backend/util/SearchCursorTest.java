@@ -0,0 +1,50 @@
+package com.app.pki_backend.util;
+
+import com.app.pki_backend.dto.certificate.CertificateSortKey;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCursorTest {
+
+    @Test
+    void encode_roundTrips() {
+        SearchCursor cursor = new SearchCursor(CertificateSortKey.VALID_TO,
+                LocalDateTime.of(2031, 5, 17, 8, 30, 12, 345_000_000), 42L);
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("|"), "token should be opaque");
+        assertEquals(cursor, SearchCursor.decode(token, CertificateSortKey.VALID_TO));
+    }
+
+    @Test
+    void decode_rejectsCursorOfAnotherSortKey() {
+        String token = new SearchCursor(CertificateSortKey.CREATED_AT, LocalDateTime.now(), 1L).encode();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SearchCursor.decode(token, CertificateSortKey.VALID_TO));
+        assertTrue(e.getMessage().contains("CREATED_AT"));
+    }
+
+    @Test
+    void decode_rejectsMalformedTokens() {
+        for (String token : new String[] {
+                "not base64!",
+                encode("VALID_TO|2031-05-17T08:30"),
+                encode("NO_SUCH_KEY|2031-05-17T08:30|1"),
+                encode("VALID_TO|yesterday|1"),
+                encode("VALID_TO|2031-05-17T08:30|abc")}) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> SearchCursor.decode(token, CertificateSortKey.VALID_TO), token);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
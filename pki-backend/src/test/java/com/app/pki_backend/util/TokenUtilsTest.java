@@ -0,0 +1,71 @@
+package com.app.pki_backend.util;
+
+import com.app.pki_backend.entity.user.User;
+import com.app.pki_backend.security.auth.TokenBasedAuthentication;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenUtilsTest {
+
+    private TokenUtils tokenUtils;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenUtils = new TokenUtils();
+        ReflectionTestUtils.setField(tokenUtils, "APP_NAME", "PKI");
+        ReflectionTestUtils.setField(tokenUtils, "SECRET",
+                "ThisIsASuperLongSecretKeyThatIsAtLeast64CharactersLong1234567890ABCD");
+        ReflectionTestUtils.setField(tokenUtils, "ACCESS_EXPIRES_IN", 60_000);
+        tokenUtils.init();
+
+        user = new User();
+        user.setId(7);
+        user.setEmail("user@pki.local");
+        user.setRole("USER");
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void parseClaims_validToken_validatesAgainstUser() {
+        String token = tokenUtils.generateToken(user);
+
+        Claims claims = tokenUtils.parseClaims(token);
+
+        assertEquals("user@pki.local", claims.getSubject());
+        assertEquals("access", claims.get("type"));
+        assertTrue(tokenUtils.validateToken(claims, user));
+    }
+
+    @Test
+    void parseClaims_tamperedToken_throws() {
+        String token = tokenUtils.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> tokenUtils.parseClaims(tampered));
+        assertNull(tokenUtils.getUsernameFromToken(tampered));
+    }
+
+    @Test
+    void getClaims_reusesClaimsOfCurrentAuthentication() {
+        String token = tokenUtils.generateToken(user);
+        Claims claims = tokenUtils.parseClaims(token);
+        TokenBasedAuthentication authentication = new TokenBasedAuthentication(user, claims);
+        authentication.setToken(token);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        assertSame(claims, tokenUtils.getClaims(token));
+        assertEquals("user@pki.local", tokenUtils.getUsernameFromToken(token));
+    }
+}
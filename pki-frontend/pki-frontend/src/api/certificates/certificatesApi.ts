@@ -1,7 +1,7 @@
 // API для работы с сертификатами
 import type { AuthAxiosRequestConfig, IApi } from "../data/apiTypes";
 import apiClient from "../../interceptor/interceptor";
-import type { Certificate } from "../../models/certificate";
+import type { Certificate, CertificateSearchPage, CertificateStatus, CertificateType } from "../../models/certificate";
 import type { CertificateSigningRequest, CreateCSRRequest } from "../../models/certificateSigningRequest";
 import type { CertificateTemplate } from "../../models/certificateTemplate";
 import { UserApi } from "../user/userApi";
@@ -172,36 +172,33 @@ class CertificatesApi implements IApi {
     });
   }
   /**
-   * Search certificates with optional filtering parameters
+   * Search certificates with optional filtering parameters (keyset pagination)
    * @param status Optional certificate status filter (ACTIVE, REVOKED, EXPIRED)
    * @param type Optional certificate type filter (ROOT_CA, INTERMEDIATE_CA, END_ENTITY)
    * @param organization Optional organization name filter
-   * @param page Page number (zero-based, defaults to 0)
+   * @param cursor Opaque token from the previous page (omit for the first page)
    * @param size Number of items per page (defaults to 10)
-   * @returns Paginated list of certificates matching the criteria
+   * @param includeTotal Ask the backend for the total count (costs an extra query)
+   * @returns One page of certificate summaries and the cursor for the next page
    */
   async searchCertificates(
     status?: CertificateStatus,
     type?: CertificateType,
     organization?: string,
-    page: number = 0,
-    size: number = 10
-  ): Promise<{
-    content: Certificate[];
-    totalElements: number;
-    totalPages: number;
-    size: number;
-    number: number;
-  }> {
-    const params: Record<string, string | number> = {
-      page,
-      size
+    cursor?: string,
+    size: number = 10,
+    includeTotal: boolean = false
+  ): Promise<CertificateSearchPage> {
+    const params: Record<string, string | number | boolean> = {
+      size,
+      includeTotal
     };
     
     // Add optional filters if provided
     if (status) params.status = status;
     if (type) params.type = type;
     if (organization) params.organization = organization;
+    if (cursor) params.cursor = cursor;
     
     const response = await this.get({
       url: `${this.baseUrl}/search`,
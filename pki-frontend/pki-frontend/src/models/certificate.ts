@@ -8,7 +8,6 @@ export interface Certificate {
   subject: string;
   issuer: string;
   publicKey: string;
-  encryptedPrivateKey?: string;
   certificateData: string;
   validFrom: string; // ISO8601
   validTo: string;   // ISO8601
@@ -25,3 +24,12 @@ export interface Certificate {
   organization: string;
   createdAt: string;
 }
+
+// Одна страница результатов поиска (keyset-пагинация)
+export interface CertificateSearchPage {
+  content: Certificate[];
+  size: number;
+  hasNext: boolean;
+  nextCursor: string | null; // непрозрачный токен, передаётся обратно как есть
+  totalElements: number | null; // заполняется только при includeTotal=true
+}
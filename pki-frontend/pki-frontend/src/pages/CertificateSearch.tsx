@@ -1,41 +1,45 @@
 import React, { useState } from 'react';
 import certificatesApi from '../api/certificates/certificatesApi';
-import type { Certificate, CertificateStatus, CertificateType } from '../models/certificate';
+import type { Certificate, CertificateSearchPage, CertificateStatus, CertificateType } from '../models/certificate';
 import CertificateTable from '../components/CertificateTable';
 
-interface SearchResults {
-  content: Certificate[];
-  totalElements: number;
-  totalPages: number;
-  number: number;
-  size: number;
-}
-
 const CertificateSearch: React.FC = () => {
   const [status, setStatus] = useState<CertificateStatus | ''>('');
   const [type, setType] = useState<CertificateType | ''>('');
   const [organization, setOrganization] = useState<string>('');
-  const [results, setResults] = useState<SearchResults | null>(null);
+  const [results, setResults] = useState<CertificateSearchPage | null>(null);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
-  const [currentPage, setCurrentPage] = useState(0);
   const [pageSize, setPageSize] = useState(10);
+  // Курсоры уже открытых страниц: cursors[i] открывает страницу i (для первой страницы — undefined)
+  const [cursors, setCursors] = useState<(string | undefined)[]>([undefined]);
+  const [currentPage, setCurrentPage] = useState(0);
+  const [totalElements, setTotalElements] = useState<number | null>(null);
 
-  const handleSearch = async (page: number = 0) => {
+  const handleSearch = async (page: number = 0, knownCursors: (string | undefined)[] = [undefined]) => {
     try {
       setLoading(true);
       setError(null);
       
+      // Общее количество запрашиваем только для первой страницы
       const searchResults = await certificatesApi.searchCertificates(
         status ? status as CertificateStatus : undefined,
         type ? type as CertificateType : undefined,
         organization || undefined,
-        page,
-        pageSize
+        knownCursors[page],
+        pageSize,
+        page === 0
       );
       
+      const nextCursors = knownCursors.slice(0, page + 1);
+      if (searchResults.hasNext && searchResults.nextCursor) {
+        nextCursors.push(searchResults.nextCursor);
+      }
+      
       setResults(searchResults);
+      setCursors(nextCursors);
       setCurrentPage(page);
+      if (page === 0) setTotalElements(searchResults.totalElements);
     } catch (err) {
       setError('Error searching certificates');
       console.error('Search error:', err);
@@ -49,12 +53,13 @@ const CertificateSearch: React.FC = () => {
     setType('');
     setOrganization('');
     setCurrentPage(0);
+    setCursors([undefined]);
+    setTotalElements(null);
     setResults(null);
   };
 
   const handlePageChange = (page: number) => {
-    setCurrentPage(page);
-    handleSearch(page);
+    handleSearch(page, cursors);
   };
 
   const handleDownload = async (certificate: Certificate) => {
@@ -77,32 +82,33 @@ const CertificateSearch: React.FC = () => {
   const renderPagination = () => {
     if (!results) return null;
     
-    const totalPages = results.totalPages;
-    const pages = [];
+    const buttonStyle = (enabled: boolean) => ({
+      padding: '8px 12px',
+      margin: '0 4px',
+      backgroundColor: enabled ? '#3b82f6' : '#f3f4f6',
+      color: enabled ? 'white' : '#9ca3af',
+      border: 'none',
+      borderRadius: '4px',
+      cursor: enabled ? 'pointer' : 'not-allowed'
+    });
     
-    for (let i = 0; i < totalPages; i++) {
-      pages.push(
-        <button 
-          key={i}
-          onClick={() => handlePageChange(i)}
-          style={{
-            padding: '8px 12px',
-            margin: '0 4px',
-            backgroundColor: i === currentPage ? '#3b82f6' : '#f3f4f6',
-            color: i === currentPage ? 'white' : '#374151',
-            border: 'none',
-            borderRadius: '4px',
-            cursor: 'pointer'
-          }}
+    return (
+      <div style={{ display: 'flex', justifyContent: 'center', alignItems: 'center', marginTop: 24 }}>
+        <button
+          onClick={() => handlePageChange(currentPage - 1)}
+          disabled={currentPage === 0 || loading}
+          style={buttonStyle(currentPage > 0)}
         >
-          {i + 1}
+          Previous
+        </button>
+        <span style={{ margin: '0 12px' }}>Page {currentPage + 1}</span>
+        <button
+          onClick={() => handlePageChange(currentPage + 1)}
+          disabled={!results.hasNext || loading}
+          style={buttonStyle(results.hasNext)}
+        >
+          Next
         </button>
-      );
-    }
-    
-    return (
-      <div style={{ display: 'flex', justifyContent: 'center', marginTop: 24 }}>
-        {pages}
       </div>
     );
   };
@@ -263,7 +269,10 @@ const CertificateSearch: React.FC = () => {
             marginBottom: 16 
           }}>
             <h3 style={{ margin: 0 }}>Search Results</h3>
-            <p>Showing {results.content.length} of {results.totalElements} certificates</p>
+            <p>
+              Showing {results.content.length}
+              {totalElements !== null ? ` of ${totalElements}` : ''} certificates
+            </p>
           </div>
           
           {results.content.length === 0 ? (